@@ -0,0 +1,68 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * JMH benchmarks of the dense Prim variant against the best heap- and sort-based
+ * variants on dense graphs. Sizes stay within {@link Prim#DENSE_VERTEX_LIMIT}, so
+ * every row measures the algorithm it names.
+ *
+ * <p>Build and run with:
+ * <pre>
+ * mvn -Pbenchmark package
+ * java -jar target/benchmarks.jar DenseMSTBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class DenseMSTBenchmark {
+
+    @Param({"500", "2000"})
+    public int vertices;
+
+    // Edges per vertex pair, from the dense threshold up to as many edges as a complete graph
+    @Param({"0.25", "1.0"})
+    public double density;
+
+    @Param({"UNIFORM", "FEW_DISTINCT"})
+    public GraphGenerator.WeightDistribution weights;
+
+    @Param({"PRIM_DENSE", "PRIM_EAGER", "KRUSKAL_SORT"})
+    public MSTAlgorithm algorithm;
+
+    private IndexedGraph graph;
+    private Function<IndexedGraph, Result> runner;
+
+    @Setup(Level.Trial)
+    public void generateGraph() {
+        if (vertices > Prim.DENSE_VERTEX_LIMIT) {
+            throw new IllegalStateException("Dense Prim is limited to " + Prim.DENSE_VERTEX_LIMIT
+                    + " vertices with this heap; lower -p vertices or raise -Xmx");
+        }
+        graph = new GraphGenerator(12345L).randomGraphWithDensity(vertices, density, weights, 1_000_000);
+        runner = algorithm.newRunner();
+    }
+
+    @Benchmark
+    public Result mst() {
+        return runner.apply(graph);
+    }
+}
@@ -0,0 +1,70 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * JMH benchmarks comparing the MST algorithm variants over synthetic graphs of
+ * different sizes, densities and weight distributions. Graphs are generated once
+ * per trial with a fixed seed, so every variant sees exactly the same input.
+ *
+ * <p>Build and run with:
+ * <pre>
+ * mvn -Pbenchmark package
+ * java -jar target/benchmarks.jar MSTBenchmark -prof gc
+ * </pre>
+ * Parameters can be narrowed on the command line, e.g. {@code -p vertices=10000 -p algorithm=KRUSKAL_SORT}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class MSTBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int vertices;
+
+    // Fraction of all vertex pairs connected; capped so the largest graphs stay within memory
+    @Param({"0.0001", "0.001", "0.01"})
+    public double density;
+
+    @Param({"UNIFORM", "FEW_DISTINCT"})
+    public GraphGenerator.WeightDistribution weights;
+
+    // PRIM_DENSE rejects graphs this large; DenseMSTBenchmark covers it
+    @Param({"PRIM_LAZY", "PRIM_EAGER", "KRUSKAL_SORT", "KRUSKAL_FILTER", "BORUVKA"})
+    public MSTAlgorithm algorithm;
+
+    private static final long MAX_EDGES = 20_000_000L;
+
+    private IndexedGraph graph;
+    private Function<IndexedGraph, Result> runner;
+
+    @Setup(Level.Trial)
+    public void generateGraph() {
+        long pairs = (long) vertices * (vertices - 1) / 2;
+        long edges = Math.min(MAX_EDGES, Math.max(vertices - 1L, Math.round(pairs * density)));
+        graph = new GraphGenerator(12345L).randomGraph(vertices, edges, weights, 1_000_000);
+        runner = algorithm.newRunner();
+    }
+
+    @Benchmark
+    public Result mst() {
+        return runner.apply(graph);
+    }
+}
@@ -0,0 +1,164 @@
+package org.example;
+
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Runs MST comparisons for independent graphs concurrently. The calling thread
+ * reads graphs and submits them to a fixed pool of workers; a separate writer
+ * thread takes the pending results from a bounded queue in submission order and
+ * hands each one to the sink as soon as it is complete. The input order is
+ * therefore preserved in the output, and the queue bounds how many graphs are
+ * held in memory at once: the reader blocks while it is full.
+ *
+ * @param <T> the type of the graphs read from the input
+ */
+public class BatchPipeline<T> {
+
+    private final int workers;
+    private final int queueCapacity;
+    private final Function<T, OutputGraph> task;
+
+    /**
+     * Creates a pipeline that runs {@link MSTComparison#compareMSTs(GraphData)} on every graph.
+     *
+     * @param workers       the number of worker threads
+     * @param queueCapacity the maximum number of graphs read but not yet written
+     * @return the pipeline
+     */
+    public static BatchPipeline<GraphData> forGraphData(int workers, int queueCapacity) {
+        return new BatchPipeline<>(workers, queueCapacity, MSTComparison::compareMSTs);
+    }
+
+    /**
+     * Creates a pipeline that runs {@link MSTComparison#compareMSTs(IndexedGraph)} on every graph.
+     *
+     * @param workers       the number of worker threads
+     * @param queueCapacity the maximum number of graphs read but not yet written
+     * @return the pipeline
+     */
+    public static BatchPipeline<IndexedGraph> forIndexedGraphs(int workers, int queueCapacity) {
+        return new BatchPipeline<>(workers, queueCapacity, MSTComparison::compareMSTs);
+    }
+
+    /**
+     * Creates a pipeline that runs {@link MSTComparison#compareMSTs(GraphData, ComparisonOptions)} on every graph.
+     *
+     * @param workers       the number of worker threads
+     * @param queueCapacity the maximum number of graphs read but not yet written
+     * @param options       the comparison options shared by all workers
+     * @return the pipeline
+     */
+    public static BatchPipeline<GraphData> forGraphData(int workers, int queueCapacity, ComparisonOptions options) {
+        return new BatchPipeline<>(workers, queueCapacity, graph -> MSTComparison.compareMSTs(graph, options));
+    }
+
+    /**
+     * Creates a pipeline that runs {@link MSTComparison#compareMSTs(IndexedGraph, ComparisonOptions)} on every graph.
+     *
+     * @param workers       the number of worker threads
+     * @param queueCapacity the maximum number of graphs read but not yet written
+     * @param options       the comparison options shared by all workers
+     * @return the pipeline
+     */
+    public static BatchPipeline<IndexedGraph> forIndexedGraphs(int workers, int queueCapacity, ComparisonOptions options) {
+        return new BatchPipeline<>(workers, queueCapacity, graph -> MSTComparison.compareMSTs(graph, options));
+    }
+
+    /**
+     * Creates a pipeline that runs the given task on every graph.
+     *
+     * @param workers       the number of worker threads
+     * @param queueCapacity the maximum number of graphs read but not yet written
+     * @param task          the computation applied to each graph
+     */
+    public BatchPipeline(int workers, int queueCapacity, Function<T, OutputGraph> task) {
+        if (workers < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("Workers and queue capacity must be positive.");
+        }
+        this.workers = workers;
+        this.queueCapacity = queueCapacity;
+        this.task = task;
+    }
+
+    /**
+     * Processes every graph from the iterator and passes the results to the sink
+     * in input order. The sink is only ever called from the writer thread.
+     * If a graph fails, no further graphs are submitted and the failure is rethrown
+     * after the results preceding it have been written.
+     *
+     * @param graphs the graphs to process
+     * @param sink   receives each result in input order
+     * @return the number of results passed to the sink
+     * @throws ExecutionException   if the computation for a graph or the sink failed
+     * @throws InterruptedException if the calling thread was interrupted
+     */
+    public int run(Iterator<? extends T> graphs, Consumer<OutputGraph> sink)
+            throws ExecutionException, InterruptedException {
+        BlockingQueue<Future<OutputGraph>> pending = new ArrayBlockingQueue<>(queueCapacity);
+        // Marks the end of the input for the writer thread
+        Future<OutputGraph> endOfInput = CompletableFuture.completedFuture(null);
+
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        CompletableFuture<Integer> writer = new CompletableFuture<>();
+        Thread writerThread = new Thread(() -> drain(pending, endOfInput, sink, writer), "mst-batch-writer");
+        writerThread.start();
+
+        try {
+            // Read and submit until the input ends or the writer has stopped
+            while (!writer.isDone() && graphs.hasNext()) {
+                T graph = graphs.next();
+                if (!enqueue(pending, pool.submit(() -> task.apply(graph)), writer)) break;
+            }
+        } finally {
+            enqueue(pending, endOfInput, writer);
+            writerThread.join();
+            pool.shutdownNow();
+        }
+        return writer.get();
+    }
+
+    /**
+     * Waits for space in the queue, giving up if the writer has stopped and will
+     * never take from it again.
+     *
+     * @return true if the element was added
+     */
+    private static boolean enqueue(BlockingQueue<Future<OutputGraph>> pending, Future<OutputGraph> element,
+                                   CompletableFuture<Integer> writer) throws InterruptedException {
+        while (!writer.isDone()) {
+            if (pending.offer(element, 10, TimeUnit.MILLISECONDS)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Writer loop: takes pending results in submission order and passes them to the sink.
+     */
+    private static void drain(BlockingQueue<Future<OutputGraph>> pending, Future<OutputGraph> endOfInput,
+                              Consumer<OutputGraph> sink, CompletableFuture<Integer> done) {
+        int written = 0;
+        try {
+            while (true) {
+                Future<OutputGraph> next = pending.take();
+                if (next == endOfInput) break;
+                sink.accept(next.get());
+                written++;
+            }
+            done.complete(written);
+        } catch (ExecutionException e) {
+            done.completeExceptionally(e.getCause());
+        } catch (Throwable e) {
+            done.completeExceptionally(e);
+        }
+    }
+}
@@ -0,0 +1,327 @@
+package org.example;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Compact binary file format for graphs, loaded through memory-mapped I/O.
+ * All numbers are little-endian 32-bit integers. The file starts with a header
+ * <pre>
+ * magic "MSTG" | version | graph count
+ * </pre>
+ * followed by one section per graph:
+ * <pre>
+ * id | vertex count V | edge count E | name byte count N
+ * name offsets: int[V + 1] into the name bytes
+ * name bytes: byte[N] of UTF-8, padded with zeros to a multiple of 4
+ * edge sources: int[E] | edge targets: int[E] | edge weights: int[E]
+ * </pre>
+ * Loading maps each section and bulk-copies the edge arrays straight into an
+ * {@link IndexedGraph}, so no per-edge objects are created and no text is parsed.
+ * {@link #open(Path)} does this one graph at a time, for files too large to load whole.
+ */
+public final class BinaryGraphFile {
+
+    private static final int MAGIC = 0x4754534D; // "MSTG" read as little-endian
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 12;
+    private static final int GRAPH_HEADER_BYTES = 16;
+
+    private BinaryGraphFile() {
+    }
+
+    /**
+     * Writes the given graphs to a binary graph file, replacing any existing file.
+     *
+     * @param graphs the graphs to write
+     * @param path   the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(List<IndexedGraph> graphs, Path path) throws IOException {
+        write(graphs.iterator(), path);
+    }
+
+    /**
+     * Converts a JSON input file into a binary graph file, reading one graph at a time.
+     *
+     * @param jsonPath the JSON file in the input format
+     * @param path     the binary file to write
+     * @return the number of graphs converted
+     * @throws IOException if either file cannot be accessed
+     * @throws IllegalArgumentException if a graph has no edge list, e.g. one given only by coordinates
+     */
+    public static int convertJson(String jsonPath, Path path) throws IOException {
+        try (GraphStreamReader reader = new GraphStreamReader(jsonPath)) {
+            Iterator<IndexedGraph> graphs = new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return reader.hasNext();
+                }
+
+                @Override
+                public IndexedGraph next() {
+                    GraphData graph = reader.next();
+                    if (graph.getEdges() == null) {
+                        throw new IllegalArgumentException("Graph " + graph.getId()
+                                + " has no edge list and cannot be stored in a binary graph file"
+                                + (graph.isEuclidean() ? "; coordinate-only graphs are not supported." : "."));
+                    }
+                    return IndexedGraph.fromGraphData(graph);
+                }
+            };
+            return write(graphs, path);
+        }
+    }
+
+    /**
+     * Writes graphs from an iterator; the graph count in the header is filled in
+     * once all graphs have been written.
+     */
+    private static int write(Iterator<IndexedGraph> graphs, Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(0).flip();
+            writeFully(channel, header);
+
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+            int count = 0;
+            while (graphs.hasNext()) {
+                writeGraph(channel, buffer, graphs.next());
+                count++;
+            }
+
+            // Patch the graph count now that it is known
+            header.clear();
+            header.putInt(count).flip();
+            channel.write(header, 8);
+            return count;
+        }
+    }
+
+    private static void writeGraph(FileChannel channel, ByteBuffer buffer, IndexedGraph graph) throws IOException {
+        int n = graph.vertexCount();
+        byte[][] names = new byte[n][];
+        int nameBytes = 0;
+        for (int v = 0; v < n; v++) {
+            names[v] = graph.name(v).getBytes(StandardCharsets.UTF_8);
+            nameBytes += names[v].length;
+        }
+
+        buffer.clear();
+        putInt(channel, buffer, graph.getId());
+        putInt(channel, buffer, n);
+        putInt(channel, buffer, graph.edgeCount());
+        putInt(channel, buffer, nameBytes);
+
+        // Name table: offsets, then the bytes padded to a 4-byte boundary
+        int offset = 0;
+        putInt(channel, buffer, 0);
+        for (byte[] name : names) {
+            offset += name.length;
+            putInt(channel, buffer, offset);
+        }
+        for (byte[] name : names) {
+            for (byte b : name) {
+                if (!buffer.hasRemaining()) flush(channel, buffer);
+                buffer.put(b);
+            }
+        }
+        for (int pad = padding(nameBytes); pad > 0; pad--) {
+            if (!buffer.hasRemaining()) flush(channel, buffer);
+            buffer.put((byte) 0);
+        }
+
+        putInts(channel, buffer, graph.edgeFromArray());
+        putInts(channel, buffer, graph.edgeToArray());
+        putInts(channel, buffer, graph.edgeWeightArray());
+        flush(channel, buffer);
+    }
+
+    /**
+     * Reads every graph of a binary graph file by memory-mapping its sections.
+     *
+     * @param path the binary file to read
+     * @return the graphs in file order
+     * @throws IOException if the file cannot be read or is not a binary graph file
+     */
+    public static List<IndexedGraph> read(Path path) throws IOException {
+        try (Reader reader = open(path)) {
+            List<IndexedGraph> graphs = new ArrayList<>(reader.graphCount());
+            while (reader.hasNext()) {
+                graphs.add(reader.next());
+            }
+            return graphs;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Opens a binary graph file for reading one graph at a time, so that only the
+     * graph currently being returned is held in memory.
+     *
+     * @param path the binary file to read
+     * @return a reader positioned at the first graph, which must be closed
+     * @throws IOException if the file cannot be read or is not a binary graph file
+     */
+    public static Reader open(Path path) throws IOException {
+        return new Reader(path);
+    }
+
+    /**
+     * Iterates over the graphs of a binary graph file, mapping the sections of each
+     * graph only when it is requested. Read errors after opening are thrown as
+     * {@link UncheckedIOException}.
+     */
+    public static final class Reader implements Iterator<IndexedGraph>, Closeable {
+
+        private final FileChannel channel;
+        private final int count;
+        private int returned = 0;
+        private long position = HEADER_BYTES;
+
+        private Reader(Path path) throws IOException {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+            try {
+                ByteBuffer header = map(channel, 0, HEADER_BYTES);
+                if (header.getInt() != MAGIC) {
+                    throw new IOException(path + " is not a binary graph file.");
+                }
+                int version = header.getInt();
+                if (version != VERSION) {
+                    throw new IOException("Unsupported binary graph file version " + version + " in " + path);
+                }
+                count = header.getInt();
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        /**
+         * Returns the number of graphs recorded in the file header.
+         *
+         * @return the graph count of the file
+         */
+        public int graphCount() {
+            return count;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return returned < count;
+        }
+
+        @Override
+        public IndexedGraph next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            try {
+                IndexedGraph graph = readGraph();
+                returned++;
+                return graph;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private IndexedGraph readGraph() throws IOException {
+            ByteBuffer graphHeader = map(channel, position, GRAPH_HEADER_BYTES);
+            int id = graphHeader.getInt();
+            int n = graphHeader.getInt();
+            int m = graphHeader.getInt();
+            int nameBytes = graphHeader.getInt();
+            position += GRAPH_HEADER_BYTES;
+
+            // Decode the interned vertex names
+            long namesLength = 4L * (n + 1) + nameBytes + padding(nameBytes);
+            ByteBuffer nameSection = map(channel, position, namesLength);
+            int[] offsets = new int[n + 1];
+            nameSection.asIntBuffer().get(offsets);
+            byte[] bytes = new byte[nameBytes];
+            nameSection.position(4 * (n + 1));
+            nameSection.get(bytes);
+            String[] names = new String[n];
+            for (int v = 0; v < n; v++) {
+                names[v] = new String(bytes, offsets[v], offsets[v + 1] - offsets[v], StandardCharsets.UTF_8);
+            }
+            position += namesLength;
+
+            // Bulk-copy the three edge arrays out of the mapping
+            int[] from = new int[m];
+            int[] to = new int[m];
+            int[] weight = new int[m];
+            map(channel, position, 4L * m).asIntBuffer().get(from);
+            position += 4L * m;
+            map(channel, position, 4L * m).asIntBuffer().get(to);
+            position += 4L * m;
+            map(channel, position, 4L * m).asIntBuffer().get(weight);
+            position += 4L * m;
+
+            return new IndexedGraph(id, names, from, to, weight);
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    private static ByteBuffer map(FileChannel channel, long position, long length) throws IOException {
+        if (position + length > channel.size()) {
+            throw new IOException("Binary graph file is truncated.");
+        }
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException("Section of " + length + " bytes is too large to map.");
+        }
+        MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+        mapped.order(ByteOrder.LITTLE_ENDIAN);
+        return mapped;
+    }
+
+    private static int padding(int nameBytes) {
+        return (4 - (nameBytes & 3)) & 3;
+    }
+
+    private static void putInt(FileChannel channel, ByteBuffer buffer, int value) throws IOException {
+        if (buffer.remaining() < 4) flush(channel, buffer);
+        buffer.putInt(value);
+    }
+
+    private static void putInts(FileChannel channel, ByteBuffer buffer, int[] values) throws IOException {
+        int i = 0;
+        while (i < values.length) {
+            if (buffer.remaining() < 4) flush(channel, buffer);
+            int chunk = Math.min(values.length - i, buffer.remaining() / 4);
+            buffer.asIntBuffer().put(values, i, chunk);
+            buffer.position(buffer.position() + 4 * chunk);
+            i += chunk;
+        }
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        writeFully(channel, buffer);
+        buffer.clear();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
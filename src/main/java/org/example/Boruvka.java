@@ -0,0 +1,181 @@
+package org.example;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+/**
+ * Implements Borůvka’s algorithm for finding the Minimum Spanning Tree (MST)
+ * of a weighted undirected graph using several cores. Each round finds, in
+ * parallel over the remaining edges, the cheapest edge leaving every component
+ * and then contracts the components along those edges with a concurrent
+ * Union-Find. The number of components at least halves every round, so at most
+ * log V rounds are needed.
+ */
+public class Boruvka {
+
+    // Marks a component for which no outgoing edge has been found this round
+    private static final long NONE = Long.MAX_VALUE;
+
+    private final ForkJoinPool pool;
+    private MSTMetrics metrics = MSTMetrics.NOOP;
+    // Buffers reused across runs; see setWorkspace for when the parallel rounds may use them
+    private MSTWorkspace workspace = new MSTWorkspace();
+
+    /**
+     * Creates a Borůvka instance that runs on the common fork-join pool.
+     */
+    public Boruvka() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a Borůvka instance that runs its parallel rounds on the given pool.
+     *
+     * @param pool the fork-join pool used for the parallel phases
+     */
+    public Boruvka(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Sets the metrics that receive phase timings and counters of subsequent runs.
+     * Allocation is measured for the calling thread only, not for the pool workers.
+     *
+     * @param metrics the metrics, or {@link MSTMetrics#NOOP} to record nothing
+     */
+    public void setMetrics(MSTMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Sets the workspace whose buffers subsequent runs reuse, typically the one of the
+     * calling thread. The component pass after the rounds always uses it. The parallel
+     * rounds use it only when the caller is not a fork-join worker itself: such a
+     * caller may run other tasks, including other comparisons on its own workspace,
+     * while it waits for the rounds, so the rounds then use a workspace from
+     * {@link MSTWorkspace#borrow()}, which later runs on that worker reuse.
+     *
+     * @param workspace the workspace, used by one run at a time
+     */
+    public void setWorkspace(MSTWorkspace workspace) {
+        this.workspace = workspace;
+    }
+
+    /**
+     * Runs Borůvka's algorithm on an integer-indexed graph.
+     *
+     * @param graph the indexed graph
+     * @return a Result object containing the MST edges, total cost, operation count, and execution time
+     */
+    public Result runBoruvka(IndexedGraph graph) {
+        Result result = new Result();
+        long startTime = System.nanoTime();
+        metrics.start();
+
+        // Running inside the pool makes the parallel streams use its workers
+        metrics.phaseStart(MSTMetrics.Phase.SEARCH);
+        boolean worker = Thread.currentThread() instanceof ForkJoinWorkerThread;
+        MSTWorkspace rounds = worker ? MSTWorkspace.borrow() : workspace;
+        try {
+            int[] treeEdges = rounds.ints(MSTWorkspace.Buffer.TREE_EDGES, graph.vertexCount());
+            int accepted = pool.submit(() -> computeForest(graph, result, rounds, treeEdges)).join();
+            for (int i = 0; i < accepted; i++) {
+                int e = treeEdges[i];
+                result.mstEdges.add(graph.toEdge(e));
+                result.totalCost += graph.edgeWeight(e);
+            }
+            metrics.phaseEnd(MSTMetrics.Phase.SEARCH);
+
+            metrics.phaseStart(MSTMetrics.Phase.COMPONENTS);
+            SpanningForest.record(result, graph, treeEdges, workspace);
+            metrics.phaseEnd(MSTMetrics.Phase.COMPONENTS);
+            result.metrics = metrics.finish();
+        } finally {
+            if (worker) {
+                MSTWorkspace.giveBack(rounds);
+            }
+        }
+
+        long endTime = System.nanoTime();
+        result.executionTimeMs = (endTime - startTime) / 1_000_000.0;
+
+        return result;
+    }
+
+    /**
+     * Performs the Borůvka rounds, storing the ids of the accepted edges in
+     * {@code treeEdges}, and returns their number.
+     */
+    private int computeForest(IndexedGraph graph, Result result, MSTWorkspace rounds, int[] treeEdges) {
+        int n = graph.vertexCount();
+        int m = graph.edgeCount();
+        int[] edgeFrom = graph.edgeFromArray();
+        int[] edgeTo = graph.edgeToArray();
+        int[] edgeWeight = graph.edgeWeightArray();
+
+        ConcurrentUnionFind uf = rounds.concurrentUnionFind(n);
+        AtomicLongArray cheapest = rounds.atomicLongs(n);
+        int[] live = rounds.ints(MSTWorkspace.Buffer.EDGE_ORDER, m);
+        for (int e = 0; e < m; e++) {
+            live[e] = e;
+        }
+        int liveCount = m;
+        int accepted = 0;
+
+        while (uf.components() > 1) {
+            // Drop edges whose endpoints already share a component
+            int[] current = live;
+            int scanned = liveCount;
+            live = IntStream.range(0, scanned).parallel()
+                    .map(i -> current[i])
+                    .filter(e -> uf.find(edgeFrom[e]) != uf.find(edgeTo[e]))
+                    .toArray();
+            liveCount = live.length;
+            result.operations += scanned;
+            metrics.count(MSTMetrics.Counter.EDGE_SCAN, scanned);
+            metrics.count(MSTMetrics.Counter.ROUND, 1);
+            if (live.length == 0) break;
+
+            // Cheapest outgoing edge per component root. Keys pack the weight above the
+            // edge id, so ties are broken consistently and the chosen edges form a forest
+            for (int v = 0; v < n; v++) {
+                cheapest.set(v, NONE);
+            }
+            int[] edges = live;
+            IntStream.range(0, edges.length).parallel().forEach(i -> {
+                int e = edges[i];
+                long key = ((long) edgeWeight[e] << 32) | e;
+                lowerTo(cheapest, uf.find(edgeFrom[e]), key);
+                lowerTo(cheapest, uf.find(edgeTo[e]), key);
+            });
+            result.operations += edges.length;
+
+            // Contract along the chosen edges; an edge chosen by both of its
+            // components is merged only once
+            int[] merged = IntStream.range(0, n).parallel()
+                    .filter(v -> cheapest.get(v) != NONE)
+                    .map(v -> (int) cheapest.get(v))
+                    .filter(e -> uf.union(edgeFrom[e], edgeTo[e]))
+                    .toArray();
+            result.operations += merged.length;
+            metrics.count(MSTMetrics.Counter.UNION, merged.length);
+            if (merged.length == 0) break;
+            for (int e : merged) {
+                treeEdges[accepted++] = e;
+            }
+        }
+        return accepted;
+    }
+
+    /**
+     * Atomically replaces {@code array[i]} with {@code key} if the key is smaller.
+     */
+    private static void lowerTo(AtomicLongArray array, int i, long key) {
+        long current = array.get(i);
+        while (key < current && !array.compareAndSet(i, current, key)) {
+            current = array.get(i);
+        }
+    }
+}
@@ -0,0 +1,480 @@
+package org.example;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes MST comparison results as compact JSON without reflection. The document has
+ * the {@code {"results": [...]}} shape and the field names of {@link ResultStreamWriter},
+ * and null fields are left out as Gson does, but there is no indentation, and
+ * every value is encoded straight into a direct buffer that is drained into a file
+ * channel. No intermediate strings or trees are built.
+ *
+ * <p>The MST edge lists usually make up most of the output. Depending on
+ * {@link EdgeOutput} they are written inline, left out (totals and component
+ * costs remain), or moved to a binary side file next to the JSON file, named like
+ * it with {@code .edges} appended. In the side file every edge is stored as
+ * <pre>
+ * from name length | from name bytes (UTF-8) | to name length | to name bytes | weight
+ * </pre>
+ * with little-endian 32-bit integers, and each result refers to its edges with
+ * {@code "mstEdgesOffset"} (the byte offset of its first edge) and {@code "mstEdgesCount"}.
+ */
+public class CompactResultWriter implements ResultWriter {
+
+    /**
+     * How the MST edge lists of the results are written.
+     */
+    public enum EdgeOutput {
+        /** Inline as JSON arrays of edge objects. */
+        FULL,
+        /** Not at all. */
+        OMIT,
+        /** To the binary side file, referenced by offset and count. */
+        BINARY
+    }
+
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    // Longest encoding of a single value written without checking for room: a long or a
+    // double in characters, or one escaped char
+    private static final int MAX_SCALAR_BYTES = 32;
+
+    private final EdgeOutput edgeOutput;
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private final FileChannel edgeChannel;
+    private final ByteBuffer edgeBuffer;
+    private long edgeOffset = 0;
+    private int written = 0;
+
+    /**
+     * Creates the given file, and the side file for {@link EdgeOutput#BINARY}, and
+     * writes the opening of the results array.
+     *
+     * @param filePath   the path to the output JSON file
+     * @param edgeOutput how the MST edge lists are written
+     * @throws IOException if a file cannot be created
+     */
+    public CompactResultWriter(String filePath, EdgeOutput edgeOutput) throws IOException {
+        this.edgeOutput = edgeOutput;
+        channel = FileChannel.open(Path.of(filePath), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        if (edgeOutput == EdgeOutput.BINARY) {
+            try {
+                edgeChannel = FileChannel.open(Path.of(filePath + ".edges"), StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+            edgeBuffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        } else {
+            edgeChannel = null;
+            edgeBuffer = null;
+        }
+        raw("{\"results\":[");
+    }
+
+    /**
+     * Appends one result to the results array.
+     *
+     * @param result the result to write
+     */
+    @Override
+    public synchronized void write(OutputGraph result) {
+        try {
+            if (written > 0) put(',');
+            outputGraph(result);
+            written++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized int getWritten() {
+        return written;
+    }
+
+    private void outputGraph(OutputGraph graph) throws IOException {
+        put('{');
+        name("graph_id", true);
+        number(graph.getGraph_id());
+        if (graph.getInput_stats() != null) {
+            name("input_stats", false);
+            put('{');
+            boolean first = true;
+            for (Map.Entry<String, Integer> stat : graph.getInput_stats().entrySet()) {
+                name(stat.getKey(), first);
+                first = false;
+                number(stat.getValue());
+            }
+            put('}');
+        }
+        if (graph.getComponents() != null) {
+            name("components", false);
+            put('[');
+            for (int c = 0; c < graph.getComponents().size(); c++) {
+                if (c > 0) put(',');
+                stringArray(graph.getComponents().get(c));
+            }
+            put(']');
+        }
+        result("prim", graph.getPrim());
+        result("prim_eager", graph.getPrim_eager());
+        result("kruskal", graph.getKruskal());
+        result("boruvka", graph.getBoruvka());
+        if (graph.getComparison_summary() != null) {
+            name("comparison_summary", false);
+            string(graph.getComparison_summary());
+        }
+        if (graph.getTimings() != null) {
+            name("timings", false);
+            put('{');
+            boolean first = true;
+            for (Map.Entry<String, TimingStats> timing : graph.getTimings().entrySet()) {
+                name(timing.getKey(), first);
+                first = false;
+                timingStats(timing.getValue());
+            }
+            put('}');
+        }
+        if (graph.getMetrics() != null) {
+            name("metrics", false);
+            metrics(graph.getMetrics());
+        }
+        if (graph.getSensitivity() != null) {
+            name("sensitivity", false);
+            put('[');
+            for (int i = 0; i < graph.getSensitivity().size(); i++) {
+                if (i > 0) put(',');
+                sensitivity(graph.getSensitivity().get(i));
+            }
+            put(']');
+        }
+        if (graph.getScenarios() != null) {
+            name("scenarios", false);
+            put('{');
+            boolean first = true;
+            for (Map.Entry<String, OutputGraph> scenario : graph.getScenarios().entrySet()) {
+                name(scenario.getKey(), first);
+                first = false;
+                outputGraph(scenario.getValue());
+            }
+            put('}');
+        }
+        put('}');
+    }
+
+    private void result(String field, Result result) throws IOException {
+        if (result == null) return;
+        name(field, false);
+        put('{');
+        boolean first = true;
+        if (result.mstEdges != null) {
+            if (edgeOutput == EdgeOutput.FULL) {
+                name("mstEdges", true);
+                put('[');
+                for (int i = 0; i < result.mstEdges.size(); i++) {
+                    if (i > 0) put(',');
+                    edge(result.mstEdges.get(i));
+                }
+                put(']');
+                first = false;
+            } else if (edgeOutput == EdgeOutput.BINARY) {
+                name("mstEdgesOffset", true);
+                number(edgeOffset);
+                name("mstEdgesCount", false);
+                number(result.mstEdges.size());
+                for (Edge edge : result.mstEdges) {
+                    binaryEdge(edge);
+                }
+                first = false;
+            }
+        }
+        name("totalCost", first);
+        number(result.totalCost);
+        name("operations", false);
+        number(result.operations);
+        name("executionTimeMs", false);
+        number(result.executionTimeMs);
+        name("components", false);
+        number(result.components);
+        if (result.componentCosts != null) {
+            name("componentCosts", false);
+            put('[');
+            for (int i = 0; i < result.componentCosts.size(); i++) {
+                if (i > 0) put(',');
+                number(result.componentCosts.get(i));
+            }
+            put(']');
+        }
+        if (result.metrics != null) {
+            name("metrics", false);
+            metrics(result.metrics);
+        }
+        put('}');
+    }
+
+    private void edge(Edge edge) throws IOException {
+        put('{');
+        boolean first = true;
+        if (edge.getFrom() != null) {
+            name("from", true);
+            string(edge.getFrom());
+            first = false;
+        }
+        if (edge.getTo() != null) {
+            name("to", first);
+            string(edge.getTo());
+            first = false;
+        }
+        name("weight", first);
+        number(edge.getWeight());
+        put('}');
+    }
+
+    private void timingStats(TimingStats stats) throws IOException {
+        put('{');
+        name("warmup", true);
+        number(stats.warmup);
+        name("repetitions", false);
+        number(stats.repetitions);
+        name("minMs", false);
+        number(stats.minMs);
+        name("medianMs", false);
+        number(stats.medianMs);
+        name("p99Ms", false);
+        number(stats.p99Ms);
+        name("meanMs", false);
+        number(stats.meanMs);
+        name("stddevMs", false);
+        number(stats.stddevMs);
+        name("gcCount", false);
+        number(stats.gcCount);
+        name("gcTimeMs", false);
+        number(stats.gcTimeMs);
+        put('}');
+    }
+
+    private void sensitivity(EdgeSensitivity s) throws IOException {
+        put('{');
+        boolean first = true;
+        if (s.from != null) {
+            name("from", true);
+            string(s.from);
+            first = false;
+        }
+        if (s.to != null) {
+            name("to", first);
+            string(s.to);
+            first = false;
+        }
+        name("weight", first);
+        number(s.weight);
+        name("inTree", false);
+        raw(s.inTree ? "true" : "false");
+        if (s.replacement != null) {
+            name("replacement", false);
+            edge(s.replacement);
+        }
+        if (s.maxIncrease != null) {
+            name("maxIncrease", false);
+            number(s.maxIncrease);
+        }
+        if (s.costWithout != null) {
+            name("costWithout", false);
+            number(s.costWithout);
+        }
+        if (s.maxPathWeight != null) {
+            name("maxPathWeight", false);
+            number(s.maxPathWeight);
+        }
+        put('}');
+    }
+
+    private void metrics(Map<String, Long> metrics) throws IOException {
+        put('{');
+        boolean first = true;
+        for (Map.Entry<String, Long> metric : metrics.entrySet()) {
+            name(metric.getKey(), first);
+            first = false;
+            number(metric.getValue());
+        }
+        put('}');
+    }
+
+    private void stringArray(List<String> values) throws IOException {
+        put('[');
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) put(',');
+            string(values.get(i));
+        }
+        put(']');
+    }
+
+    private void name(String name, boolean first) throws IOException {
+        if (!first) put(',');
+        string(name);
+        put(':');
+    }
+
+    /**
+     * Writes a quoted string, escaping quotes, backslashes, control characters and the
+     * Unicode line separators, and encoding everything else as UTF-8.
+     */
+    private void string(String value) throws IOException {
+        if (value == null) {
+            raw("null");
+            return;
+        }
+        put('"');
+        for (int i = 0; i < value.length(); i++) {
+            if (buffer.remaining() < MAX_SCALAR_BYTES) flush();
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                buffer.put((byte) '\\').put((byte) c);
+            } else if (c < 0x20 || c == 0x2028 || c == 0x2029) {
+                escape(c);
+            } else if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | c >>> 6)).put((byte) (0x80 | c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, value.charAt(++i));
+                buffer.put((byte) (0xF0 | cp >>> 18)).put((byte) (0x80 | cp >>> 12 & 0x3F))
+                        .put((byte) (0x80 | cp >>> 6 & 0x3F)).put((byte) (0x80 | cp & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                escape(c);
+            } else {
+                buffer.put((byte) (0xE0 | c >>> 12)).put((byte) (0x80 | c >>> 6 & 0x3F))
+                        .put((byte) (0x80 | c & 0x3F));
+            }
+        }
+        put('"');
+    }
+
+    private void escape(char c) {
+        switch (c) {
+            case '\n' -> buffer.put((byte) '\\').put((byte) 'n');
+            case '\r' -> buffer.put((byte) '\\').put((byte) 'r');
+            case '\t' -> buffer.put((byte) '\\').put((byte) 't');
+            default -> {
+                buffer.put((byte) '\\').put((byte) 'u');
+                for (int shift = 12; shift >= 0; shift -= 4) {
+                    buffer.put((byte) Character.forDigit(c >>> shift & 0xF, 16));
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes an integer in decimal, digit by digit from the back of a small scratch area.
+     */
+    private void number(long value) throws IOException {
+        if (buffer.remaining() < MAX_SCALAR_BYTES) flush();
+        if (value == Long.MIN_VALUE) {
+            raw(Long.toString(value));
+            return;
+        }
+        if (value < 0) {
+            buffer.put((byte) '-');
+            value = -value;
+        }
+        int digits = 1;
+        for (long rest = value / 10; rest > 0; rest /= 10) {
+            digits++;
+        }
+        int end = buffer.position() + digits;
+        for (int at = end - 1; at >= buffer.position(); at--) {
+            buffer.put(at, (byte) ('0' + value % 10));
+            value /= 10;
+        }
+        buffer.position(end);
+    }
+
+    /**
+     * Writes a double the way Gson does; JSON has no representation for NaN or infinity.
+     */
+    private void number(double value) throws IOException {
+        if (!Double.isFinite(value)) {
+            throw new IllegalArgumentException("JSON forbids NaN and infinities: " + value);
+        }
+        raw(Double.toString(value));
+    }
+
+    private void binaryEdge(Edge edge) throws IOException {
+        byte[] from = edge.getFrom().getBytes(StandardCharsets.UTF_8);
+        byte[] to = edge.getTo().getBytes(StandardCharsets.UTF_8);
+        int length = 12 + from.length + to.length;
+        if (edgeBuffer.remaining() < length) {
+            drain(edgeChannel, edgeBuffer);
+        }
+        if (edgeBuffer.remaining() < length) {
+            // A name longer than the buffer: write this edge on its own
+            ByteBuffer large = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+            large.putInt(from.length).put(from).putInt(to.length).put(to).putInt(edge.getWeight());
+            drain(edgeChannel, large);
+        } else {
+            edgeBuffer.putInt(from.length).put(from).putInt(to.length).put(to).putInt(edge.getWeight());
+        }
+        edgeOffset += length;
+    }
+
+    private void put(char c) throws IOException {
+        if (!buffer.hasRemaining()) flush();
+        buffer.put((byte) c);
+    }
+
+    private void raw(String ascii) throws IOException {
+        for (int i = 0; i < ascii.length(); i++) {
+            put(ascii.charAt(i));
+        }
+    }
+
+    private void flush() throws IOException {
+        drain(channel, buffer);
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Closes the results array and the document, then the files.
+     *
+     * @throws IOException if a file cannot be written or closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            raw("]}\n");
+            flush();
+            if (edgeChannel != null) {
+                drain(edgeChannel, edgeBuffer);
+            }
+        } finally {
+            try {
+                channel.close();
+            } finally {
+                if (edgeChannel != null) {
+                    edgeChannel.close();
+                }
+            }
+        }
+    }
+}
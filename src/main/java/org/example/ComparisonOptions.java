@@ -0,0 +1,124 @@
+package org.example;
+
+/**
+ * Settings for {@link MSTComparison} that go beyond running every algorithm once.
+ * The defaults compute every graph from scratch, run every algorithm once and
+ * record neither metrics nor a sensitivity analysis, and leave
+ * repeated edges in place. Options are
+ * read concurrently by the batch workers and should not be changed once a batch
+ * has started.
+ */
+public class ComparisonOptions {
+
+    private MSTCache cache;
+    private boolean metrics;
+    private boolean sensitivity;
+    private boolean deduplicate;
+    private int warmup = 0;
+    private int repetitions = 1;
+
+    public MSTCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Sets the cache that results are looked up in and stored to. It is not used
+     * in measurement mode or with metrics, whose output describes the run itself.
+     *
+     * @param cache the result cache, or null to always compute
+     */
+    public void setCache(MSTCache cache) {
+        this.cache = cache;
+    }
+
+    public boolean isMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Enables phase timings and operation counters in the results.
+     *
+     * @param metrics true to record {@link RecordingMetrics} for every algorithm run
+     */
+    public void setMetrics(boolean metrics) {
+        this.metrics = metrics;
+    }
+
+    public boolean isSensitivity() {
+        return sensitivity;
+    }
+
+    /**
+     * Enables the per-edge sensitivity analysis of the minimum spanning forest.
+     *
+     * @param sensitivity true to add a {@link SensitivityAnalysis} of every graph to its output
+     */
+    public void setSensitivity(boolean sensitivity) {
+        this.sensitivity = sensitivity;
+    }
+
+    public boolean isDeduplicate() {
+        return deduplicate;
+    }
+
+    /**
+     * Enables merging repeated edges and vertex names of JSON graphs before they are
+     * compared. Graphs that are already indexed, e.g. loaded from a binary graph file,
+     * are compared as they are.
+     *
+     * @param deduplicate true to pass every graph through {@link GraphValidator#deduplicate}
+     */
+    public void setDeduplicate(boolean deduplicate) {
+        this.deduplicate = deduplicate;
+    }
+
+    public int getWarmup() {
+        return warmup;
+    }
+
+    /**
+     * Sets the number of unmeasured runs of every algorithm before the measured ones.
+     *
+     * @param warmup the number of warm-up runs, at least 0
+     */
+    public void setWarmup(int warmup) {
+        if (warmup < 0) {
+            throw new IllegalArgumentException("Warm-up runs must not be negative, got " + warmup);
+        }
+        this.warmup = warmup;
+    }
+
+    public int getRepetitions() {
+        return repetitions;
+    }
+
+    /**
+     * Sets the number of measured runs of every algorithm.
+     *
+     * @param repetitions the number of measured runs, at least 1
+     */
+    public void setRepetitions(int repetitions) {
+        if (repetitions < 1) {
+            throw new IllegalArgumentException("Repetitions must be at least 1, got " + repetitions);
+        }
+        this.repetitions = repetitions;
+    }
+
+    /**
+     * Returns whether the algorithms are run more than once to collect timing statistics.
+     *
+     * @return true if warm-up runs or several repetitions are configured
+     */
+    public boolean isMeasurementMode() {
+        return warmup > 0 || repetitions > 1;
+    }
+
+    /**
+     * Creates the metrics for one algorithm run or comparison.
+     *
+     * @return fresh recording metrics if enabled, otherwise {@link MSTMetrics#NOOP}
+     */
+    MSTMetrics newMetrics() {
+        return metrics ? new RecordingMetrics() : MSTMetrics.NOOP;
+    }
+}
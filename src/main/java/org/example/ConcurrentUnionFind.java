@@ -0,0 +1,100 @@
+package org.example;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Lock-free Union-Find over dense integer ids {@code 0..n-1} that can be shared by
+ * several threads. Parent links are updated with compare-and-set: {@link #find(int)}
+ * applies path halving opportunistically, and {@link #union(int, int)} links the
+ * root with the larger id under the root with the smaller id, which keeps links
+ * acyclic no matter how concurrent unions interleave.
+ */
+public final class ConcurrentUnionFind {
+    private AtomicIntegerArray parent;
+    private final AtomicInteger components = new AtomicInteger();
+
+    /**
+     * Initializes the structure with each of {@code n} ids in its own set.
+     *
+     * @param n the number of ids
+     */
+    public ConcurrentUnionFind(int n) {
+        parent = new AtomicIntegerArray(n);
+        reset(n);
+    }
+
+    /**
+     * Reinitializes the structure for {@code n} ids, each in its own set, reusing the
+     * parent array when it is large enough. Unlike the other methods this must not run
+     * concurrently with any other call.
+     *
+     * @param n the number of ids
+     */
+    public void reset(int n) {
+        if (n > parent.length()) {
+            parent = new AtomicIntegerArray(n);
+        }
+        for (int v = 0; v < n; v++) {
+            parent.set(v, v);
+        }
+        components.set(n);
+    }
+
+    /**
+     * Finds the current root of the set containing {@code v}.
+     *
+     * @param v the id to find the root of
+     * @return the root of the set containing v at the time of the call
+     */
+    public int find(int v) {
+        while (true) {
+            int p = parent.get(v);
+            if (p == v) return v;
+            int gp = parent.get(p);
+            // Path halving; losing the race only means the path is not shortened
+            if (p != gp) {
+                parent.compareAndSet(v, p, gp);
+            }
+            v = gp;
+        }
+    }
+
+    /**
+     * Merges the sets containing {@code u} and {@code v}.
+     *
+     * @param u one id
+     * @param v another id
+     * @return true if this call merged two sets, false if they were already connected
+     */
+    public boolean union(int u, int v) {
+        while (true) {
+            int rootU = find(u);
+            int rootV = find(v);
+            if (rootU == rootV) return false;
+
+            // Always link the larger root under the smaller one
+            int child = Math.max(rootU, rootV);
+            int root = Math.min(rootU, rootV);
+            if (parent.compareAndSet(child, child, root)) {
+                components.decrementAndGet();
+                return true;
+            }
+            // Another thread linked the child root first; retry with the new roots
+        }
+    }
+
+    public boolean connected(int u, int v) {
+        // A root can only stop being a root, so retry until both finds agree
+        while (true) {
+            int rootU = find(u);
+            int rootV = find(v);
+            if (rootU == rootV) return true;
+            if (parent.get(rootU) == rootU) return false;
+        }
+    }
+
+    public int components() {
+        return components.get();
+    }
+}
@@ -0,0 +1,598 @@
+package org.example;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maintains the minimum spanning forest of a graph under edge insertions,
+ * deletions and weight changes without recomputing it from scratch.
+ *
+ * <p>The current forest is stored in a link-cut tree in which every tree edge is
+ * represented by its own node carrying the edge weight, so the heaviest edge on
+ * the tree path between two vertices can be found in amortized O(log V).
+ * Inserting an edge, or lowering the weight of a non-tree edge, swaps it with the
+ * heaviest edge on the path between its endpoints when it is lighter (cycle
+ * property). Deleting a tree edge, or raising its weight, cuts it and searches the
+ * smaller of the two halves for the cheapest edge reconnecting them: both halves are
+ * explored alternately, one vertex at a time, until one of them is exhausted, so
+ * the search visits at most about twice as many vertices as the smaller half has,
+ * and the edges incident to them, instead of every edge of the graph. All other
+ * changes are O(log V) or O(1).
+ *
+ * <p>Edges are identified by ids: edges of the initial graph keep their ids in the
+ * {@link IndexedGraph}, and inserted edges get the following ids. Instances are
+ * not thread-safe.
+ */
+public final class DynamicMST {
+
+    private static final int NIL = -1;
+
+    private final int n;
+    private final String[] names;
+    private final Map<String, Integer> index = new HashMap<>();
+
+    // Edge storage, indexed by edge id
+    private int[] edgeFrom;
+    private int[] edgeTo;
+    private int[] edgeWeight;
+    private boolean[] alive;
+    private boolean[] inTree;
+    private int edgeCount;
+
+    // Alive non-loop edges incident to every vertex; edge e sits at slot fromSlot[e]
+    // of its first endpoint's list and at slot toSlot[e] of its second endpoint's list
+    private final int[][] incident;
+    private final int[] degree;
+    private int[] fromSlot;
+    private int[] toSlot;
+
+    // Breadth-first queues of the two halves explored by reconnect, and the half each
+    // vertex was last seen in: visit or visit + 1 of the current search
+    private int[] queueU = new int[0];
+    private int[] queueV = new int[0];
+    private final int[] seen;
+    private int visit;
+
+    // Link-cut tree over n vertex nodes followed by one node per edge id
+    private int[] left;
+    private int[] right;
+    private int[] parent;
+    private boolean[] reversed;
+    private long[] value;
+    private int[] maxNode;  // node with the largest value in the splay subtree
+    private int[] pushStack = new int[64];
+
+    private long totalCost;
+    private int treeEdges;
+
+    // Scratch buffers of toResult, kept with the instance since it is used by one thread at a time
+    private final MSTWorkspace workspace = new MSTWorkspace();
+
+    /**
+     * Creates the structure for a graph and builds its initial minimum spanning forest.
+     *
+     * @param graph the initial graph
+     */
+    public DynamicMST(IndexedGraph graph) {
+        this.n = graph.vertexCount();
+        this.names = new String[n];
+        for (int v = 0; v < n; v++) {
+            names[v] = graph.name(v);
+            index.putIfAbsent(names[v], v);
+        }
+        allocate(Math.max(16, graph.edgeCount()));
+        for (int v = 0; v < n; v++) {
+            initNode(v, Long.MIN_VALUE);
+        }
+        incident = new int[n][];
+        degree = new int[n];
+        seen = new int[n];
+
+        // Insert the edges in ascending weight order, so each one is either linked or rejected
+        int[] order = EdgeSort.sortByWeight(graph.edgeWeightArray(), EdgeSort.Method.AUTO);
+        edgeCount = graph.edgeCount();
+        for (int e = 0; e < edgeCount; e++) {
+            edgeFrom[e] = graph.edgeFrom(e);
+            edgeTo[e] = graph.edgeTo(e);
+            edgeWeight[e] = graph.edgeWeight(e);
+            alive[e] = true;
+            initNode(n + e, edgeWeight[e]);
+            attach(e);
+        }
+        for (int e : order) {
+            if (edgeFrom[e] != edgeTo[e] && !connected(edgeFrom[e], edgeTo[e])) {
+                linkEdge(e);
+            }
+        }
+    }
+
+    /**
+     * Inserts a new edge and updates the forest.
+     *
+     * @param from   one endpoint
+     * @param to     the other endpoint
+     * @param weight the edge weight
+     * @return the id of the new edge
+     */
+    public int addEdge(int from, int to, int weight) {
+        checkVertex(from);
+        checkVertex(to);
+        if (edgeCount == edgeFrom.length) {
+            grow();
+        }
+        int e = edgeCount++;
+        edgeFrom[e] = from;
+        edgeTo[e] = to;
+        edgeWeight[e] = weight;
+        alive[e] = true;
+        initNode(n + e, weight);
+        attach(e);
+        offerNonTreeEdge(e);
+        return e;
+    }
+
+    /**
+     * Inserts a new edge between two named vertices.
+     *
+     * @param from   name of one endpoint
+     * @param to     name of the other endpoint
+     * @param weight the edge weight
+     * @return the id of the new edge
+     */
+    public int addEdge(String from, String to, int weight) {
+        return addEdge(indexOf(from), indexOf(to), weight);
+    }
+
+    /**
+     * Changes the weight of an edge and updates the forest.
+     *
+     * @param e         the edge id
+     * @param newWeight the new weight
+     */
+    public void updateWeight(int e, int newWeight) {
+        checkEdge(e);
+        int oldWeight = edgeWeight[e];
+        if (newWeight == oldWeight) return;
+
+        if (!inTree[e]) {
+            // A non-tree edge can only enter the forest by becoming lighter
+            edgeWeight[e] = newWeight;
+            setValue(n + e, newWeight);
+            if (newWeight < oldWeight) {
+                offerNonTreeEdge(e);
+            }
+        } else if (newWeight < oldWeight) {
+            // A lighter tree edge stays in the forest
+            edgeWeight[e] = newWeight;
+            setValue(n + e, newWeight);
+            totalCost += (long) newWeight - oldWeight;
+        } else {
+            // A heavier tree edge competes with every edge that could replace it
+            cutEdge(e);
+            edgeWeight[e] = newWeight;
+            setValue(n + e, newWeight);
+            reconnect(edgeFrom[e], edgeTo[e]);
+        }
+    }
+
+    /**
+     * Deletes an edge and updates the forest.
+     *
+     * @param e the edge id
+     */
+    public void removeEdge(int e) {
+        checkEdge(e);
+        boolean wasTree = inTree[e];
+        if (wasTree) {
+            cutEdge(e);
+        }
+        alive[e] = false;
+        detach(e);
+        if (wasTree) {
+            reconnect(edgeFrom[e], edgeTo[e]);
+        }
+    }
+
+    /**
+     * Returns the heaviest edge on the forest path between two vertices.
+     *
+     * @param u one vertex
+     * @param v another vertex
+     * @return the edge id, or -1 if u and v are not connected or u == v
+     */
+    public int maxEdgeOnPath(int u, int v) {
+        checkVertex(u);
+        checkVertex(v);
+        if (u == v || !connected(u, v)) return -1;
+        int node = pathMax(u, v);
+        return node >= n ? node - n : -1;
+    }
+
+    public boolean connected(int u, int v) {
+        return findRoot(u) == findRoot(v);
+    }
+
+    public boolean isTreeEdge(int e) {
+        return e >= 0 && e < edgeCount && inTree[e];
+    }
+
+    public long getTotalCost() {
+        return totalCost;
+    }
+
+    public int getTreeEdgeCount() {
+        return treeEdges;
+    }
+
+    public int getComponentCount() {
+        return n - treeEdges;
+    }
+
+    /**
+     * Returns the current forest in the usual result shape.
+     *
+     * @return a Result with the tree edges, total cost and components; operations and time are not recorded
+     * @throws IllegalStateException if the total cost does not fit in the int total of a Result
+     */
+    public Result toResult() {
+        if (totalCost != (int) totalCost) {
+            throw new IllegalStateException("Forest cost " + totalCost
+                    + " does not fit in the int total of a Result; use getTotalCost() instead.");
+        }
+        Result result = new Result();
+        for (int e = 0; e < edgeCount; e++) {
+            if (inTree[e]) {
+                result.mstEdges.add(new Edge(names[edgeFrom[e]], names[edgeTo[e]], edgeWeight[e]));
+            }
+        }
+        result.totalCost = Math.toIntExact(totalCost);
+        SpanningForest.record(result, n, index::get, workspace);
+        return result;
+    }
+
+    // ---- forest maintenance ----
+
+    /**
+     * Adds edge e to the forest if it joins two trees, or swaps it with the heaviest
+     * edge on the cycle it closes if that edge is heavier.
+     */
+    private void offerNonTreeEdge(int e) {
+        int u = edgeFrom[e];
+        int v = edgeTo[e];
+        if (u == v) return;
+        if (!connected(u, v)) {
+            linkEdge(e);
+            return;
+        }
+        int heaviest = pathMax(u, v) - n;
+        if (heaviest >= 0 && edgeWeight[heaviest] > edgeWeight[e]) {
+            cutEdge(heaviest);
+            linkEdge(e);
+        }
+    }
+
+    /**
+     * After a tree edge between u and v was cut, links the cheapest alive non-tree
+     * edge that reconnects the two halves, if any. Every such edge has exactly one
+     * endpoint in each half, so it suffices to scan the edges of the smaller half.
+     */
+    private void reconnect(int u, int v) {
+        if (queueU.length < n) {
+            queueU = new int[n];
+            queueV = new int[n];
+        }
+        if (visit > Integer.MAX_VALUE - 2) {
+            Arrays.fill(seen, 0);
+            visit = 0;
+        }
+        visit += 2;
+        int markU = visit;
+        int markV = visit + 1;
+
+        // Grow both halves one vertex at a time; the first one exhausted is the smaller
+        int headU = 0;
+        int tailU = 0;
+        int headV = 0;
+        int tailV = 0;
+        queueU[tailU++] = u;
+        seen[u] = markU;
+        queueV[tailV++] = v;
+        seen[v] = markV;
+        while (headU < tailU && headV < tailV) {
+            tailU = expand(queueU[headU++], queueU, tailU, markU);
+            tailV = expand(queueV[headV++], queueV, tailV, markV);
+        }
+        int[] half = headU == tailU ? queueU : queueV;
+        int size = headU == tailU ? tailU : tailV;
+        int mark = headU == tailU ? markU : markV;
+
+        int best = NIL;
+        for (int i = 0; i < size; i++) {
+            int x = half[i];
+            int[] edges = incident[x];
+            for (int k = 0; k < degree[x]; k++) {
+                int f = edges[k];
+                if (inTree[f] || seen[other(f, x)] == mark) continue;
+                if (best == NIL || edgeWeight[f] < edgeWeight[best]) {
+                    best = f;
+                }
+            }
+        }
+        if (best != NIL) {
+            linkEdge(best);
+        }
+    }
+
+    /**
+     * Appends the unseen forest neighbors of x to a breadth-first queue and returns its new tail.
+     */
+    private int expand(int x, int[] queue, int tail, int mark) {
+        int[] edges = incident[x];
+        for (int k = 0; k < degree[x]; k++) {
+            int f = edges[k];
+            if (!inTree[f]) continue;
+            int y = other(f, x);
+            if (seen[y] != mark) {
+                seen[y] = mark;
+                queue[tail++] = y;
+            }
+        }
+        return tail;
+    }
+
+    private int other(int e, int x) {
+        return edgeFrom[e] == x ? edgeTo[e] : edgeFrom[e];
+    }
+
+    /**
+     * Adds edge e to the incidence lists of its endpoints; self-loops are left out.
+     */
+    private void attach(int e) {
+        int u = edgeFrom[e];
+        int v = edgeTo[e];
+        if (u == v) return;
+        fromSlot[e] = append(u, e);
+        toSlot[e] = append(v, e);
+    }
+
+    private int append(int x, int e) {
+        if (incident[x] == null) {
+            incident[x] = new int[4];
+        } else if (degree[x] == incident[x].length) {
+            incident[x] = Arrays.copyOf(incident[x], degree[x] * 2);
+        }
+        incident[x][degree[x]] = e;
+        return degree[x]++;
+    }
+
+    /**
+     * Removes edge e from the incidence lists of its endpoints.
+     */
+    private void detach(int e) {
+        int u = edgeFrom[e];
+        int v = edgeTo[e];
+        if (u == v) return;
+        removeSlot(u, fromSlot[e]);
+        removeSlot(v, toSlot[e]);
+    }
+
+    /**
+     * Removes the entry at a slot of x's incidence list by moving the last entry into it.
+     */
+    private void removeSlot(int x, int slot) {
+        int last = incident[x][--degree[x]];
+        incident[x][slot] = last;
+        if (edgeFrom[last] == x) {
+            fromSlot[last] = slot;
+        } else {
+            toSlot[last] = slot;
+        }
+    }
+
+    private void linkEdge(int e) {
+        int node = n + e;
+        link(edgeFrom[e], node);
+        link(node, edgeTo[e]);
+        inTree[e] = true;
+        treeEdges++;
+        totalCost += edgeWeight[e];
+    }
+
+    private void cutEdge(int e) {
+        int node = n + e;
+        cut(edgeFrom[e], node);
+        cut(node, edgeTo[e]);
+        inTree[e] = false;
+        treeEdges--;
+        totalCost -= edgeWeight[e];
+    }
+
+    // ---- link-cut tree primitives ----
+
+    private boolean isSplayRoot(int x) {
+        int p = parent[x];
+        return p == NIL || (left[p] != x && right[p] != x);
+    }
+
+    private void pull(int x) {
+        int best = x;
+        if (left[x] != NIL && value[maxNode[left[x]]] > value[best]) best = maxNode[left[x]];
+        if (right[x] != NIL && value[maxNode[right[x]]] > value[best]) best = maxNode[right[x]];
+        maxNode[x] = best;
+    }
+
+    private void push(int x) {
+        if (reversed[x]) {
+            int tmp = left[x];
+            left[x] = right[x];
+            right[x] = tmp;
+            if (left[x] != NIL) reversed[left[x]] ^= true;
+            if (right[x] != NIL) reversed[right[x]] ^= true;
+            reversed[x] = false;
+        }
+    }
+
+    private void rotate(int x) {
+        int p = parent[x];
+        int g = parent[p];
+        if (!isSplayRoot(p)) {
+            if (left[g] == p) left[g] = x; else right[g] = x;
+        }
+        parent[x] = g;
+        if (left[p] == x) {
+            left[p] = right[x];
+            if (right[x] != NIL) parent[right[x]] = p;
+            right[x] = p;
+        } else {
+            right[p] = left[x];
+            if (left[x] != NIL) parent[left[x]] = p;
+            left[x] = p;
+        }
+        parent[p] = x;
+        pull(p);
+        pull(x);
+    }
+
+    private void splay(int x) {
+        // Apply pending reversals from the splay root down to x
+        int depth = 0;
+        for (int y = x; ; y = parent[y]) {
+            if (depth == pushStack.length) pushStack = Arrays.copyOf(pushStack, depth * 2);
+            pushStack[depth++] = y;
+            if (isSplayRoot(y)) break;
+        }
+        while (depth > 0) {
+            push(pushStack[--depth]);
+        }
+
+        while (!isSplayRoot(x)) {
+            int p = parent[x];
+            if (!isSplayRoot(p)) {
+                int g = parent[p];
+                boolean zigZig = (left[g] == p) == (left[p] == x);
+                rotate(zigZig ? p : x);
+            }
+            rotate(x);
+        }
+    }
+
+    private void access(int x) {
+        int last = NIL;
+        for (int y = x; y != NIL; y = parent[y]) {
+            splay(y);
+            right[y] = last;
+            pull(y);
+            last = y;
+        }
+        splay(x);
+    }
+
+    private void makeRoot(int x) {
+        access(x);
+        reversed[x] ^= true;
+    }
+
+    private int findRoot(int x) {
+        access(x);
+        while (true) {
+            push(x);
+            if (left[x] == NIL) break;
+            x = left[x];
+        }
+        splay(x);
+        return x;
+    }
+
+    private void link(int x, int y) {
+        makeRoot(x);
+        parent[x] = y;
+    }
+
+    private void cut(int x, int y) {
+        makeRoot(x);
+        access(y);
+        // x is now the only node left of y on the path
+        left[y] = NIL;
+        parent[x] = NIL;
+        pull(y);
+    }
+
+    private int pathMax(int u, int v) {
+        makeRoot(u);
+        access(v);
+        return maxNode[v];
+    }
+
+    private void setValue(int node, long newValue) {
+        access(node);
+        value[node] = newValue;
+        pull(node);
+    }
+
+    // ---- storage ----
+
+    private void initNode(int x, long nodeValue) {
+        left[x] = NIL;
+        right[x] = NIL;
+        parent[x] = NIL;
+        reversed[x] = false;
+        value[x] = nodeValue;
+        maxNode[x] = x;
+    }
+
+    private void allocate(int edgeCapacity) {
+        edgeFrom = new int[edgeCapacity];
+        edgeTo = new int[edgeCapacity];
+        edgeWeight = new int[edgeCapacity];
+        alive = new boolean[edgeCapacity];
+        inTree = new boolean[edgeCapacity];
+        fromSlot = new int[edgeCapacity];
+        toSlot = new int[edgeCapacity];
+        int nodes = n + edgeCapacity;
+        left = new int[nodes];
+        right = new int[nodes];
+        parent = new int[nodes];
+        reversed = new boolean[nodes];
+        value = new long[nodes];
+        maxNode = new int[nodes];
+    }
+
+    private void grow() {
+        int edgeCapacity = edgeFrom.length * 2;
+        edgeFrom = Arrays.copyOf(edgeFrom, edgeCapacity);
+        edgeTo = Arrays.copyOf(edgeTo, edgeCapacity);
+        edgeWeight = Arrays.copyOf(edgeWeight, edgeCapacity);
+        alive = Arrays.copyOf(alive, edgeCapacity);
+        inTree = Arrays.copyOf(inTree, edgeCapacity);
+        fromSlot = Arrays.copyOf(fromSlot, edgeCapacity);
+        toSlot = Arrays.copyOf(toSlot, edgeCapacity);
+        int nodes = n + edgeCapacity;
+        left = Arrays.copyOf(left, nodes);
+        right = Arrays.copyOf(right, nodes);
+        parent = Arrays.copyOf(parent, nodes);
+        reversed = Arrays.copyOf(reversed, nodes);
+        value = Arrays.copyOf(value, nodes);
+        maxNode = Arrays.copyOf(maxNode, nodes);
+    }
+
+    private int indexOf(String name) {
+        Integer v = index.get(name);
+        if (v == null) {
+            throw new IllegalArgumentException("Unknown vertex " + name);
+        }
+        return v;
+    }
+
+    private void checkVertex(int v) {
+        if (v < 0 || v >= n) {
+            throw new IllegalArgumentException("Vertex id " + v + " is out of range.");
+        }
+    }
+
+    private void checkEdge(int e) {
+        if (e < 0 || e >= edgeCount || !alive[e]) {
+            throw new IllegalArgumentException("Edge " + e + " does not exist.");
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package org.example;
+
+/**
+ * Sensitivity of a minimum spanning forest to the weight of one edge, computed
+ * by {@link SensitivityAnalysis}. A tree edge stays in the forest as long as its
+ * weight does not rise by more than {@link #maxIncrease}; closing it costs the
+ * difference to its replacement. A non-tree edge only enters the forest once its
+ * weight drops below {@link #maxPathWeight}.
+ */
+public class EdgeSensitivity {
+
+    public String from;    // First endpoint of the edge.
+    public String to;    // Second endpoint of the edge.
+    public int weight = 0;    // Weight of the edge.
+    public boolean inTree = false;    // Whether the edge is part of the forest.
+    public Edge replacement = null;    // Tree edges: cheapest edge reconnecting the forest without this edge; null for a bridge.
+    public Long maxIncrease = null;    // Tree edges: how far the weight may rise before another edge can replace it; null for a bridge.
+    public Long costWithout = null;    // Tree edges: total forest cost if the edge is closed (a bridge splits its component).
+    public Integer maxPathWeight = null;    // Non-tree edges: heaviest forest edge between the endpoints; null for a self-loop.
+}
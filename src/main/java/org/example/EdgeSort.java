@@ -0,0 +1,165 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * Primitive sorts that order edge ids by weight without touching the edges themselves.
+ * All methods are stable: edges with equal weight keep the order of their ids,
+ * which matches the ordering produced by sorting a {@code List<Edge>} with TimSort.
+ */
+public final class EdgeSort {
+
+    /**
+     * Selects the sorting algorithm used to order edge ids.
+     */
+    public enum Method {
+        /** Picks {@link #PACKED} for small inputs and {@link #RADIX} for large ones. */
+        AUTO,
+        /** LSD radix sort on the weights, one pass per non-constant byte. */
+        RADIX,
+        /** Sorts packed {@code weight << 32 | id} longs with {@link Arrays#sort(long[])}. */
+        PACKED,
+        /** Sorts packed {@code weight << 32 | id} longs with {@link Arrays#parallelSort(long[])}. */
+        PARALLEL_PACKED
+    }
+
+    // Below this many edges the fixed cost of the radix histograms outweighs its benefit
+    private static final int RADIX_THRESHOLD = 1 << 12;
+
+    private EdgeSort() {
+    }
+
+    /**
+     * Returns the ids {@code 0..weights.length-1} ordered by ascending weight.
+     *
+     * @param weights edge weights indexed by edge id
+     * @param method  the sorting algorithm to use
+     * @return a new array of edge ids in ascending weight order
+     */
+    public static int[] sortByWeight(int[] weights, Method method) {
+        int m = weights.length;
+        if (isPacked(method, m)) {
+            return packedSort(weights, method == Method.PARALLEL_PACKED, new long[m], new int[m]);
+        }
+        return radixSort(weights, new int[m], new int[m], new int[256]);
+    }
+
+    /**
+     * Orders the ids {@code 0..weights.length-1} by ascending weight in buffers of the
+     * given workspace instead of allocating new arrays.
+     *
+     * @param weights   edge weights indexed by edge id
+     * @param method    the sorting algorithm to use
+     * @param workspace the workspace providing the buffers
+     * @return a workspace buffer whose first {@code weights.length} entries are the sorted
+     *         edge ids; it may be longer and is only valid until the workspace is reused
+     */
+    static int[] sortByWeight(int[] weights, Method method, MSTWorkspace workspace) {
+        int m = weights.length;
+        int[] order = workspace.ints(MSTWorkspace.Buffer.EDGE_ORDER, m);
+        if (isPacked(method, m)) {
+            return packedSort(weights, method == Method.PARALLEL_PACKED, workspace.longs(m), order);
+        }
+        return radixSort(weights, order, workspace.ints(MSTWorkspace.Buffer.EDGE_SCRATCH, m), workspace.radixCount());
+    }
+
+    private static boolean isPacked(Method method, int m) {
+        return method == Method.PACKED || method == Method.PARALLEL_PACKED
+                || (method == Method.AUTO && m < RADIX_THRESHOLD);
+    }
+
+    /**
+     * Stable LSD radix sort over the four bytes of each weight. The sign bit is
+     * flipped so that negative weights order before positive ones, and passes in
+     * which every weight has the same byte are skipped, so small weight ranges
+     * need only one or two passes. The passes alternate between {@code order} and
+     * {@code buffer}, and whichever holds the final order is returned.
+     */
+    static int[] radixSort(int[] weights, int[] order, int[] buffer, int[] count) {
+        int m = weights.length;
+        for (int e = 0; e < m; e++) {
+            order[e] = e;
+        }
+
+        for (int shift = 0; shift < 32; shift += 8) {
+            // Histogram of the current byte
+            Arrays.fill(count, 0);
+            for (int e = 0; e < m; e++) {
+                count[digit(weights[e], shift)]++;
+            }
+            if (m == 0 || count[digit(weights[0], shift)] == m) continue;
+
+            // Prefix sums give the first output position of each digit
+            int sum = 0;
+            for (int d = 0; d < 256; d++) {
+                int c = count[d];
+                count[d] = sum;
+                sum += c;
+            }
+
+            // Scatter in current order, which keeps the sort stable
+            for (int i = 0; i < m; i++) {
+                int e = order[i];
+                buffer[count[digit(weights[e], shift)]++] = e;
+            }
+            int[] tmp = order;
+            order = buffer;
+            buffer = tmp;
+        }
+        return order;
+    }
+
+    private static int digit(int weight, int shift) {
+        return ((weight ^ Integer.MIN_VALUE) >>> shift) & 0xFF;
+    }
+
+    /**
+     * Sorts packed {@code (weight, id)} keys; the id in the low bits breaks ties,
+     * which makes the result stable. The sorted ids are written to {@code order}.
+     */
+    static int[] packedSort(int[] weights, boolean parallel, long[] keys, int[] order) {
+        int m = weights.length;
+        for (int e = 0; e < m; e++) {
+            keys[e] = ((long) weights[e] << 32) | e;
+        }
+        if (parallel) {
+            Arrays.parallelSort(keys, 0, m);
+        } else {
+            Arrays.sort(keys, 0, m);
+        }
+
+        for (int i = 0; i < m; i++) {
+            order[i] = (int) keys[i];
+        }
+        return order;
+    }
+
+    /**
+     * Sorts the edge ids in {@code ids[from..to)} in place by ascending weight,
+     * breaking ties by id.
+     *
+     * @param ids     edge ids, of which only the given range is reordered
+     * @param from    first index of the range, inclusive
+     * @param to      last index of the range, exclusive
+     * @param weights edge weights indexed by edge id
+     */
+    static void sortRange(int[] ids, int from, int to, int[] weights) {
+        sortRange(ids, from, to, weights, new long[to - from]);
+    }
+
+    /**
+     * Sorts the edge ids in {@code ids[from..to)} in place like
+     * {@link #sortRange(int[], int, int, int[])}, using the given array for the keys.
+     *
+     * @param keys scratch array with room for at least {@code to - from} keys
+     */
+    static void sortRange(int[] ids, int from, int to, int[] weights, long[] keys) {
+        for (int i = from; i < to; i++) {
+            keys[i - from] = ((long) weights[ids[i]] << 32) | ids[i];
+        }
+        Arrays.sort(keys, 0, to - from);
+        for (int i = from; i < to; i++) {
+            ids[i] = (int) keys[i - from];
+        }
+    }
+}
@@ -0,0 +1,388 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Computes a sparse candidate graph that contains a minimum spanning tree of points
+ * in the plane, without materializing all V² pairwise distances and without solving
+ * the tree itself. The candidates come from a well-separated pair decomposition
+ * (WSPD) over a k-d tree: the tree nodes are paired up so that every pair of
+ * points is covered by exactly one node pair whose point sets lie in two disks of
+ * radius r more than {@link #SEPARATION}·r apart, and every such pair contributes only
+ * its closest bichromatic pair of points. Node pairs of two leaves that are too
+ * close contribute all their cross pairs, and the points of a leaf all pairs among
+ * them.
+ *
+ * <p>With a gap of more than 2r, two points of one disk are closer to each other
+ * than to any point of the other disk, so every left-out pair (p, q) is joined in
+ * the candidate graph by a path of pairs no longer than (p, q). Rounding distances to
+ * integer weights (multiplied by a scale) is monotone, so the candidate graph has a
+ * minimum spanning tree of the same cost as the complete graph of rounded distances.
+ * Points with equal coordinates are joined to the first of them by zero-weight
+ * edges and left out of the decomposition. The decomposition has O(n) pairs, and
+ * the closest pair of every node pair is found by a pruned search of both subtrees.
+ */
+public final class EuclideanMST {
+
+    /** Factor applied to distances before rounding them to integer weights, unless the input sets one. */
+    public static final double DEFAULT_SCALE = 1000;
+
+    /** Multiple of the disk radius that the gap between a well-separated pair of disks must exceed. */
+    static final double SEPARATION = 2;
+
+    private static final int LEAF_SIZE = 2;
+
+    private final int n;
+    private final double[] xs;
+    private final double[] ys;
+
+    // k-d tree over a permutation of the points; node k covers order[nodeLo[k] .. nodeHi[k])
+    private final int[] order;
+    private int[] nodeLo;
+    private int[] nodeHi;
+    private int[] left;
+    private int[] right;
+    private double[] minX;
+    private double[] maxX;
+    private double[] minY;
+    private double[] maxY;
+    private int nodeCount;
+
+    // Candidate edges collected so far
+    private int[] from;
+    private int[] to;
+    private int edgeCount;
+
+    // Closest pair found so far by the current bichromatic search
+    private double pairDist;
+    private int pairFrom;
+    private int pairTo;
+
+    /**
+     * Builds the k-d tree over the given points, which must have pairwise distinct coordinates.
+     */
+    private EuclideanMST(double[] xs, double[] ys, int[] points) {
+        this.n = points.length;
+        this.xs = xs;
+        this.ys = ys;
+        this.order = points;
+        int capacity = Math.max(1, 2 * (n / LEAF_SIZE + 1));
+        nodeLo = new int[capacity];
+        nodeHi = new int[capacity];
+        left = new int[capacity];
+        right = new int[capacity];
+        minX = new double[capacity];
+        maxX = new double[capacity];
+        minY = new double[capacity];
+        maxY = new double[capacity];
+        if (n > 0) {
+            build(0, n);
+        }
+        from = new int[Math.max(16, 4 * xs.length)];
+        to = new int[from.length];
+    }
+
+    /**
+     * Builds the Euclidean candidate graph of a graph given by node coordinates. A
+     * node name listed more than once stands for a single point.
+     *
+     * @param graph the input graph; every node needs an {@code [x, y]} entry in its coordinates
+     * @return the sparse candidate graph with scaled integer weights
+     * @throws IllegalArgumentException if a node has no or invalid coordinates, or a weight overflows
+     */
+    public static IndexedGraph fromGraphData(GraphData graph) {
+        List<String> nodes = new ArrayList<>(new LinkedHashSet<>(graph.getNodes()));
+        Map<String, double[]> coordinates = graph.getCoordinates();
+        double[] xs = new double[nodes.size()];
+        double[] ys = new double[nodes.size()];
+        for (int i = 0; i < nodes.size(); i++) {
+            double[] point = coordinates.get(nodes.get(i));
+            if (point == null || point.length != 2 || !Double.isFinite(point[0]) || !Double.isFinite(point[1])) {
+                throw new IllegalArgumentException("Graph " + graph.getId() + ": node " + nodes.get(i)
+                        + " has no valid [x, y] coordinates.");
+            }
+            xs[i] = point[0];
+            ys[i] = point[1];
+        }
+        double scale = graph.getScale() != null ? graph.getScale() : DEFAULT_SCALE;
+        return candidateGraph(graph.getId(), nodes.toArray(new String[0]), xs, ys, scale);
+    }
+
+    /**
+     * Builds the Euclidean candidate graph of a set of points.
+     *
+     * @param id    the graph identifier
+     * @param names the point names, pairwise distinct
+     * @param xs    the x coordinates
+     * @param ys    the y coordinates
+     * @param scale the factor applied to distances before rounding them to weights
+     * @return the sparse candidate graph with scaled integer weights
+     * @throws IllegalArgumentException if the scaled length of a candidate edge does not fit in an int
+     */
+    public static IndexedGraph candidateGraph(int id, String[] names, double[] xs, double[] ys, double scale) {
+        if (names.length != xs.length || xs.length != ys.length) {
+            throw new IllegalArgumentException("Names and coordinate arrays must have the same length.");
+        }
+        if (!(scale > 0)) {
+            throw new IllegalArgumentException("Scale must be positive, got " + scale);
+        }
+
+        // Keep the first of every set of points with equal coordinates, found through an open-addressing table
+        int[] slots = new int[Integer.highestOneBit(Math.max(1, 2 * xs.length - 1)) << 1];
+        int[] distinct = new int[xs.length];
+        int count = 0;
+        int[] dupFrom = new int[xs.length];
+        int[] dupTo = new int[xs.length];
+        int duplicates = 0;
+        for (int i = 0; i < xs.length; i++) {
+            // Adding zero turns -0.0 into 0.0, which compares equal to it
+            long hash = Double.doubleToLongBits(xs[i] + 0.0) * 0x9E3779B97F4A7C15L
+                    ^ Double.doubleToLongBits(ys[i] + 0.0) * 0xC2B2AE3D27D4EB4FL;
+            int slot = (int) (hash ^ hash >>> 32) & (slots.length - 1);
+            while (slots[slot] != 0 && (xs[slots[slot] - 1] != xs[i] || ys[slots[slot] - 1] != ys[i])) {
+                slot = (slot + 1) & (slots.length - 1);
+            }
+            if (slots[slot] == 0) {
+                slots[slot] = i + 1;
+                distinct[count++] = i;
+            } else {
+                dupFrom[duplicates] = slots[slot] - 1;
+                dupTo[duplicates++] = i;
+            }
+        }
+
+        EuclideanMST wspd = new EuclideanMST(xs, ys, Arrays.copyOf(distinct, count));
+        for (int d = 0; d < duplicates; d++) {
+            wspd.addEdge(dupFrom[d], dupTo[d]);
+        }
+        if (count > 0) {
+            wspd.decompose(0);
+        }
+
+        int m = wspd.edgeCount;
+        int[] weight = new int[m];
+        for (int e = 0; e < m; e++) {
+            double scaled = Math.rint(wspd.distance(wspd.from[e], wspd.to[e]) * scale);
+            if (scaled > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Graph " + id + ": distance " + scaled / scale
+                        + " does not fit in an int weight with scale " + scale + "; use a smaller scale.");
+            }
+            weight[e] = (int) scaled;
+        }
+        return new IndexedGraph(id, names.clone(), Arrays.copyOf(wspd.from, m), Arrays.copyOf(wspd.to, m), weight);
+    }
+
+    /**
+     * Emits the candidate pairs of all points below node k: those of every leaf among
+     * themselves and those of the well-separated pairs between the two subtrees of
+     * every inner node.
+     */
+    private void decompose(int k) {
+        if (left[k] < 0) {
+            for (int p = nodeLo[k]; p < nodeHi[k]; p++) {
+                for (int q = p + 1; q < nodeHi[k]; q++) {
+                    addEdge(order[p], order[q]);
+                }
+            }
+            return;
+        }
+        decompose(left[k]);
+        decompose(right[k]);
+        pairUp(left[k], right[k]);
+    }
+
+    /**
+     * Emits the candidate pairs between the points of two disjoint nodes, splitting the
+     * larger node until the two are well separated.
+     */
+    private void pairUp(int a, int b) {
+        if (wellSeparated(a, b)) {
+            pairDist = Double.POSITIVE_INFINITY;
+            closestPair(a, b);
+            addEdge(pairFrom, pairTo);
+            return;
+        }
+        if (left[a] < 0 && left[b] < 0) {
+            for (int p = nodeLo[a]; p < nodeHi[a]; p++) {
+                for (int q = nodeLo[b]; q < nodeHi[b]; q++) {
+                    addEdge(order[p], order[q]);
+                }
+            }
+            return;
+        }
+        if (left[a] < 0 || (left[b] >= 0 && radius(b) > radius(a))) {
+            int swap = a;
+            a = b;
+            b = swap;
+        }
+        pairUp(left[a], b);
+        pairUp(right[a], b);
+    }
+
+    /**
+     * Checks whether the points of nodes a and b lie in two disks of a common radius r,
+     * centered on their bounding boxes, whose gap is larger than {@link #SEPARATION}·r.
+     */
+    private boolean wellSeparated(int a, int b) {
+        double r = Math.max(radius(a), radius(b));
+        double dx = (minX[a] + maxX[a]) / 2 - (minX[b] + maxX[b]) / 2;
+        double dy = (minY[a] + maxY[a]) / 2 - (minY[b] + maxY[b]) / 2;
+        double gap = Math.sqrt(dx * dx + dy * dy) - 2 * r;
+        return gap > SEPARATION * r;
+    }
+
+    /**
+     * Radius of the disk around the center of node k's bounding box that contains the box.
+     */
+    private double radius(int k) {
+        double w = maxX[k] - minX[k];
+        double h = maxY[k] - minY[k];
+        return Math.sqrt(w * w + h * h) / 2;
+    }
+
+    /**
+     * Searches nodes a and b for a pair of points, one from each, closer than the
+     * closest pair found so far, visiting the nearer children first.
+     */
+    private void closestPair(int a, int b) {
+        if (boxGap(a, b) >= pairDist) return;
+
+        if (left[a] < 0 && left[b] < 0) {
+            for (int p = nodeLo[a]; p < nodeHi[a]; p++) {
+                for (int q = nodeLo[b]; q < nodeHi[b]; q++) {
+                    double dist = squaredDistance(order[p], order[q]);
+                    if (dist < pairDist) {
+                        pairDist = dist;
+                        pairFrom = order[p];
+                        pairTo = order[q];
+                    }
+                }
+            }
+            return;
+        }
+
+        // Split the node with more points, unless it is a leaf
+        if (left[a] < 0 || (left[b] >= 0 && nodeHi[b] - nodeLo[b] > nodeHi[a] - nodeLo[a])) {
+            int swap = a;
+            a = b;
+            b = swap;
+        }
+        int c = left[a];
+        int d = right[a];
+        if (boxGap(d, b) < boxGap(c, b)) {
+            c = right[a];
+            d = left[a];
+        }
+        closestPair(c, b);
+        closestPair(d, b);
+    }
+
+    private void addEdge(int i, int j) {
+        if (edgeCount == from.length) {
+            from = Arrays.copyOf(from, 2 * edgeCount);
+            to = Arrays.copyOf(to, 2 * edgeCount);
+        }
+        from[edgeCount] = i;
+        to[edgeCount++] = j;
+    }
+
+    /**
+     * Builds the subtree over {@code order[lo..hi)}, splitting at the median of the wider axis.
+     */
+    private int build(int lo, int hi) {
+        int k = nodeCount++;
+        if (k == nodeLo.length) {
+            growNodes();
+        }
+        nodeLo[k] = lo;
+        nodeHi[k] = hi;
+        minX[k] = Double.POSITIVE_INFINITY;
+        maxX[k] = Double.NEGATIVE_INFINITY;
+        minY[k] = Double.POSITIVE_INFINITY;
+        maxY[k] = Double.NEGATIVE_INFINITY;
+        for (int p = lo; p < hi; p++) {
+            int i = order[p];
+            minX[k] = Math.min(minX[k], xs[i]);
+            maxX[k] = Math.max(maxX[k], xs[i]);
+            minY[k] = Math.min(minY[k], ys[i]);
+            maxY[k] = Math.max(maxY[k], ys[i]);
+        }
+
+        if (hi - lo <= LEAF_SIZE) {
+            left[k] = -1;
+            right[k] = -1;
+            return k;
+        }
+        double[] axis = maxX[k] - minX[k] >= maxY[k] - minY[k] ? xs : ys;
+        int mid = (lo + hi) >>> 1;
+        select(axis, lo, hi - 1, mid);
+        int l = build(lo, mid);
+        int r = build(mid, hi);
+        left[k] = l;
+        right[k] = r;
+        return k;
+    }
+
+    /**
+     * Partially sorts {@code order[lo..hi]} so that position k holds the point with the
+     * k-th smallest coordinate and no larger one precedes it (quickselect).
+     */
+    private void select(double[] axis, int lo, int hi, int k) {
+        while (lo < hi) {
+            double pivot = axis[order[(lo + hi) >>> 1]];
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (axis[order[i]] < pivot) i++;
+                while (axis[order[j]] > pivot) j--;
+                if (i <= j) {
+                    int tmp = order[i];
+                    order[i++] = order[j];
+                    order[j--] = tmp;
+                }
+            }
+            if (k <= j) {
+                hi = j;
+            } else if (k >= i) {
+                lo = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void growNodes() {
+        int capacity = nodeLo.length * 2;
+        nodeLo = Arrays.copyOf(nodeLo, capacity);
+        nodeHi = Arrays.copyOf(nodeHi, capacity);
+        left = Arrays.copyOf(left, capacity);
+        right = Arrays.copyOf(right, capacity);
+        minX = Arrays.copyOf(minX, capacity);
+        maxX = Arrays.copyOf(maxX, capacity);
+        minY = Arrays.copyOf(minY, capacity);
+        maxY = Arrays.copyOf(maxY, capacity);
+    }
+
+    /**
+     * Squared distance between the bounding boxes of nodes a and b.
+     */
+    private double boxGap(int a, int b) {
+        double dx = Math.max(0, Math.max(minX[b] - maxX[a], minX[a] - maxX[b]));
+        double dy = Math.max(0, Math.max(minY[b] - maxY[a], minY[a] - maxY[b]));
+        return dx * dx + dy * dy;
+    }
+
+    private double squaredDistance(int i, int j) {
+        double dx = xs[i] - xs[j];
+        double dy = ys[i] - ys[j];
+        return dx * dx + dy * dy;
+    }
+
+    private double distance(int i, int j) {
+        return Math.sqrt(squaredDistance(i, j));
+    }
+}
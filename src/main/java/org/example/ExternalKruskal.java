@@ -0,0 +1,460 @@
+package org.example;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Semi-external Kruskal for edge lists that do not fit in memory, as long as one
+ * int per vertex does. Edges are read in chunks, each chunk is sorted by weight and
+ * written to a temporary run file, and the runs are then merged as a stream into an
+ * array-based {@link UnionFind}. Accepted edges are handed to a sink as soon as
+ * they are found, so the forest is never held in memory either, and the merge stops
+ * reading as soon as the forest has become a tree.
+ *
+ * <p>Edges are exchanged in edge files: little-endian 32-bit {@code from, to, weight}
+ * triples without a header, with vertices given as ids {@code 0..V-1}. Run files use
+ * the same format. Edges of equal weight are accepted in input order, so the result
+ * matches {@link Kruskal} on the same edges.
+ */
+public final class ExternalKruskal {
+
+    /** Default number of edges sorted in memory per run (4M edges, about 80 MB of buffers). */
+    public static final int DEFAULT_RUN_EDGES = 1 << 22;
+
+    /** Largest number of runs merged at once; more runs are first merged in extra passes. */
+    static final int MAX_FAN_IN = 256;
+
+    private static final int EDGE_BYTES = 12;
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private final int runEdges;
+    private final Path tempDir;
+    private final int maxFanIn;
+
+    /**
+     * Source of edges in chunks.
+     */
+    public interface EdgeReader extends Closeable {
+        /**
+         * Reads up to {@code from.length - offset} edges into the arrays, starting at {@code offset}.
+         *
+         * @return the number of edges read, 0 at the end of the input
+         * @throws IOException if the input cannot be read
+         */
+        int read(int[] from, int[] to, int[] weight, int offset) throws IOException;
+    }
+
+    /**
+     * Receives the edges of the forest as they are accepted.
+     */
+    public interface EdgeSink {
+        void accept(int from, int to, int weight) throws IOException;
+    }
+
+    /**
+     * Statistics of one run, with the totals of the forest that was emitted.
+     */
+    public static class Summary {
+        public long edges = 0;    // Number of edges read from the input.
+        public int runs = 0;    // Number of sorted runs written to temporary files; 0 if the input fit in one chunk.
+        public int mergePasses = 0;    // Extra passes needed to bring the runs down to the merge fan-in.
+        public long scanned = 0;    // Edges taken from the merge before the forest was complete.
+        public int vertices = 0;    // Number of vertices the forest spans.
+        public long treeEdges = 0;    // Number of forest edges emitted.
+        public long totalCost = 0;    // Total weight of the forest.
+        public int components = 0;    // Number of connected components.
+        public double executionTimeMs = 0;    // Wall-clock time of the whole run in milliseconds.
+    }
+
+    /**
+     * Creates an instance sorting {@link #DEFAULT_RUN_EDGES} edges per run in the
+     * default temporary directory.
+     */
+    public ExternalKruskal() {
+        this(DEFAULT_RUN_EDGES, Path.of(System.getProperty("java.io.tmpdir")));
+    }
+
+    /**
+     * Creates an instance with the given run size and temporary directory.
+     *
+     * @param runEdges the number of edges sorted in memory per run
+     * @param tempDir  the directory for the run files, which are deleted afterwards
+     */
+    public ExternalKruskal(int runEdges, Path tempDir) {
+        this(runEdges, tempDir, MAX_FAN_IN);
+    }
+
+    /**
+     * Creates an instance that merges at most {@code maxFanIn} runs at once, so that
+     * tests can exercise the extra merge passes without thousands of runs.
+     *
+     * @param runEdges the number of edges sorted in memory per run
+     * @param tempDir  the directory for the run files, which are deleted afterwards
+     * @param maxFanIn the largest number of runs merged at once, at least 2
+     */
+    ExternalKruskal(int runEdges, Path tempDir, int maxFanIn) {
+        if (runEdges < 1) {
+            throw new IllegalArgumentException("Run size must be positive, got " + runEdges);
+        }
+        if (maxFanIn < 2) {
+            throw new IllegalArgumentException("Merge fan-in must be at least 2, got " + maxFanIn);
+        }
+        this.runEdges = runEdges;
+        this.tempDir = tempDir;
+        this.maxFanIn = maxFanIn;
+    }
+
+    /**
+     * Computes the minimum spanning forest of the edges of an edge file.
+     *
+     * @param edgeFile    the input edge file
+     * @param vertexCount the number of vertices, or -1 to use the largest id in the input plus one
+     * @param sink        receives the forest edges in ascending weight order
+     * @return the run statistics
+     * @throws IOException if a file cannot be read or written
+     */
+    public Summary run(Path edgeFile, int vertexCount, EdgeSink sink) throws IOException {
+        try (EdgeFileReader reader = new EdgeFileReader(edgeFile)) {
+            return run(reader, vertexCount, sink);
+        }
+    }
+
+    /**
+     * Computes the minimum spanning forest of the edges delivered by a reader.
+     *
+     * @param reader      the edge source, which is read to the end but not closed
+     * @param vertexCount the number of vertices, or -1 to use the largest id in the input plus one
+     * @param sink        receives the forest edges in ascending weight order
+     * @return the run statistics
+     * @throws IOException if the input cannot be read or a run file cannot be written
+     * @throws IllegalArgumentException if an edge refers to a negative or too large vertex id
+     */
+    public Summary run(EdgeReader reader, int vertexCount, EdgeSink sink) throws IOException {
+        Summary summary = new Summary();
+        long startTime = System.nanoTime();
+        List<Path> runs = new ArrayList<>();
+        try {
+            // Sort the input chunk by chunk; a single short chunk is processed without files
+            int[] from = new int[runEdges];
+            int[] to = new int[runEdges];
+            int[] weight = new int[runEdges];
+            long[] keys = new long[runEdges];
+            int maxVertex = -1;
+            int count;
+            while ((count = fill(reader, from, to, weight)) > 0) {
+                summary.edges += count;
+                for (int i = 0; i < count; i++) {
+                    maxVertex = Math.max(maxVertex, checkVertex(from[i], vertexCount));
+                    maxVertex = Math.max(maxVertex, checkVertex(to[i], vertexCount));
+                    keys[i] = ((long) weight[i] << 32) | i;
+                }
+                Arrays.sort(keys, 0, count);
+
+                if (runs.isEmpty() && count < runEdges) {
+                    UnionFind uf = new UnionFind(vertices(vertexCount, maxVertex));
+                    for (int k = 0; k < count && uf.components() > 1; k++) {
+                        int i = (int) keys[k];
+                        summary.scanned++;
+                        accept(uf, from[i], to[i], weight[i], sink, summary);
+                    }
+                    finish(summary, uf, startTime);
+                    return summary;
+                }
+                runs.add(writeRun(keys, count, from, to, weight));
+            }
+            summary.runs = runs.size();
+
+            // Reduce the runs to a fan-in that can be merged in one pass
+            while (runs.size() > maxFanIn) {
+                runs = mergePass(runs);
+                summary.mergePasses++;
+            }
+
+            // Stream the merged edges into the Union-Find until the forest is a tree
+            UnionFind uf = new UnionFind(vertices(vertexCount, maxVertex));
+            try (Merge merge = new Merge(runs)) {
+                while (uf.components() > 1 && merge.next()) {
+                    summary.scanned++;
+                    accept(uf, merge.from, merge.to, merge.weight, sink, summary);
+                }
+            }
+            finish(summary, uf, startTime);
+            return summary;
+        } finally {
+            for (Path run : runs) {
+                Files.deleteIfExists(run);
+            }
+        }
+    }
+
+    private static void accept(UnionFind uf, int from, int to, int weight, EdgeSink sink, Summary summary)
+            throws IOException {
+        if (uf.union(from, to)) {
+            sink.accept(from, to, weight);
+            summary.treeEdges++;
+            summary.totalCost += weight;
+        }
+    }
+
+    private static void finish(Summary summary, UnionFind uf, long startTime) {
+        summary.vertices = uf.size();
+        summary.components = uf.components();
+        summary.executionTimeMs = (System.nanoTime() - startTime) / 1_000_000.0;
+    }
+
+    private static int checkVertex(int v, int vertexCount) {
+        if (v < 0 || (vertexCount >= 0 && v >= vertexCount)) {
+            throw new IllegalArgumentException("Vertex id " + v + " is out of range.");
+        }
+        return v;
+    }
+
+    private static int vertices(int vertexCount, int maxVertex) {
+        return vertexCount >= 0 ? vertexCount : maxVertex + 1;
+    }
+
+    /**
+     * Reads until the arrays are full or the input ends.
+     */
+    private static int fill(EdgeReader reader, int[] from, int[] to, int[] weight) throws IOException {
+        int count = 0;
+        while (count < from.length) {
+            int read = reader.read(from, to, weight, count);
+            if (read <= 0) break;
+            count += read;
+        }
+        return count;
+    }
+
+    /**
+     * Writes a sorted chunk to a new run file.
+     */
+    private Path writeRun(long[] keys, int count, int[] from, int[] to, int[] weight) throws IOException {
+        Path run = Files.createTempFile(tempDir, "mst-run-", ".edges");
+        try (EdgeFileWriter writer = new EdgeFileWriter(run)) {
+            for (int k = 0; k < count; k++) {
+                int i = (int) keys[k];
+                writer.accept(from[i], to[i], weight[i]);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(run);
+            throw e;
+        }
+        return run;
+    }
+
+    /**
+     * Merges groups of {@code maxFanIn} runs into longer runs, deleting the inputs.
+     */
+    private List<Path> mergePass(List<Path> runs) throws IOException {
+        List<Path> merged = new ArrayList<>();
+        try {
+            for (int start = 0; start < runs.size(); start += maxFanIn) {
+                List<Path> group = runs.subList(start, Math.min(runs.size(), start + maxFanIn));
+                Path run = Files.createTempFile(tempDir, "mst-run-", ".edges");
+                merged.add(run);
+                try (Merge merge = new Merge(group); EdgeFileWriter writer = new EdgeFileWriter(run)) {
+                    while (merge.next()) {
+                        writer.accept(merge.from, merge.to, merge.weight);
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            for (Path run : merged) {
+                Files.deleteIfExists(run);
+            }
+            throw e;
+        }
+        for (Path run : runs) {
+            Files.deleteIfExists(run);
+        }
+        return merged;
+    }
+
+    /**
+     * Writes all edges of an indexed graph to an edge file, e.g. to prepare input for
+     * {@link #run(Path, int, EdgeSink)}.
+     *
+     * @param graph the graph
+     * @param path  the edge file to write
+     * @throws IOException if the file cannot be written
+     */
+    public static void writeEdgeFile(IndexedGraph graph, Path path) throws IOException {
+        try (EdgeFileWriter writer = new EdgeFileWriter(path)) {
+            for (int e = 0; e < graph.edgeCount(); e++) {
+                writer.accept(graph.edgeFrom(e), graph.edgeTo(e), graph.edgeWeight(e));
+            }
+        }
+    }
+
+    /**
+     * K-way merge of sorted runs. The heap holds one packed {@code (weight, run)} key
+     * per run, so equal weights are taken in run order, and runs hold consecutive
+     * chunks of the input, which keeps the merge stable.
+     */
+    private static final class Merge implements Closeable {
+        private final EdgeFileReader[] runs;
+        private final Prim.LongMinHeap heap;
+        int from;
+        int to;
+        int weight;
+
+        Merge(List<Path> paths) throws IOException {
+            runs = new EdgeFileReader[paths.size()];
+            heap = new Prim.LongMinHeap(paths.size());
+            try {
+                for (int r = 0; r < runs.length; r++) {
+                    runs[r] = new EdgeFileReader(paths.get(r));
+                    offer(r);
+                }
+            } catch (IOException e) {
+                close();
+                throw e;
+            }
+        }
+
+        private void offer(int r) throws IOException {
+            if (runs[r].next()) {
+                heap.add(((long) runs[r].weight << 32) | r);
+            }
+        }
+
+        /**
+         * Advances to the next edge in weight order.
+         *
+         * @return false when all runs are exhausted
+         */
+        boolean next() throws IOException {
+            if (heap.isEmpty()) return false;
+            int r = (int) heap.poll();
+            from = runs[r].from;
+            to = runs[r].to;
+            weight = runs[r].weight;
+            offer(r);
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            for (EdgeFileReader run : runs) {
+                if (run != null) run.close();
+            }
+        }
+    }
+
+    /**
+     * Buffered reader of an edge file, either edge by edge or in chunks.
+     */
+    public static final class EdgeFileReader implements EdgeReader {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        int from;
+        int to;
+        int weight;
+
+        /**
+         * Opens an edge file.
+         *
+         * @param path the edge file
+         * @throws IOException if the file cannot be opened or its size is not a multiple of an edge
+         */
+        public EdgeFileReader(Path path) throws IOException {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+            if (channel.size() % EDGE_BYTES != 0) {
+                channel.close();
+                throw new IOException(path + " is not an edge file: its size is not a multiple of " + EDGE_BYTES);
+            }
+            buffer.flip();
+        }
+
+        /**
+         * Reads the next edge into the package-private fields.
+         *
+         * @return false at the end of the file
+         */
+        boolean next() throws IOException {
+            if (buffer.remaining() < EDGE_BYTES && !refill()) return false;
+            from = buffer.getInt();
+            to = buffer.getInt();
+            weight = buffer.getInt();
+            return true;
+        }
+
+        @Override
+        public int read(int[] from, int[] to, int[] weight, int offset) throws IOException {
+            int i = offset;
+            while (i < from.length && next()) {
+                from[i] = this.from;
+                to[i] = this.to;
+                weight[i] = this.weight;
+                i++;
+            }
+            return i - offset;
+        }
+
+        private boolean refill() throws IOException {
+            buffer.compact();
+            while (buffer.position() < EDGE_BYTES) {
+                if (channel.read(buffer) < 0) break;
+            }
+            buffer.flip();
+            return buffer.remaining() >= EDGE_BYTES;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * Buffered writer of an edge file; usable as the sink of a run.
+     */
+    public static final class EdgeFileWriter implements EdgeSink, Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+        /**
+         * Creates or replaces an edge file.
+         *
+         * @param path the edge file
+         * @throws IOException if the file cannot be created
+         */
+        public EdgeFileWriter(Path path) throws IOException {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+        }
+
+        @Override
+        public void accept(int from, int to, int weight) throws IOException {
+            if (buffer.remaining() < EDGE_BYTES) flush();
+            buffer.putInt(from).putInt(to).putInt(weight);
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+}
@@ -1,15 +1,26 @@
 package org.example;
 
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Represents a data structure for a graph containing vertices and edges.
+ * Instead of edges, the vertices may be given {@code [x, y]} coordinates, with an
+ * optional scale applied to distances before they become integer weights.
+ * Graphs with edges may list named weight scenarios: alternative weight vectors,
+ * aligned with the edge list, that are evaluated on the same topology.
  * Includes methods to validate the correctness of the graph data.
  */
 public class GraphData {
     private int id;
     private List<String> nodes;
     private List<Edge> edges;
+    private Map<String, double[]> coordinates;
+    private Double scale;
+    private Map<String, int[]> scenarios;
 
     public List<Edge> getEdges() {
         return edges;
@@ -35,17 +46,53 @@ public class GraphData {
         this.nodes = nodes;
     }
 
+    public Map<String, double[]> getCoordinates() {
+        return coordinates;
+    }
+
+    public void setCoordinates(Map<String, double[]> coordinates) {
+        this.coordinates = coordinates;
+    }
+
+    public Double getScale() {
+        return scale;
+    }
+
+    public void setScale(Double scale) {
+        this.scale = scale;
+    }
+
+    public Map<String, int[]> getScenarios() {
+        return scenarios;
+    }
+
+    public void setScenarios(Map<String, int[]> scenarios) {
+        this.scenarios = scenarios;
+    }
+
+    /**
+     * Checks whether the graph is given by vertex coordinates instead of edges. Such a
+     * graph stands for the complete graph of Euclidean distances between its vertices.
+     *
+     * @return true if coordinates are present and no edges are listed
+     */
+    public boolean isEuclidean() {
+        return coordinates != null && (edges == null || edges.isEmpty());
+    }
+
     /**
      * Validates that all edges connect existing vertices in the graph.
+     * The vertex names are hashed once, so the check is linear in the graph size.
      *
      * @return true if all edges are valid; false if any edge contains a non-existent vertex.
      */
     public boolean validateEdges() {
         boolean isValid = true;
+        Set<String> nodeSet = new HashSet<>(nodes);
 
-        // Check each edge to ensure both vertices exist in the node list
+        // Check each edge to ensure both vertices exist in the node set
         for (Edge e : edges) {
-            if (!nodes.contains(e.getFrom()) || !nodes.contains(e.getTo())) {
+            if (!nodeSet.contains(e.getFrom()) || !nodeSet.contains(e.getTo())) {
                 System.out.println("Error: edge " + e.getFrom() + " - " + e.getTo() + " contains a non-existent vertex!");
                 isValid = false;
             }
@@ -54,22 +101,30 @@ public class GraphData {
     }
 
     /**
-     * Checks if there are any duplicate edges in the graph.
+     * Checks if there are any duplicate edges in the graph, i.e. two edges
+     * connecting the same vertices in either direction. Runs in linear time.
      *
      * @return true if duplicate edges are found; false otherwise.
      */
     public boolean hasDuplicateEdges() {
+        Map<String, Integer> ids = new HashMap<>(nodes.size() * 2);
+        for (String node : nodes) {
+            ids.putIfAbsent(node, ids.size());
+        }
 
-        // Compare each edge with all subsequent edges to detect duplicates
-        for (int i = 0; i < edges.size(); i++) {
-            for (int j = i + 1; j < edges.size(); j++) {
-                if (Edge.connects(edges.get(i), edges.get(j).getFrom(), edges.get(j).getTo())) {
-                    System.out.println("Warning: duplicate edge " +
-                            edges.get(i).getFrom() + " - " + edges.get(i).getTo());
-                    return true;
-                }
+        // Remember the normalized endpoint pair of every edge seen so far
+        Set<Long> seen = new HashSet<>(edges.size() * 2);
+        for (Edge e : edges) {
+            Integer from = ids.get(e.getFrom());
+            Integer to = ids.get(e.getTo());
+            if (from == null || to == null) {
+                continue;
+            }
+            if (!seen.add(GraphValidator.pairKey(from, to))) {
+                System.out.println("Warning: duplicate edge " + e.getFrom() + " - " + e.getTo());
+                return true;
             }
         }
         return false;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,440 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic generator of synthetic weighted undirected graphs for benchmarks
+ * and scale tests. The same seed and sequence of calls always produce the same
+ * graphs. Graphs are numbered 1, 2, 3, ... in the order they are generated.
+ * Self-loops are never generated; parallel edges may occur in the random models.
+ */
+public final class GraphGenerator {
+
+    /**
+     * Random graph models supported by {@link #generate(Model, int, double, WeightDistribution, int)}.
+     */
+    public enum Model {
+        /** Uniform random edges over a random spanning tree; always connected. */
+        ERDOS_RENYI,
+        /** Road-like planar grid with occasional diagonal shortcuts; always connected. */
+        GRID,
+        /** Random points in the unit square joined when closer than a radius; may be disconnected. */
+        GEOMETRIC,
+        /** Every pair of vertices joined by an edge. */
+        COMPLETE,
+        /** Preferential attachment (Barabási–Albert) with a power-law degree distribution; always connected. */
+        POWER_LAW
+    }
+
+    /**
+     * Distribution of the generated edge weights.
+     */
+    public enum WeightDistribution {
+        /** Uniform in {@code [1, maxWeight]}. */
+        UNIFORM,
+        /** Normal around {@code maxWeight / 2}, clamped to {@code [1, maxWeight]}. */
+        NORMAL,
+        /** Exponential with mean {@code maxWeight / 10}, clamped to {@code [1, maxWeight]}. */
+        EXPONENTIAL,
+        /** Only ten distinct values, which produces many equal weights. */
+        FEW_DISTINCT
+    }
+
+    private final SplittableRandom random;
+    private int nextId = 1;
+
+    /**
+     * Creates a generator with the given seed.
+     *
+     * @param seed the random seed
+     */
+    public GraphGenerator(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Generates a graph of the given model.
+     *
+     * @param model         the random graph model
+     * @param vertices      the number of vertices (rounded down to a square for {@link Model#GRID})
+     * @param averageDegree the target average vertex degree; ignored by {@link Model#GRID} and {@link Model#COMPLETE}
+     * @param distribution  the weight distribution; {@link Model#GEOMETRIC} and {@link Model#GRID}
+     *                      derive weights from distances instead
+     * @param maxWeight     the largest possible weight
+     * @return the generated graph
+     */
+    public IndexedGraph generate(Model model, int vertices, double averageDegree,
+                                 WeightDistribution distribution, int maxWeight) {
+        switch (model) {
+            case GRID:
+                int side = Math.max(1, (int) Math.sqrt(vertices));
+                return gridGraph(side, side, maxWeight);
+            case GEOMETRIC:
+                return geometricGraph(vertices, averageDegree, maxWeight);
+            case COMPLETE:
+                return completeGraph(vertices, distribution, maxWeight);
+            case POWER_LAW:
+                return powerLawGraph(vertices, Math.max(1, (int) Math.round(averageDegree / 2)), distribution, maxWeight);
+            default:
+                long edges = Math.max(vertices - 1L, Math.round(vertices * averageDegree / 2));
+                return randomGraph(vertices, edges, distribution, maxWeight);
+        }
+    }
+
+    /**
+     * Generates a connected random graph with a given edge density.
+     *
+     * @param vertices     the number of vertices
+     * @param density      the fraction of all {@code V(V-1)/2} vertex pairs to connect
+     * @param distribution the weight distribution
+     * @param maxWeight    the largest possible weight
+     * @return the generated graph
+     */
+    public IndexedGraph randomGraphWithDensity(int vertices, double density,
+                                               WeightDistribution distribution, int maxWeight) {
+        long pairs = (long) vertices * (vertices - 1) / 2;
+        long edges = Math.max(vertices - 1L, Math.round(pairs * density));
+        return randomGraph(vertices, edges, distribution, maxWeight);
+    }
+
+    /**
+     * Generates a connected random graph with a given number of edges
+     * (an Erdős–Rényi G(n, m) graph over a random spanning tree).
+     *
+     * @param vertices     the number of vertices
+     * @param edges        the number of edges, at least {@code vertices - 1}
+     * @param distribution the weight distribution
+     * @param maxWeight    the largest possible weight
+     * @return the generated graph
+     */
+    public IndexedGraph randomGraph(int vertices, long edges, WeightDistribution distribution, int maxWeight) {
+        if (vertices < 1 || edges < vertices - 1L || edges > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Cannot generate " + edges + " edges over " + vertices + " vertices.");
+        }
+        if (vertices == 1 && edges > 0) {
+            throw new IllegalArgumentException("A single vertex cannot have edges without self-loops.");
+        }
+        int m = (int) edges;
+        int[] from = new int[m];
+        int[] to = new int[m];
+        int[] weight = new int[m];
+
+        // Random spanning tree: attach every vertex to a random earlier vertex of a random permutation
+        int[] order = permutation(vertices);
+        for (int i = 1; i < vertices; i++) {
+            from[i - 1] = order[random.nextInt(i)];
+            to[i - 1] = order[i];
+        }
+
+        // Remaining edges between random distinct vertices
+        for (int e = vertices - 1; e < m; e++) {
+            int u = random.nextInt(vertices);
+            int v = random.nextInt(vertices - 1);
+            from[e] = u;
+            to[e] = v >= u ? v + 1 : v;
+        }
+
+        fillWeights(weight, distribution, maxWeight);
+        return new IndexedGraph(nextId++, vertexNames(vertices), from, to, weight);
+    }
+
+    /**
+     * Generates a road-like planar grid: every vertex is joined to its right and
+     * lower neighbor, and one in ten cells also gets a diagonal. Weights are the
+     * segment lengths scaled to {@code maxWeight / 10} per unit and perturbed by
+     * up to 50% to model varying construction costs.
+     *
+     * @param rows      the number of grid rows
+     * @param cols      the number of grid columns
+     * @param maxWeight the largest possible weight
+     * @return the generated graph
+     */
+    public IndexedGraph gridGraph(int rows, int cols, int maxWeight) {
+        long capacity = 2L * rows * cols + (long) rows * cols / 5 + 16;
+        EdgeBuffer edges = new EdgeBuffer(checkEdgeCount(capacity));
+        double unit = Math.max(1, maxWeight / 10.0);
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                int v = r * cols + c;
+                if (c + 1 < cols) edges.add(v, v + 1, roadWeight(unit, maxWeight));
+                if (r + 1 < rows) edges.add(v, v + cols, roadWeight(unit, maxWeight));
+                if (c + 1 < cols && r + 1 < rows && random.nextInt(10) == 0) {
+                    edges.add(v, v + cols + 1, roadWeight(unit * Math.sqrt(2), maxWeight));
+                }
+            }
+        }
+        return edges.toGraph(nextId++, vertexNames(rows * cols));
+    }
+
+    private int roadWeight(double length, int maxWeight) {
+        double w = length * (1.0 + random.nextDouble() * 0.5);
+        return (int) Math.max(1, Math.min(maxWeight, Math.round(w)));
+    }
+
+    /**
+     * Generates a random geometric graph: vertices are uniform random points in the
+     * unit square and two vertices are joined when their distance is below the
+     * radius that gives the requested expected degree. Weights are the distances
+     * scaled so that the diagonal of the square maps to {@code maxWeight}.
+     * Points are bucketed into cells of the radius' size, so only neighboring
+     * cells are compared. The graph may be disconnected for small degrees.
+     *
+     * @param vertices      the number of vertices
+     * @param averageDegree the expected vertex degree
+     * @param maxWeight     the largest possible weight
+     * @return the generated graph
+     */
+    public IndexedGraph geometricGraph(int vertices, double averageDegree, int maxWeight) {
+        double radius = Math.min(Math.sqrt(2), Math.sqrt(averageDegree / (Math.PI * Math.max(1, vertices))));
+        double[] x = new double[vertices];
+        double[] y = new double[vertices];
+        for (int v = 0; v < vertices; v++) {
+            x[v] = random.nextDouble();
+            y[v] = random.nextDouble();
+        }
+
+        // Bucket the points into a grid of cells, stored as a CSR-style index
+        int cells = Math.max(1, Math.min((int) (1 / radius), 2 * (int) Math.sqrt(vertices) + 1));
+        int[] cellStart = new int[cells * cells + 1];
+        int[] cellOf = new int[vertices];
+        for (int v = 0; v < vertices; v++) {
+            cellOf[v] = cell(x[v], cells) * cells + cell(y[v], cells);
+            cellStart[cellOf[v] + 1]++;
+        }
+        for (int c = 0; c < cells * cells; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+        int[] members = new int[vertices];
+        int[] fill = Arrays.copyOf(cellStart, cells * cells);
+        for (int v = 0; v < vertices; v++) {
+            members[fill[cellOf[v]]++] = v;
+        }
+
+        // Compare each point with the points of its own and neighboring cells
+        EdgeBuffer edges = new EdgeBuffer(checkEdgeCount((long) (vertices * averageDegree / 2 * 1.2) + 16));
+        double scale = maxWeight / Math.sqrt(2);
+        for (int v = 0; v < vertices; v++) {
+            int cx = cellOf[v] / cells;
+            int cy = cellOf[v] % cells;
+            for (int nx = Math.max(0, cx - 1); nx <= Math.min(cells - 1, cx + 1); nx++) {
+                for (int ny = Math.max(0, cy - 1); ny <= Math.min(cells - 1, cy + 1); ny++) {
+                    int c = nx * cells + ny;
+                    for (int i = cellStart[c]; i < cellStart[c + 1]; i++) {
+                        int w = members[i];
+                        if (w <= v) continue;
+                        double d = Math.hypot(x[v] - x[w], y[v] - y[w]);
+                        if (d < radius) {
+                            edges.add(v, w, (int) Math.max(1, Math.min(maxWeight, Math.round(d * scale))));
+                        }
+                    }
+                }
+            }
+        }
+        return edges.toGraph(nextId++, vertexNames(vertices));
+    }
+
+    private static int cell(double coordinate, int cells) {
+        return Math.min(cells - 1, (int) (coordinate * cells));
+    }
+
+    /**
+     * Generates the complete graph on the given number of vertices.
+     *
+     * @param vertices     the number of vertices
+     * @param distribution the weight distribution
+     * @param maxWeight    the largest possible weight
+     * @return the generated graph
+     */
+    public IndexedGraph completeGraph(int vertices, WeightDistribution distribution, int maxWeight) {
+        int m = checkEdgeCount((long) vertices * (vertices - 1) / 2);
+        int[] from = new int[m];
+        int[] to = new int[m];
+        int[] weight = new int[m];
+        int e = 0;
+        for (int u = 0; u < vertices; u++) {
+            for (int v = u + 1; v < vertices; v++) {
+                from[e] = u;
+                to[e] = v;
+                e++;
+            }
+        }
+        fillWeights(weight, distribution, maxWeight);
+        return new IndexedGraph(nextId++, vertexNames(vertices), from, to, weight);
+    }
+
+    /**
+     * Generates a Barabási–Albert preferential attachment graph: starting from a
+     * small clique, each new vertex connects to {@code edgesPerVertex} existing
+     * vertices chosen with probability proportional to their degree. Targets are
+     * drawn independently, so a vertex may occasionally receive parallel edges.
+     *
+     * @param vertices       the number of vertices
+     * @param edgesPerVertex the number of edges added with every new vertex
+     * @param distribution   the weight distribution
+     * @param maxWeight      the largest possible weight
+     * @return the generated graph
+     */
+    public IndexedGraph powerLawGraph(int vertices, int edgesPerVertex,
+                                      WeightDistribution distribution, int maxWeight) {
+        int seed = Math.min(vertices, edgesPerVertex + 1);
+        long seedEdges = (long) seed * (seed - 1) / 2;
+        int m = checkEdgeCount(seedEdges + (long) (vertices - seed) * edgesPerVertex);
+        int[] from = new int[m];
+        int[] to = new int[m];
+        int[] weight = new int[m];
+
+        // Every edge endpoint is recorded once, so a uniform pick from this list
+        // selects a vertex with probability proportional to its degree
+        int[] endpoints = new int[2 * m];
+        int e = 0;
+        for (int u = 0; u < seed; u++) {
+            for (int v = u + 1; v < seed; v++) {
+                from[e] = u;
+                to[e] = v;
+                endpoints[2 * e] = u;
+                endpoints[2 * e + 1] = v;
+                e++;
+            }
+        }
+        for (int v = seed; v < vertices; v++) {
+            int existing = 2 * e;
+            for (int k = 0; k < edgesPerVertex; k++) {
+                int u = existing == 0 ? random.nextInt(v) : endpoints[random.nextInt(existing)];
+                from[e] = u;
+                to[e] = v;
+                endpoints[2 * e] = u;
+                endpoints[2 * e + 1] = v;
+                e++;
+            }
+        }
+        fillWeights(weight, distribution, maxWeight);
+        return new IndexedGraph(nextId++, vertexNames(vertices), from, to, weight);
+    }
+
+    private static int checkEdgeCount(long edges) {
+        if (edges > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Graph would have " + edges + " edges, more than an array can hold.");
+        }
+        return (int) edges;
+    }
+
+    /**
+     * Converts a generated graph to the JSON-facing {@link GraphData} shape.
+     *
+     * @param id    the graph id to assign
+     * @param graph the graph to convert
+     * @return the graph as GraphData
+     */
+    public static GraphData toGraphData(int id, IndexedGraph graph) {
+        List<String> nodes = new ArrayList<>(graph.vertexCount());
+        for (int v = 0; v < graph.vertexCount(); v++) {
+            nodes.add(graph.name(v));
+        }
+        List<Edge> edges = new ArrayList<>(graph.edgeCount());
+        for (int e = 0; e < graph.edgeCount(); e++) {
+            edges.add(graph.toEdge(e));
+        }
+
+        GraphData data = new GraphData();
+        data.setId(id);
+        data.setNodes(nodes);
+        data.setEdges(edges);
+        return data;
+    }
+
+    /**
+     * Fills the weight array according to the given distribution.
+     */
+    void fillWeights(int[] weight, WeightDistribution distribution, int maxWeight) {
+        if (maxWeight < 1) {
+            throw new IllegalArgumentException("Maximum weight must be positive, got " + maxWeight);
+        }
+        for (int e = 0; e < weight.length; e++) {
+            double w;
+            switch (distribution) {
+                case NORMAL:
+                    w = maxWeight / 2.0 + nextGaussian() * maxWeight / 6.0;
+                    break;
+                case EXPONENTIAL:
+                    w = -Math.log(1.0 - random.nextDouble()) * maxWeight / 10.0;
+                    break;
+                case FEW_DISTINCT:
+                    w = 1 + random.nextInt(10) * Math.max(1, maxWeight / 10);
+                    break;
+                default:
+                    w = 1 + random.nextInt(maxWeight);
+            }
+            weight[e] = (int) Math.max(1, Math.min(maxWeight, Math.round(w)));
+        }
+    }
+
+    /**
+     * Returns a random permutation of {@code 0..n-1} (Fisher–Yates shuffle).
+     */
+    int[] permutation(int n) {
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
+        return order;
+    }
+
+    /**
+     * Standard normal sample using the Box–Muller transform.
+     */
+    double nextGaussian() {
+        double u = 1.0 - random.nextDouble();
+        double v = random.nextDouble();
+        return Math.sqrt(-2.0 * Math.log(u)) * Math.cos(2.0 * Math.PI * v);
+    }
+
+    /**
+     * Growable primitive edge list used by the models whose edge count is only
+     * known approximately in advance.
+     */
+    private static final class EdgeBuffer {
+        private int[] from;
+        private int[] to;
+        private int[] weight;
+        private int size;
+
+        EdgeBuffer(int capacity) {
+            from = new int[Math.max(16, capacity)];
+            to = new int[from.length];
+            weight = new int[from.length];
+        }
+
+        void add(int u, int v, int w) {
+            if (size == from.length) {
+                int capacity = checkEdgeCount(from.length * 2L);
+                from = Arrays.copyOf(from, capacity);
+                to = Arrays.copyOf(to, capacity);
+                weight = Arrays.copyOf(weight, capacity);
+            }
+            from[size] = u;
+            to[size] = v;
+            weight[size] = w;
+            size++;
+        }
+
+        IndexedGraph toGraph(int id, String[] names) {
+            return new IndexedGraph(id, names, Arrays.copyOf(from, size), Arrays.copyOf(to, size),
+                    Arrays.copyOf(weight, size));
+        }
+    }
+
+    static String[] vertexNames(int vertices) {
+        String[] names = new String[vertices];
+        Arrays.setAll(names, v -> "v" + v);
+        return names;
+    }
+}
@@ -0,0 +1,90 @@
+package org.example;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads the graphs of an input JSON document one at a time. The document has the
+ * same shape as the one read by {@link Json#readGraphsFromJson(String)}, but instead
+ * of binding the whole {@code "graphs"} array at once, only the graph currently
+ * being returned is held in memory.
+ */
+public class GraphStreamReader implements Iterator<GraphData>, Closeable {
+
+    private final Gson gson = new Gson();
+    private final JsonReader reader;
+    private boolean inGraphs;
+    private boolean finished;
+
+    /**
+     * Opens the given file and positions the reader at the first graph.
+     *
+     * @param filePath the path to the JSON file containing graph data
+     * @throws IOException if the file cannot be opened or has no "graphs" array
+     */
+    public GraphStreamReader(String filePath) throws IOException {
+        this(new BufferedReader(new FileReader(filePath)));
+    }
+
+    /**
+     * Wraps the given character stream and positions the reader at the first graph.
+     *
+     * @param in the character stream containing the JSON document
+     * @throws IOException if the stream cannot be read or has no "graphs" array
+     */
+    public GraphStreamReader(Reader in) throws IOException {
+        reader = new JsonReader(in);
+        try {
+            // Skip any top-level fields until the graphs array is reached
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (reader.nextName().equals("graphs") && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                    reader.beginArray();
+                    inGraphs = true;
+                    return;
+                }
+                reader.skipValue();
+            }
+            finished = true;
+        } catch (IOException | RuntimeException e) {
+            reader.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (finished) return false;
+        try {
+            if (inGraphs && reader.hasNext()) return true;
+            finished = true;
+            return false;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public GraphData next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        // Bind only the next array element
+        return gson.fromJson(reader, GraphData.class);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
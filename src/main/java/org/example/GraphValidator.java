@@ -0,0 +1,140 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Single-pass validation of input graphs. Vertex names are interned into a hash
+ * map once, and every edge is reduced to a normalized (min, max) key of its
+ * endpoint ids, so that all checks together take O(V + E) expected time.
+ */
+public final class GraphValidator {
+
+    private GraphValidator() {
+    }
+
+    /**
+     * Validates a graph and reports invalid vertices, self-loops, duplicate and
+     * parallel edges, negative weights and repeated vertex names. An edge is a
+     * duplicate if it has the same endpoints (in either direction) and the same
+     * weight as the first edge between them, and parallel if its weight differs.
+     *
+     * @param graph the graph to validate
+     * @return the report of all findings
+     */
+    public static ValidationReport validate(GraphData graph) {
+        ValidationReport report = new ValidationReport(graph.getId());
+        Map<String, Integer> ids = indexNodes(graph.getNodes(), report);
+
+        // Weight of the first edge seen for each normalized pair of endpoints
+        Map<Long, Integer> firstWeight = new HashMap<>(graph.getEdges().size() * 2);
+        for (Edge e : graph.getEdges()) {
+            if (e.getWeight() < 0) {
+                report.negativeWeights.add(e);
+            }
+            Integer from = e.getFrom() == null ? null : ids.get(e.getFrom());
+            Integer to = e.getTo() == null ? null : ids.get(e.getTo());
+            if (from == null || to == null) {
+                report.invalidEdges.add(e);
+                continue;
+            }
+            if (from.equals(to)) {
+                report.selfLoops.add(e);
+            }
+
+            Integer first = firstWeight.putIfAbsent(pairKey(from, to), e.getWeight());
+            if (first != null) {
+                if (first == e.getWeight()) {
+                    report.duplicateEdges.add(e);
+                } else {
+                    report.parallelEdges.add(e);
+                }
+            }
+        }
+        return report;
+    }
+
+    /**
+     * Returns a copy of the graph in which every set of edges between the same
+     * two vertices is replaced by a single edge of the minimum weight, placed where
+     * the first of them appeared, and every repeated vertex name is listed once.
+     * Edges with unknown endpoints are kept unchanged so that the usual validation
+     * still rejects them. Graphs with weight scenarios keep their edges, since their
+     * weight vectors are aligned with the edge list.
+     *
+     * @param graph the graph to deduplicate
+     * @return the graph itself if it has no repeated edges or names, otherwise a new graph
+     */
+    public static GraphData deduplicate(GraphData graph) {
+        Map<String, Integer> ids = new HashMap<>(graph.getNodes().size() * 2);
+        List<String> nodes = new ArrayList<>(graph.getNodes().size());
+        for (String node : graph.getNodes()) {
+            if (ids.putIfAbsent(node, ids.size()) == null) {
+                nodes.add(node);
+            }
+        }
+        List<Edge> edges = graph.getEdges();
+        if (edges != null && graph.getScenarios() == null) {
+            edges = lightestEdges(edges, ids);
+        }
+        if (nodes.size() == graph.getNodes().size() && edges == graph.getEdges()) {
+            return graph;
+        }
+
+        GraphData copy = new GraphData();
+        copy.setId(graph.getId());
+        copy.setNodes(nodes.size() == graph.getNodes().size() ? graph.getNodes() : nodes);
+        copy.setEdges(edges);
+        copy.setCoordinates(graph.getCoordinates());
+        copy.setScale(graph.getScale());
+        copy.setScenarios(graph.getScenarios());
+        return copy;
+    }
+
+    /**
+     * Keeps the lightest edge of every pair of endpoints, in first-occurrence order,
+     * followed by the edges with unknown endpoints.
+     *
+     * @return the given list itself if no pair is repeated
+     */
+    private static List<Edge> lightestEdges(List<Edge> edges, Map<String, Integer> ids) {
+        Map<Long, Edge> lightest = new LinkedHashMap<>(edges.size() * 2);
+        List<Edge> invalid = new ArrayList<>();
+        for (Edge e : edges) {
+            Integer from = e.getFrom() == null ? null : ids.get(e.getFrom());
+            Integer to = e.getTo() == null ? null : ids.get(e.getTo());
+            if (from == null || to == null) {
+                invalid.add(e);
+                continue;
+            }
+            lightest.merge(pairKey(from, to), e, (kept, next) -> next.getWeight() < kept.getWeight()
+                    ? new Edge(kept.getFrom(), kept.getTo(), next.getWeight()) : kept);
+        }
+        if (lightest.size() + invalid.size() == edges.size()) {
+            return edges;
+        }
+        List<Edge> kept = new ArrayList<>(lightest.values());
+        kept.addAll(invalid);
+        return kept;
+    }
+
+    private static Map<String, Integer> indexNodes(List<String> nodes, ValidationReport report) {
+        Map<String, Integer> ids = new HashMap<>(nodes.size() * 2);
+        for (String node : nodes) {
+            if (ids.putIfAbsent(node, ids.size()) != null) {
+                report.duplicateNodes.add(node);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Packs the endpoint ids of an undirected edge into one key, smaller id first.
+     */
+    static long pairKey(int u, int v) {
+        return ((long) Math.min(u, v) << 32) | Math.max(u, v);
+    }
+}
@@ -0,0 +1,157 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * Indexed d-ary min-heap over integer items {@code 0..capacity-1} with integer keys.
+ * Each item is stored at most once, and its position is tracked so that its key
+ * can be lowered in place (decrease-key). Used by the eager variant of Prim’s
+ * algorithm, where items are vertices and keys are the cheapest known edge weights.
+ */
+public final class IndexedDaryHeap {
+
+    private final int arity;
+    private final int[] heap;     // heap[i] = item stored at heap position i
+    private final int[] position; // position[item] = heap position of item, or -1 if absent
+    private final int[] keys;     // keys[item] = current key of item
+    private int size;
+
+    /**
+     * Creates an empty heap for items {@code 0..capacity-1}.
+     *
+     * @param capacity the number of distinct items the heap can hold
+     * @param arity    the number of children per heap node (at least 2)
+     */
+    public IndexedDaryHeap(int capacity, int arity) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("Heap arity must be at least 2, got " + arity);
+        }
+        this.arity = arity;
+        this.heap = new int[capacity];
+        this.position = new int[capacity];
+        this.keys = new int[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int arity() {
+        return arity;
+    }
+
+    public boolean contains(int item) {
+        return position[item] >= 0;
+    }
+
+    public int key(int item) {
+        return keys[item];
+    }
+
+    /**
+     * Inserts an item that is not yet in the heap.
+     *
+     * @param item the item to insert
+     * @param key  its key
+     */
+    public void insert(int item, int key) {
+        if (position[item] >= 0) {
+            throw new IllegalStateException("Item " + item + " is already in the heap.");
+        }
+        keys[item] = key;
+        heap[size] = item;
+        position[item] = size;
+        siftUp(size++);
+    }
+
+    /**
+     * Lowers the key of an item already in the heap.
+     *
+     * @param item the item whose key is decreased
+     * @param key  the new key, which must not be larger than the current one
+     */
+    public void decreaseKey(int item, int key) {
+        if (key > keys[item]) {
+            throw new IllegalArgumentException("New key " + key + " is larger than current key " + keys[item]);
+        }
+        keys[item] = key;
+        siftUp(position[item]);
+    }
+
+    /**
+     * Removes and returns the item with the smallest key.
+     *
+     * @return the item with the smallest key
+     */
+    public int poll() {
+        if (size == 0) {
+            throw new IllegalStateException("Heap is empty.");
+        }
+        int top = heap[0];
+        position[top] = -1;
+        int last = heap[--size];
+        if (size > 0) {
+            heap[0] = last;
+            position[last] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    /**
+     * Removes all items, keeping the allocated arrays.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            position[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int i) {
+        int item = heap[i];
+        int key = keys[item];
+        // Move parents down until the item's slot is found
+        while (i > 0) {
+            int parent = (i - 1) / arity;
+            int parentItem = heap[parent];
+            if (keys[parentItem] <= key) break;
+            heap[i] = parentItem;
+            position[parentItem] = i;
+            i = parent;
+        }
+        heap[i] = item;
+        position[item] = i;
+    }
+
+    private void siftDown(int i) {
+        int item = heap[i];
+        int key = keys[item];
+        while (true) {
+            // Find the smallest of up to d children
+            int first = i * arity + 1;
+            if (first >= size) break;
+            int last = Math.min(first + arity, size);
+            int best = first;
+            int bestKey = keys[heap[first]];
+            for (int c = first + 1; c < last; c++) {
+                int k = keys[heap[c]];
+                if (k < bestKey) {
+                    best = c;
+                    bestKey = k;
+                }
+            }
+            if (key <= bestKey) break;
+            heap[i] = heap[best];
+            position[heap[i]] = i;
+            i = best;
+        }
+        heap[i] = item;
+        position[item] = i;
+    }
+}
@@ -0,0 +1,298 @@
+package org.example;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, integer-indexed representation of a weighted undirected graph.
+ * Vertex names are interned once into dense ids {@code 0..V-1}, edges are kept
+ * as parallel primitive arrays, and adjacency is stored in compressed sparse row
+ * (CSR) form so that the MST algorithms can run without hashing strings or
+ * allocating per-edge objects.
+ */
+public final class IndexedGraph {
+
+    private final int id;
+    private final String[] names;
+    private final Map<String, Integer> index;
+
+    // Edge list: endpoints and weight of edge e are edgeFrom[e], edgeTo[e], edgeWeight[e]
+    private final int[] edgeFrom;
+    private final int[] edgeTo;
+    private final int[] edgeWeight;
+
+    // CSR adjacency: the neighbors of v occupy slots offsets[v] .. offsets[v + 1] - 1
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] weights;
+    private final int[] edgeIds;
+
+    /**
+     * Constructs the graph from already interned vertex names and edge arrays.
+     * The arrays are taken over without copying and must not be modified afterwards.
+     *
+     * @param id         the graph identifier
+     * @param names      vertex names indexed by vertex id
+     * @param edgeFrom   first endpoint of every edge
+     * @param edgeTo     second endpoint of every edge
+     * @param edgeWeight weight of every edge
+     * @throws IllegalArgumentException if two ids share a name or an edge refers to an id out of range
+     */
+    IndexedGraph(int id, String[] names, int[] edgeFrom, int[] edgeTo, int[] edgeWeight) {
+        if (edgeFrom.length != edgeTo.length || edgeFrom.length != edgeWeight.length) {
+            throw new IllegalArgumentException("Edge arrays must have the same length.");
+        }
+        this.id = id;
+        this.names = names;
+        this.edgeFrom = edgeFrom;
+        this.edgeTo = edgeTo;
+        this.edgeWeight = edgeWeight;
+
+        this.index = new HashMap<>(names.length * 2);
+        for (int v = 0; v < names.length; v++) {
+            if (index.putIfAbsent(names[v], v) != null) {
+                throw new IllegalArgumentException("Vertex name " + names[v] + " is given to more than one id.");
+            }
+        }
+
+        // Count the degree of every vertex, then turn the counts into row offsets
+        int n = names.length;
+        int m = edgeFrom.length;
+        offsets = new int[n + 1];
+        for (int e = 0; e < m; e++) {
+            checkVertex(edgeFrom[e]);
+            checkVertex(edgeTo[e]);
+            offsets[edgeFrom[e] + 1]++;
+            offsets[edgeTo[e] + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+
+        // Fill both directions of every edge into its row
+        targets = new int[2 * m];
+        weights = new int[2 * m];
+        edgeIds = new int[2 * m];
+        int[] next = new int[n];
+        System.arraycopy(offsets, 0, next, 0, n);
+        for (int e = 0; e < m; e++) {
+            int u = edgeFrom[e];
+            int v = edgeTo[e];
+            int slot = next[u]++;
+            targets[slot] = v;
+            weights[slot] = edgeWeight[e];
+            edgeIds[slot] = e;
+            slot = next[v]++;
+            targets[slot] = u;
+            weights[slot] = edgeWeight[e];
+            edgeIds[slot] = e;
+        }
+    }
+
+    /**
+     * Creates a graph with the topology of {@code base} and new edge weights. Names,
+     * endpoints and adjacency are shared with the base graph; only the two weight
+     * arrays are new.
+     */
+    private IndexedGraph(IndexedGraph base, int[] edgeWeight) {
+        this.id = base.id;
+        this.names = base.names;
+        this.index = base.index;
+        this.edgeFrom = base.edgeFrom;
+        this.edgeTo = base.edgeTo;
+        this.edgeWeight = edgeWeight;
+        this.offsets = base.offsets;
+        this.targets = base.targets;
+        this.edgeIds = base.edgeIds;
+        this.weights = new int[edgeIds.length];
+        for (int slot = 0; slot < edgeIds.length; slot++) {
+            weights[slot] = edgeWeight[edgeIds[slot]];
+        }
+    }
+
+    /**
+     * Returns a graph with the same vertices and edges but different weights, for
+     * evaluating weight scenarios without indexing the topology again. The weight
+     * array is taken over without copying and must not be modified afterwards.
+     *
+     * @param edgeWeight the new weight of every edge, indexed by edge id
+     * @return a graph sharing everything but the weights with this one
+     * @throws IllegalArgumentException if the number of weights differs from the number of edges
+     */
+    public IndexedGraph withWeights(int[] edgeWeight) {
+        if (edgeWeight.length != edgeFrom.length) {
+            throw new IllegalArgumentException("Graph " + id + " has " + edgeFrom.length + " edges but "
+                    + edgeWeight.length + " weights were given.");
+        }
+        return new IndexedGraph(this, edgeWeight);
+    }
+
+    /**
+     * Builds an indexed graph from the JSON-facing {@link GraphData}.
+     *
+     * @param graph the graph loaded from JSON
+     * @return the indexed representation of the graph
+     */
+    public static IndexedGraph fromGraphData(GraphData graph) {
+        return of(graph.getId(), graph.getNodes(), graph.getEdges());
+    }
+
+    /**
+     * Builds an indexed graph from a list of vertex names and a list of edges.
+     * A name listed more than once stands for a single vertex; ids are assigned in
+     * the order in which the names first occur.
+     *
+     * @param id    the graph identifier
+     * @param nodes list of vertex names, possibly with repetitions
+     * @param edges list of edges between the vertices
+     * @return the indexed representation of the graph
+     * @throws IllegalArgumentException if an edge refers to a vertex not in {@code nodes}
+     */
+    public static IndexedGraph of(int id, List<String> nodes, List<Edge> edges) {
+        // Give every distinct name one id, so that a repeated name adds no vertex
+        Map<String, Integer> ids = new HashMap<>(nodes.size() * 2);
+        String[] names = new String[nodes.size()];
+        for (String node : nodes) {
+            if (ids.putIfAbsent(node, ids.size()) == null) {
+                names[ids.size() - 1] = node;
+            }
+        }
+        if (ids.size() < names.length) {
+            names = Arrays.copyOf(names, ids.size());
+        }
+
+        // Intern every endpoint once so that no string is hashed again afterwards
+        int m = edges.size();
+        int[] from = new int[m];
+        int[] to = new int[m];
+        int[] weight = new int[m];
+        for (int e = 0; e < m; e++) {
+            Edge edge = edges.get(e);
+            from[e] = lookup(ids, edge.getFrom());
+            to[e] = lookup(ids, edge.getTo());
+            weight[e] = edge.getWeight();
+        }
+        return new IndexedGraph(id, names, from, to, weight);
+    }
+
+    private static int lookup(Map<String, Integer> ids, String name) {
+        Integer v = ids.get(name);
+        if (v == null) {
+            throw new IllegalArgumentException("Edge refers to non-existent vertex " + name);
+        }
+        return v;
+    }
+
+    private void checkVertex(int v) {
+        if (v < 0 || v >= names.length) {
+            throw new IllegalArgumentException("Vertex id " + v + " is out of range.");
+        }
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public int vertexCount() {
+        return names.length;
+    }
+
+    public int edgeCount() {
+        return edgeFrom.length;
+    }
+
+    public String name(int v) {
+        return names[v];
+    }
+
+    /**
+     * Returns the id of the vertex with the given name.
+     *
+     * @param name the vertex name
+     * @return the vertex id, or -1 if the graph has no such vertex
+     */
+    public int indexOf(String name) {
+        Integer v = index.get(name);
+        return v == null ? -1 : v;
+    }
+
+    public int edgeFrom(int e) {
+        return edgeFrom[e];
+    }
+
+    public int edgeTo(int e) {
+        return edgeTo[e];
+    }
+
+    public int edgeWeight(int e) {
+        return edgeWeight[e];
+    }
+
+    public int degree(int v) {
+        return offsets[v + 1] - offsets[v];
+    }
+
+    /**
+     * Returns the endpoint of edge {@code e} opposite to vertex {@code v}.
+     *
+     * @param e the edge id
+     * @param v one endpoint of the edge
+     * @return the other endpoint
+     */
+    public int opposite(int e, int v) {
+        return edgeFrom[e] == v ? edgeTo[e] : edgeFrom[e];
+    }
+
+    /**
+     * Materializes edge {@code e} as an {@link Edge} in its original orientation.
+     *
+     * @param e the edge id
+     * @return a new Edge object with vertex names and weight
+     */
+    public Edge toEdge(int e) {
+        return new Edge(names[edgeFrom[e]], names[edgeTo[e]], edgeWeight[e]);
+    }
+
+    /**
+     * Materializes edge {@code e} as an {@link Edge} oriented away from vertex {@code from}.
+     *
+     * @param e    the edge id
+     * @param from the endpoint the edge should start at
+     * @return a new Edge object with vertex names and weight
+     */
+    public Edge toEdge(int e, int from) {
+        return new Edge(names[from], names[opposite(e, from)], edgeWeight[e]);
+    }
+
+    // Raw CSR arrays for the algorithms in this package; callers must not modify them
+
+    int[] offsets() {
+        return offsets;
+    }
+
+    int[] targets() {
+        return targets;
+    }
+
+    int[] weights() {
+        return weights;
+    }
+
+    int[] edgeIds() {
+        return edgeIds;
+    }
+
+    int[] edgeFromArray() {
+        return edgeFrom;
+    }
+
+    int[] edgeToArray() {
+        return edgeTo;
+    }
+
+    int[] edgeWeightArray() {
+        return edgeWeight;
+    }
+}
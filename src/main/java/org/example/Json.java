@@ -3,14 +3,22 @@ package org.example;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonWriter;
 
+import java.io.BufferedWriter;
 import java.io.FileReader;
 import java.io.FileWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Utility class for reading input graph data from a JSON file and writing
@@ -65,4 +73,99 @@ public class Json {
         }
     }
 
+    /**
+     * Streams graph data from a JSON file, parsing one graph at a time as the
+     * stream is consumed. The returned stream must be closed to release the file.
+     *
+     * @param filePath the path to the JSON file containing graph data
+     * @return a sequential stream of GraphData objects, or an empty stream if the file cannot be opened
+     */
+    public static Stream<GraphData> streamGraphsFromJson(String filePath) {
+        GraphStreamReader reader;
+        try {
+            reader = new GraphStreamReader(filePath);
+        } catch (Exception e) {
+
+            // Handle exceptions the same way as readGraphsFromJson
+            e.printStackTrace();
+            return Stream.empty();
+        }
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(reader, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> {
+                    try {
+                        reader.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    /**
+     * Opens a JSON file for writing MST comparison results one at a time.
+     *
+     * @param filePath the path to the output JSON file
+     * @return a writer that must be closed to complete the document
+     * @throws IOException if the file cannot be created
+     */
+    public static ResultStreamWriter openResultWriter(String filePath) throws IOException {
+        return new ResultStreamWriter(filePath);
+    }
+
+    /**
+     * Opens a JSON file for writing MST comparison results one at a time as compact
+     * JSON, serialized by hand instead of through Gson.
+     *
+     * @param filePath   the path to the output JSON file
+     * @param edgeOutput whether the MST edge lists are written inline, left out or to a binary side file
+     * @return a writer that must be closed to complete the document
+     * @throws IOException if a file cannot be created
+     */
+    public static CompactResultWriter openCompactResultWriter(String filePath, CompactResultWriter.EdgeOutput edgeOutput)
+            throws IOException {
+        return new CompactResultWriter(filePath, edgeOutput);
+    }
+
+    /**
+     * Writes indexed graphs to a JSON file in the input format read by
+     * {@link #readGraphsFromJson(String)}. Edges are written straight from the
+     * primitive arrays, so no Edge objects are created even for very large graphs.
+     *
+     * @param graphs   the graphs to write
+     * @param filePath the path to the output JSON file
+     * @throws IOException if the file cannot be written
+     */
+    public static void writeGraphsToJson(List<IndexedGraph> graphs, String filePath) throws IOException {
+        try (JsonWriter writer = new JsonWriter(new BufferedWriter(new FileWriter(filePath)))) {
+            writer.beginObject();
+            writer.name("graphs");
+            writer.beginArray();
+            for (IndexedGraph graph : graphs) {
+                writer.beginObject();
+                writer.name("id").value(graph.getId());
+
+                writer.name("nodes");
+                writer.beginArray();
+                for (int v = 0; v < graph.vertexCount(); v++) {
+                    writer.value(graph.name(v));
+                }
+                writer.endArray();
+
+                writer.name("edges");
+                writer.beginArray();
+                for (int e = 0; e < graph.edgeCount(); e++) {
+                    writer.beginObject();
+                    writer.name("from").value(graph.name(graph.edgeFrom(e)));
+                    writer.name("to").value(graph.name(graph.edgeTo(e)));
+                    writer.name("weight").value(graph.edgeWeight(e));
+                    writer.endObject();
+                }
+                writer.endArray();
+                writer.endObject();
+            }
+            writer.endArray();
+            writer.endObject();
+        }
+    }
+
 }
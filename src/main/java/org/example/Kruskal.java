@@ -9,9 +9,97 @@ import java.util.*;
  */
 public class Kruskal {
 
+    /**
+     * Selects how the indexed variant of Kruskal’s algorithm orders the edges.
+     */
+    public enum Strategy {
+        /** Sorts all edges up front, then scans them in ascending order. */
+        SORT,
+        /**
+         * Filter-Kruskal: partitions the edges around a pivot weight, solves the light
+         * half first and drops heavy edges whose endpoints are already connected
+         * before recursing on them, so most heavy edges are never sorted.
+         */
+        FILTER
+    }
+
+    // Below this many edges Filter-Kruskal sorts the range instead of partitioning it
+    private static final int FILTER_BASE_SIZE = 256;
+
+    private final Strategy strategy;
+    private final EdgeSort.Method sortMethod;
+    private MSTMetrics metrics = MSTMetrics.NOOP;
+    // Buffers and Union-Find reused across runs so that processing many graphs does not
+    // reallocate them; this makes a Kruskal instance unsuitable for concurrent use
+    private MSTWorkspace workspace = new MSTWorkspace();
+    private UnionFind uf;
+    private int[] treeEdges;
+
+    /**
+     * Creates a sorting Kruskal instance that picks the edge sort automatically.
+     */
+    public Kruskal() {
+        this(Strategy.SORT, EdgeSort.Method.AUTO);
+    }
+
+    /**
+     * Creates a sorting Kruskal instance that orders edges with the given sort.
+     *
+     * @param sortMethod the primitive sort used to order edge ids by weight
+     */
+    public Kruskal(EdgeSort.Method sortMethod) {
+        this(Strategy.SORT, sortMethod);
+    }
+
+    /**
+     * Creates a Kruskal instance using the given strategy and the automatic edge sort.
+     *
+     * @param strategy the edge ordering strategy used by {@link #runKruskal(IndexedGraph)}
+     */
+    public Kruskal(Strategy strategy) {
+        this(strategy, EdgeSort.Method.AUTO);
+    }
+
+    /**
+     * Creates a Kruskal instance using the given strategy and edge sort.
+     *
+     * @param strategy   the edge ordering strategy used by {@link #runKruskal(IndexedGraph)}
+     * @param sortMethod the primitive sort used to order edge ids by weight
+     */
+    public Kruskal(Strategy strategy, EdgeSort.Method sortMethod) {
+        this.strategy = strategy;
+        this.sortMethod = sortMethod;
+    }
+
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Sets the metrics that receive phase timings and counters of subsequent runs.
+     * Filter-Kruskal interleaves partitioning with scanning, so all of its work is
+     * reported as the search phase.
+     *
+     * @param metrics the metrics, or {@link MSTMetrics#NOOP} to record nothing
+     */
+    public void setMetrics(MSTMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Sets the workspace whose buffers and Union-Find subsequent runs use, e.g. the
+     * one of the current thread so that it is shared with other algorithms.
+     *
+     * @param workspace a workspace not used concurrently by another thread
+     */
+    public void setWorkspace(MSTWorkspace workspace) {
+        this.workspace = workspace;
+    }
+
     /**
      * Runs Kruskal's algorithm on the given graph defined by nodes and edges.
-     * Sorts edges by weight and adds them to the MST if they don't create cycles.
+     * Sorts edge ids by weight and adds the edges to the MST if they don't create cycles,
+     * stopping as soon as the forest has become a tree. The input list is left untouched.
      *
      * @param nodes list of node identifiers in the graph
      * @param edges list of edges connecting the nodes with associated weights
@@ -20,25 +108,50 @@ public class Kruskal {
     public Result runKruskal(List<String> nodes, List<Edge> edges) {
         Result result = new Result();
         long startTime = System.nanoTime();
+        metrics.start();
 
-        // Sort edges by their weight in ascending order
-        edges.sort(Comparator.comparingInt(e -> e.getWeight()));
-        UnionFind uf = new UnionFind(nodes);
+        // Sort edge ids by weight in ascending order, leaving the input list as it is
+        metrics.phaseStart(MSTMetrics.Phase.SORT);
+        int[] weights = new int[edges.size()];
+        for (int e = 0; e < weights.length; e++) {
+            weights[e] = edges.get(e).getWeight();
+        }
+        int[] order = EdgeSort.sortByWeight(weights, sortMethod, workspace);
+        metrics.phaseEnd(MSTMetrics.Phase.SORT);
+
+        // Map vertex names to ids once so the Union-Find can work on arrays
+        metrics.phaseStart(MSTMetrics.Phase.BUILD);
+        Map<String, Integer> ids = new HashMap<>();
+        for (String node : nodes) {
+            ids.putIfAbsent(node, ids.size());
+        }
+        uf = workspace.unionFind(ids.size());
+        metrics.phaseEnd(MSTMetrics.Phase.BUILD);
 
         // Iterate over edges in ascending order of weight
-        for (Edge edge : edges) {
+        metrics.phaseStart(MSTMetrics.Phase.SEARCH);
+        for (int i = 0; i < weights.length; i++) {
+            Edge edge = edges.get(order[i]);
             result.operations++;
-            // Check if current edge creates a cycle by comparing root parents
-            if (!uf.find(edge.getFrom()).equals(uf.find(edge.getTo()))) {
-                // If no cycle, union the sets and add edge to MST
-                uf.union(edge.getFrom(), edge.getTo());
+            // Union the sets if the edge does not create a cycle and add it to the MST
+            if (uf.union(ids.get(edge.getFrom()), ids.get(edge.getTo()))) {
                 result.mstEdges.add(edge);
                 result.totalCost += edge.getWeight();
+                // Stop once all vertices are connected; no later edge can be accepted
+                if (uf.components() == 1) break;
             }
         }
 
+        metrics.phaseEnd(MSTMetrics.Phase.SEARCH);
+        metrics.count(MSTMetrics.Counter.EDGE_SCAN, result.operations);
+        uf.reportTo(metrics);
+
         // Add the operations performed by UnionFind to the total operations count
-        result.operations += uf.operations;
+        result.operations += uf.getOperations();
+        metrics.phaseStart(MSTMetrics.Phase.COMPONENTS);
+        SpanningForest.record(result, ids.size(), ids::get, workspace);
+        metrics.phaseEnd(MSTMetrics.Phase.COMPONENTS);
+        result.metrics = metrics.finish();
         long endTime = System.nanoTime();
         result.executionTimeMs = (endTime - startTime) / 1_000_000.0;
 
@@ -46,64 +159,160 @@ public class Kruskal {
     }
 
     /**
-     * Union-Find (Disjoint Set Union) data structure implementation to efficiently
-     * manage and merge sets of vertices, supporting cycle detection in Kruskal's algorithm.
+     * Runs Kruskal's algorithm on an integer-indexed graph using the configured strategy.
+     * Cycles are detected with an array-based Union-Find, so the input graph is never
+     * modified and no strings are hashed. Both strategies stop as soon as the forest
+     * has become a tree.
+     *
+     * @param graph the indexed graph
+     * @return a Result object containing the MST edges, total cost, operation count, and execution time
      */
-    static class UnionFind {
-        private final Map<String, String> parent = new HashMap<>();
-        private final Map<String, Integer> rank = new HashMap<>();
-        private int operations = 0;
+    public Result runKruskal(IndexedGraph graph) {
+        Result result = new Result();
+        long startTime = System.nanoTime();
+        metrics.start();
+        uf = workspace.unionFind(graph.vertexCount());
+        treeEdges = workspace.ints(MSTWorkspace.Buffer.TREE_EDGES, graph.vertexCount());
+        int m = graph.edgeCount();
 
-        /**
-         * Initializes the Union-Find structure with each vertex in its own set.
-         *
-         * @param vertices list of vertices to initialize
-         */
-        UnionFind(List<String> vertices) {
-            for (String v : vertices) {
-                parent.put(v, v);  // Each vertex is initially its own parent
-                rank.put(v, 0);    // Rank is used to keep tree shallow
+        if (strategy == Strategy.FILTER) {
+            metrics.phaseStart(MSTMetrics.Phase.SEARCH);
+            // Work on a copy of the edge ids in a workspace buffer, which is partitioned in place
+            int[] ids = workspace.ints(MSTWorkspace.Buffer.EDGE_ORDER, m);
+            for (int e = 0; e < m; e++) {
+                ids[e] = e;
             }
+            new FilterRun(graph, result, workspace.longs(FILTER_BASE_SIZE)).run(ids, 0, m);
+        } else {
+            // Sort edge ids by weight with a primitive sort
+            metrics.phaseStart(MSTMetrics.Phase.SORT);
+            int[] order = EdgeSort.sortByWeight(graph.edgeWeightArray(), sortMethod, workspace);
+            metrics.phaseEnd(MSTMetrics.Phase.SORT);
+            metrics.phaseStart(MSTMetrics.Phase.SEARCH);
+            scanEdges(graph, result, order, 0, m);
+        }
+        metrics.phaseEnd(MSTMetrics.Phase.SEARCH);
+        metrics.count(MSTMetrics.Counter.EDGE_SCAN, result.operations);
+        uf.reportTo(metrics);
+
+        result.operations += uf.getOperations();
+        metrics.phaseStart(MSTMetrics.Phase.COMPONENTS);
+        SpanningForest.record(result, graph, treeEdges, workspace);
+        metrics.phaseEnd(MSTMetrics.Phase.COMPONENTS);
+        result.metrics = metrics.finish();
+        long endTime = System.nanoTime();
+        result.executionTimeMs = (endTime - startTime) / 1_000_000.0;
+
+        return result;
+    }
+
+    /**
+     * Scans edge ids {@code ids[from..to)} in order, adding each edge that does not
+     * create a cycle to the MST.
+     *
+     * @return true if the forest has become a tree and no further edge can be accepted
+     */
+    private boolean scanEdges(IndexedGraph graph, Result result, int[] ids, int from, int to) {
+        int[] edgeFrom = graph.edgeFromArray();
+        int[] edgeTo = graph.edgeToArray();
+        int[] edgeWeight = graph.edgeWeightArray();
+        for (int i = from; i < to; i++) {
+            int e = ids[i];
+            result.operations++;
+            // Union the sets if the edge does not create a cycle and add it to the MST
+            if (uf.union(edgeFrom[e], edgeTo[e])) {
+                treeEdges[result.mstEdges.size()] = e;
+                result.mstEdges.add(graph.toEdge(e));
+                result.totalCost += edgeWeight[e];
+                if (uf.components() == 1) return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * State of a single Filter-Kruskal run over one graph.
+     */
+    private final class FilterRun {
+        private final IndexedGraph graph;
+        private final Result result;
+        private final int[] edgeFrom;
+        private final int[] edgeTo;
+        private final int[] weights;
+        private final long[] sortKeys;
+        // Fixed seed keeps the pivots, and therefore the operation counts, reproducible
+        private final SplittableRandom random = new SplittableRandom(42);
+        private boolean done;
+
+        FilterRun(IndexedGraph graph, Result result, long[] sortKeys) {
+            this.graph = graph;
+            this.result = result;
+            this.sortKeys = sortKeys;
+            this.edgeFrom = graph.edgeFromArray();
+            this.edgeTo = graph.edgeToArray();
+            this.weights = graph.edgeWeightArray();
         }
 
         /**
-         * Finds the representative (root parent) of the set that contains vertex v.
-         * Applies path compression to speed up future queries.
-         *
-         * @param v the vertex to find the root parent of
-         * @return the root parent of vertex v
+         * Processes edge ids {@code ids[lo..hi)}, all of which are heavier than every
+         * edge processed before them.
          */
-        String find(String v) {
-            operations++;
-            if (!parent.get(v).equals(v)) {
-                // Path compression: update parent to root parent recursively
-                parent.put(v, find(parent.get(v)));
+        void run(int[] ids, int lo, int hi) {
+            if (done || lo >= hi) return;
+            if (hi - lo <= FILTER_BASE_SIZE) {
+                EdgeSort.sortRange(ids, lo, hi, weights, sortKeys);
+                done = scanEdges(graph, result, ids, lo, hi);
+                return;
             }
-            return parent.get(v);
+
+            // Three-way partition around a random pivot weight: [lo, lt) < pivot,
+            // [lt, gt) == pivot, [gt, hi) > pivot
+            int pivot = weights[ids[lo + random.nextInt(hi - lo)]];
+            int lt = lo;
+            int gt = hi;
+            int i = lo;
+            while (i < gt) {
+                int w = weights[ids[i]];
+                if (w < pivot) {
+                    swap(ids, lt++, i++);
+                } else if (w > pivot) {
+                    swap(ids, i, --gt);
+                } else {
+                    i++;
+                }
+            }
+
+            // Light edges first; edges equal to the pivot need no further ordering
+            run(ids, lo, lt);
+            if (done) return;
+            done = scanEdges(graph, result, ids, lt, gt);
+            if (done) return;
+
+            // Drop heavy edges that would close a cycle before recursing on them
+            run(ids, gt, filter(ids, gt, hi));
         }
 
         /**
-         * Unions the sets containing vertices u and v by attaching the tree with lower rank
-         * under the root of the tree with higher rank to keep the structure balanced.
+         * Compacts {@code ids[from..to)} to the edges whose endpoints are still in
+         * different components.
          *
-         * @param u one vertex
-         * @param v another vertex
+         * @return the end of the compacted range
          */
-        void union(String u, String v) {
-            operations++;
-            String rootU = find(u);
-            String rootV = find(v);
-            if (!rootU.equals(rootV)) {
-                // Attach smaller rank tree under root of higher rank tree
-                if (rank.get(rootU) < rank.get(rootV)) {
-                    parent.put(rootU, rootV);
-                } else if (rank.get(rootU) > rank.get(rootV)) {
-                    parent.put(rootV, rootU);
-                } else {
-                    parent.put(rootV, rootU);
-                    rank.put(rootU, rank.get(rootU) + 1);
+        private int filter(int[] ids, int from, int to) {
+            int end = from;
+            for (int i = from; i < to; i++) {
+                int e = ids[i];
+                if (!uf.connected(edgeFrom[e], edgeTo[e])) {
+                    ids[end++] = e;
                 }
             }
+            return end;
+        }
+
+        private void swap(int[] ids, int i, int j) {
+            int tmp = ids[i];
+            ids[i] = ids[j];
+            ids[j] = tmp;
         }
     }
 }
@@ -0,0 +1,39 @@
+package org.example;
+
+import java.util.function.Function;
+
+/**
+ * The MST algorithm variants that can run on an {@link IndexedGraph}, so that
+ * benchmarks and test harnesses can select them by name.
+ */
+public enum MSTAlgorithm {
+    PRIM_LAZY,
+    PRIM_EAGER,
+    PRIM_DENSE,
+    KRUSKAL_SORT,
+    KRUSKAL_FILTER,
+    BORUVKA;
+
+    /**
+     * Creates a fresh runner for this variant. A runner may keep reusable state
+     * between calls and must not be shared between threads.
+     *
+     * @return a function computing the MST of a graph with this variant
+     */
+    public Function<IndexedGraph, Result> newRunner() {
+        switch (this) {
+            case PRIM_LAZY:
+                return new Prim(Prim.Strategy.LAZY)::runPrim;
+            case PRIM_EAGER:
+                return new Prim(Prim.Strategy.EAGER)::runPrim;
+            case PRIM_DENSE:
+                return new Prim(Prim.Strategy.DENSE)::runPrim;
+            case KRUSKAL_SORT:
+                return new Kruskal(Kruskal.Strategy.SORT)::runKruskal;
+            case KRUSKAL_FILTER:
+                return new Kruskal(Kruskal.Strategy.FILTER)::runKruskal;
+            default:
+                return new Boruvka()::runBoruvka;
+        }
+    }
+}
@@ -0,0 +1,389 @@
+package org.example;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Content-addressed cache of MST comparison results. Graphs are keyed by a
+ * SHA-256 hash of their canonical form: the sorted vertex names followed by the
+ * sorted multiset of edges, each written with its endpoints in name order. Two
+ * graphs with the same nodes, edges and weights therefore share an entry no matter
+ * how their vertices and edges are ordered in the input or what their ids are.
+ *
+ * <p>The cache is bounded both by the number of entries and by the total number
+ * of MST edges and sensitivity entries stored, and evicts the least recently used
+ * entries first. It is safe to use from several threads; two threads missing on the
+ * same graph at the same time both compute it. Entries can be saved to and loaded from a JSON file
+ * so that results survive between runs.
+ *
+ * <p>Entries are stored and handed out as deep copies holding only what depends on
+ * the graph content, never per-request data such as scenarios, metrics, execution
+ * times or operation counts; results served from the cache report zero for the
+ * latter two. A sensitivity analysis is kept with its entry but only handed out
+ * when asked for. {@link MSTComparison} bypasses the cache when timings or metrics
+ * are requested.
+ */
+public class MSTCache {
+
+    private final int maxEntries;
+    private final long maxEdges;
+    private final LinkedHashMap<String, OutputGraph> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long storedEdges;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param maxEntries the maximum number of graphs kept
+     * @param maxEdges   the maximum total number of MST edges and sensitivity entries kept over all entries
+     */
+    public MSTCache(int maxEntries, long maxEdges) {
+        if (maxEntries < 1 || maxEdges < 1) {
+            throw new IllegalArgumentException("Cache limits must be positive.");
+        }
+        this.maxEntries = maxEntries;
+        this.maxEdges = maxEdges;
+    }
+
+    /**
+     * Returns a copy of the cached comparison for a graph with the same content,
+     * relabelled with the id of the given graph.
+     *
+     * @param key         the content key of the graph, see {@link #keyOf(IndexedGraph)}
+     * @param graphId     the id to report in the returned output
+     * @param sensitivity whether to include the stored sensitivity analysis, if any
+     * @return the cached output, or null if the graph has not been seen
+     */
+    public synchronized OutputGraph get(String key, int graphId, boolean sensitivity) {
+        OutputGraph cached = entries.get(key);
+        if (cached == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return copyWithId(cached, graphId, sensitivity);
+    }
+
+    /**
+     * Stores a copy of the comparison for a graph, evicting least recently used
+     * entries while the cache is over either of its limits. Results larger than the
+     * whole edge budget are not stored.
+     *
+     * @param key    the content key of the graph
+     * @param output the comparison result
+     */
+    public synchronized void put(String key, OutputGraph output) {
+        store(key, copyWithId(output, output.getGraph_id(), true));
+    }
+
+    /**
+     * Adds a sensitivity analysis computed later to the entry of a graph, so that
+     * further hits do not compute it again. Nothing happens if the entry has been
+     * evicted meanwhile or already has an analysis.
+     *
+     * @param key         the content key of the graph
+     * @param sensitivity the sensitivity analysis of the cached Kruskal forest
+     */
+    public synchronized void putSensitivity(String key, List<EdgeSensitivity> sensitivity) {
+        OutputGraph cached = entries.get(key);
+        if (cached == null || cached.getSensitivity() != null) return;
+        OutputGraph copy = copyWithId(cached, cached.getGraph_id(), false);
+        copy.setSensitivity(copyOf(sensitivity));
+        store(key, copy);
+    }
+
+    /**
+     * Stores an entry that is already a private copy, evicting least recently used
+     * entries while the cache is over either of its limits.
+     */
+    private void store(String key, OutputGraph copy) {
+        long edges = edgesOf(copy);
+        if (edges > maxEdges) return;
+
+        OutputGraph previous = entries.put(key, copy);
+        if (previous != null) {
+            storedEdges -= edgesOf(previous);
+        }
+        storedEdges += edges;
+
+        Iterator<OutputGraph> eldest = entries.values().iterator();
+        while (entries.size() > maxEntries || storedEdges > maxEdges) {
+            storedEdges -= edgesOf(eldest.next());
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Returns a one-line summary of the cache counters.
+     *
+     * @return the summary
+     */
+    public synchronized String stats() {
+        long lookups = hits + misses;
+        double hitRate = lookups == 0 ? 0 : 100.0 * hits / lookups;
+        return String.format("MST cache: %d hits, %d misses (%.1f%% hit rate), %d evictions, %d entries, %d edges",
+                hits, misses, hitRate, evictions, entries.size(), storedEdges);
+    }
+
+    /**
+     * Loads entries previously written by {@link #save(Path)}. Entries beyond the
+     * limits of this cache are evicted as usual. A missing file is ignored.
+     *
+     * @param path the cache file
+     * @throws IOException if the file exists but cannot be read
+     */
+    public void load(Path path) throws IOException {
+        if (!Files.exists(path)) return;
+        Type type = new TypeToken<LinkedHashMap<String, OutputGraph>>(){}.getType();
+        Map<String, OutputGraph> stored;
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            stored = new Gson().fromJson(reader, type);
+        }
+        if (stored == null) return;
+
+        // Stored in least recently used order, so replaying keeps the order
+        for (Map.Entry<String, OutputGraph> entry : stored.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Writes all entries to a JSON file, replacing any existing file.
+     *
+     * @param path the cache file
+     * @throws IOException if the file cannot be written
+     */
+    public void save(Path path) throws IOException {
+        Map<String, OutputGraph> snapshot;
+        synchronized (this) {
+            snapshot = new LinkedHashMap<>(entries);
+        }
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            new Gson().toJson(snapshot, writer);
+        }
+    }
+
+    /**
+     * Computes the content key of a graph in O(V log V + E). Vertex names are
+     * ranked in sorted order, and the edges are ordered by (smaller rank, larger
+     * rank, weight) with three stable linear-time passes.
+     *
+     * @param graph the graph
+     * @return the hex-encoded SHA-256 hash of the canonical form
+     */
+    public static String keyOf(IndexedGraph graph) {
+        int n = graph.vertexCount();
+        int m = graph.edgeCount();
+
+        // Rank the vertices by name
+        String[] sortedNames = new String[n];
+        for (int v = 0; v < n; v++) {
+            sortedNames[v] = graph.name(v);
+        }
+        Arrays.sort(sortedNames);
+        Map<String, Integer> rankOf = new HashMap<>(n * 2);
+        for (int r = 0; r < n; r++) {
+            rankOf.putIfAbsent(sortedNames[r], r);
+        }
+        int[] rank = new int[n];
+        for (int v = 0; v < n; v++) {
+            rank[v] = rankOf.get(graph.name(v));
+        }
+
+        // Normalize the endpoints so that low <= high
+        int[] low = new int[m];
+        int[] high = new int[m];
+        for (int e = 0; e < m; e++) {
+            int a = rank[graph.edgeFrom(e)];
+            int b = rank[graph.edgeTo(e)];
+            low[e] = Math.min(a, b);
+            high[e] = Math.max(a, b);
+        }
+
+        // Least significant key first: weight, then the larger endpoint, then the smaller one
+        int[] order = EdgeSort.sortByWeight(graph.edgeWeightArray(), EdgeSort.Method.RADIX);
+        order = countingSort(order, high, n);
+        order = countingSort(order, low, n);
+
+        MessageDigest digest = sha256();
+        ByteBuffer buffer = ByteBuffer.allocate(1 << 14);
+        buffer.putInt(n);
+        for (String name : sortedNames) {
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            putInt(digest, buffer, bytes.length);
+            for (int offset = 0; offset < bytes.length; ) {
+                if (!buffer.hasRemaining()) flush(digest, buffer);
+                int chunk = Math.min(buffer.remaining(), bytes.length - offset);
+                buffer.put(bytes, offset, chunk);
+                offset += chunk;
+            }
+        }
+        putInt(digest, buffer, m);
+        for (int e : order) {
+            putInt(digest, buffer, low[e]);
+            putInt(digest, buffer, high[e]);
+            putInt(digest, buffer, graph.edgeWeight(e));
+        }
+        flush(digest, buffer);
+
+        StringBuilder hex = new StringBuilder(64);
+        for (byte b : digest.digest()) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * Stable counting sort of edge ids by a key in {@code 0..range-1}.
+     */
+    private static int[] countingSort(int[] ids, int[] key, int range) {
+        int[] start = new int[range + 1];
+        for (int e : ids) {
+            start[key[e] + 1]++;
+        }
+        for (int k = 0; k < range; k++) {
+            start[k + 1] += start[k];
+        }
+        int[] sorted = new int[ids.length];
+        for (int e : ids) {
+            sorted[start[key[e]]++] = e;
+        }
+        return sorted;
+    }
+
+    /**
+     * Deep copy of the content-dependent part of an output under another graph id.
+     * Per-request fields (scenarios, metrics, timings, operation counts) are left out,
+     * so they never reach the cache, and callers may modify the copies they get back
+     * freely. The sensitivity analysis is copied only if asked for.
+     */
+    private static OutputGraph copyWithId(OutputGraph cached, int graphId, boolean sensitivity) {
+        OutputGraph copy = new OutputGraph(graphId, new HashMap<>(cached.getInput_stats()),
+                copyOf(cached.getPrim()), copyOf(cached.getKruskal()));
+        copy.setPrim_eager(copyOf(cached.getPrim_eager()));
+        copy.setBoruvka(copyOf(cached.getBoruvka()));
+        if (cached.getComponents() != null) {
+            List<List<String>> components = new ArrayList<>(cached.getComponents().size());
+            for (List<String> component : cached.getComponents()) {
+                components.add(new ArrayList<>(component));
+            }
+            copy.setComponents(components);
+        }
+        if (sensitivity && cached.getSensitivity() != null) {
+            copy.setSensitivity(copyOf(cached.getSensitivity()));
+        }
+        copy.setComparison_summary(cached.getComparison_summary());
+        return copy;
+    }
+
+    /**
+     * Copies the forest of a result. The execution time, operation count and metrics
+     * describe the run that computed it and are left out, as are the vertex-indexed
+     * component numbers, which belong to the vertex order of the graph it was computed on.
+     */
+    private static Result copyOf(Result result) {
+        if (result == null) return null;
+        Result copy = new Result();
+        copy.mstEdges = new ArrayList<>(result.mstEdges.size());
+        for (Edge edge : result.mstEdges) {
+            copy.mstEdges.add(copyOf(edge));
+        }
+        copy.totalCost = result.totalCost;
+        copy.components = result.components;
+        copy.componentCosts = result.componentCosts != null ? new ArrayList<>(result.componentCosts) : null;
+        return copy;
+    }
+
+    private static List<EdgeSensitivity> copyOf(List<EdgeSensitivity> sensitivity) {
+        List<EdgeSensitivity> copy = new ArrayList<>(sensitivity.size());
+        for (EdgeSensitivity s : sensitivity) {
+            copy.add(copyOf(s));
+        }
+        return copy;
+    }
+
+    private static Edge copyOf(Edge edge) {
+        return edge != null ? new Edge(edge.getFrom(), edge.getTo(), edge.getWeight()) : null;
+    }
+
+    private static EdgeSensitivity copyOf(EdgeSensitivity s) {
+        EdgeSensitivity copy = new EdgeSensitivity();
+        copy.from = s.from;
+        copy.to = s.to;
+        copy.weight = s.weight;
+        copy.inTree = s.inTree;
+        copy.replacement = copyOf(s.replacement);
+        copy.maxIncrease = s.maxIncrease;
+        copy.costWithout = s.costWithout;
+        copy.maxPathWeight = s.maxPathWeight;
+        return copy;
+    }
+
+    private static long edgesOf(OutputGraph output) {
+        long edges = output.getSensitivity() != null ? output.getSensitivity().size() : 0;
+        for (Result result : new Result[]{output.getPrim(), output.getPrim_eager(), output.getKruskal(), output.getBoruvka()}) {
+            if (result != null) {
+                edges += result.mstEdges.size();
+            }
+        }
+        return edges;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to provide SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void putInt(MessageDigest digest, ByteBuffer buffer, int value) {
+        if (buffer.remaining() < 4) flush(digest, buffer);
+        buffer.putInt(value);
+    }
+
+    private static void flush(MessageDigest digest, ByteBuffer buffer) {
+        buffer.flip();
+        digest.update(buffer);
+        buffer.clear();
+    }
+}
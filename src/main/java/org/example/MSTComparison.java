@@ -1,10 +1,12 @@
 package org.example;
 
 import java.util.*;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
 /**
- * Compares the results of Prim’s and Kruskal’s algorithms for a given graph.
- * Validates the input, runs both algorithms, and records statistics and comparison summary.
+ * Compares the results of Prim’s, Kruskal’s and Borůvka’s algorithms for a given graph.
+ * Validates the input, runs the algorithms, and records statistics and comparison summary.
  */
 public class MSTComparison {
 
@@ -16,55 +18,219 @@ public class MSTComparison {
      * @return an OutputGraph object containing MST results and summary
      */
     public static OutputGraph compareMSTs(GraphData graph) {
+        return compareMSTs(graph, new ComparisonOptions());
+    }
+
+    /**
+     * Compares the MST algorithms for a given graph using the given options. With a
+     * cache, the stored result is returned when a graph with the same content has
+     * already been compared; with metrics, the validation and build phases are timed
+     * as well as every algorithm run. With deduplication, repeated edges and vertex
+     * names are merged first.
+     *
+     * @param graph   the input graph containing nodes and edges
+     * @param options the comparison options
+     * @return an OutputGraph object containing MST results and summary
+     */
+    public static OutputGraph compareMSTs(GraphData graph, ComparisonOptions options) {
+        MSTMetrics metrics = options.newMetrics();
+        metrics.start();
+        if (options.isDeduplicate()) {
+            metrics.phaseStart(MSTMetrics.Phase.VALIDATE);
+            graph = GraphValidator.deduplicate(graph);
+            metrics.phaseEnd(MSTMetrics.Phase.VALIDATE);
+        }
 
-        // Validate the graph edges to ensure all vertices exist
-        if (!graph.validateEdges()) {
+        // Points with coordinates: build the sparse Euclidean candidate graph instead of using edges
+        if (graph.isEuclidean()) {
+            if (graph.getScenarios() != null) {
+                throw new IllegalArgumentException("Graph " + graph.getId()
+                        + ": weight scenarios need edges and cannot be combined with coordinates.");
+            }
+            metrics.phaseStart(MSTMetrics.Phase.BUILD);
+            IndexedGraph candidates = EuclideanMST.fromGraphData(graph);
+            metrics.phaseEnd(MSTMetrics.Phase.BUILD);
+
+            OutputGraph result = compareMSTs(candidates, options);
+            result.setMetrics(metrics.finish());
+            return result;
+        }
+
+        // Validate the graph in one pass; only edges with non-existent vertices are fatal
+        metrics.phaseStart(MSTMetrics.Phase.VALIDATE);
+        ValidationReport report = GraphValidator.validate(graph);
+        metrics.phaseEnd(MSTMetrics.Phase.VALIDATE);
+        if (!report.isValid()) {
+            for (Edge e : report.getInvalidEdges()) {
+                System.out.println("Error: edge " + e.getFrom() + " - " + e.getTo() + " contains a non-existent vertex!");
+            }
             throw new IllegalArgumentException("Graph " + graph.getId() + " contains invalid edges (non-existent vertices).");
         }
 
-        // Warn if the graph contains duplicate edges
-        if (graph.hasDuplicateEdges()) {
-            System.out.println("Warning: Graph " + graph.getId() + " contains duplicate edges.");
+        // Warn about duplicate edges, self-loops and other suspicious input
+        if (!report.isClean()) {
+            System.out.println("Warning: " + report.summary());
         }
 
-        // Run Prim's and Kruskal's MST algorithms
-        Prim primAlgorithm = new Prim();
-        Kruskal kruskalAlgorithm = new Kruskal();
+        metrics.phaseStart(MSTMetrics.Phase.BUILD);
+        IndexedGraph indexed = IndexedGraph.fromGraphData(graph);
+        metrics.phaseEnd(MSTMetrics.Phase.BUILD);
 
-        Result primResult = primAlgorithm.runPrim(graph.getNodes(), convertEdges(graph.getEdges()));
-        Result kruskalResult = kruskalAlgorithm.runKruskal(graph.getNodes(), convertEdges(graph.getEdges()));
+        OutputGraph result = compareMSTs(indexed, options);
+        if (graph.getScenarios() != null) {
+            result.setScenarios(compareScenarios(indexed, graph.getScenarios(), options));
+        }
+        result.setMetrics(metrics.finish());
+        return result;
+    }
 
-        // Create output object and record input statistics
-        OutputGraph result = new OutputGraph(graph.getId(), new HashMap<>(), primResult, kruskalResult);
-        result.getInput_stats().put("vertices", graph.getNodes().size());
-        result.getInput_stats().put("edges", graph.getEdges().size());
+    /**
+     * Compares the MST algorithms on every weight scenario of a graph. The scenarios
+     * share the validated and indexed topology of the base graph, so each of them only
+     * costs its weight arrays. They run in parallel unless timings are being measured.
+     *
+     * @param base      the indexed graph with the base weights
+     * @param scenarios weight vectors by scenario name, aligned with the edges of the base graph
+     * @param options   the comparison options
+     * @return the comparison of every scenario, in the order of the given map
+     * @throws IllegalArgumentException if a scenario does not have one weight per edge
+     */
+    public static Map<String, OutputGraph> compareScenarios(IndexedGraph base, Map<String, int[]> scenarios,
+                                                            ComparisonOptions options) {
+        List<String> names = new ArrayList<>(scenarios.keySet());
+        for (String name : names) {
+            int[] weights = scenarios.get(name);
+            if (weights == null || weights.length != base.edgeCount()) {
+                throw new IllegalArgumentException("Graph " + base.getId() + ": scenario " + name + " has "
+                        + (weights == null ? 0 : weights.length) + " weights for " + base.edgeCount() + " edges.");
+            }
+        }
 
-        // Compare the total costs of the MSTs and set a summary message
-        if (primResult.totalCost == kruskalResult.totalCost) {
-            result.setComparison_summary("MST total cost is identical (" + primResult.totalCost + "). Structures may differ.");
-        } else {
-            result.setComparison_summary("MST costs differ: Prim = " + primResult.totalCost + ", Kruskal = " + kruskalResult.totalCost);
+        OutputGraph[] results = new OutputGraph[names.size()];
+        IntStream indices = IntStream.range(0, names.size());
+        if (!options.isMeasurementMode()) {
+            indices = indices.parallel();
         }
+        indices.forEach(i -> results[i] = compareMSTs(base.withWeights(scenarios.get(names.get(i))), options));
 
-        return result;
+        Map<String, OutputGraph> byName = new LinkedHashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            byName.put(names.get(i), results[i]);
+        }
+        return byName;
+    }
+
+    /**
+     * Compares the results of Prim’s and Kruskal’s algorithms on an already indexed graph.
+     * Both algorithms read the shared read-only graph, so no copy of the edges is needed.
+     *
+     * @param graph the indexed input graph
+     * @return an OutputGraph object containing MST results and summary
+     */
+    public static OutputGraph compareMSTs(IndexedGraph graph) {
+        return compareMSTs(graph, new ComparisonOptions());
     }
 
     /**
-     * Creates a copy of the list of edges to avoid modifying the original graph data.
+     * Compares the MST algorithms on an already indexed graph using the given options,
+     * returning a copy of the stored result when the cache holds a graph with the same
+     * content. The cache is not used when timings or metrics are requested.
      *
-     * @param edges the original list of edges
-     * @return a new list containing copies of the edges
+     * @param graph   the indexed input graph
+     * @param options the comparison options
+     * @return an OutputGraph object containing MST results and summary
      */
-    private static List<Edge> convertEdges(List<Edge> edges) {
-        List<Edge> converted = new ArrayList<>();
-        for (Edge e : edges) {
-            Edge newEdge = new Edge();
-            newEdge.setFrom(e.getFrom());
-            newEdge.setTo(e.getTo());
-            newEdge.setWeight(e.getWeight());
-            converted.add(newEdge);
+    public static OutputGraph compareMSTs(IndexedGraph graph, ComparisonOptions options) {
+        // Timings and metrics describe this run, so they are never served from the cache
+        MSTCache cache = options.getCache();
+        if (cache == null || options.isMeasurementMode() || options.isMetrics()) {
+            return runAlgorithms(graph, options);
         }
-        return converted;
+        String key = MSTCache.keyOf(graph);
+        OutputGraph cached = cache.get(key, graph.getId(), options.isSensitivity());
+        if (cached != null) {
+            // Entries stored without the analysis get it now, and keep it for later hits
+            if (options.isSensitivity() && cached.getSensitivity() == null) {
+                cached.setSensitivity(SensitivityAnalysis.analyze(graph, cached.getKruskal()));
+                cache.putSensitivity(key, cached.getSensitivity());
+            }
+            return cached;
+        }
+        OutputGraph result = runAlgorithms(graph, options);
+        cache.put(key, result);
+        return result;
+    }
+
+    /**
+     * Runs every algorithm on the graph and summarizes the results.
+     */
+    private static OutputGraph runAlgorithms(IndexedGraph graph, ComparisonOptions options) {
+
+        // Run Prim (the dense variant on near-complete graphs, lazy otherwise), eager Prim,
+        // Kruskal's and Borůvka's MST algorithms
+        boolean dense = Prim.isDense(graph);
+        Prim primAlgorithm = new Prim(dense ? Prim.Strategy.DENSE : Prim.Strategy.LAZY);
+        Prim eagerPrimAlgorithm = new Prim(Prim.Strategy.EAGER);
+        Kruskal kruskalAlgorithm = new Kruskal();
+        Boruvka boruvkaAlgorithm = new Boruvka();
+        primAlgorithm.setMetrics(options.newMetrics());
+        eagerPrimAlgorithm.setMetrics(options.newMetrics());
+        kruskalAlgorithm.setMetrics(options.newMetrics());
+        boruvkaAlgorithm.setMetrics(options.newMetrics());
+        // All engines share the scratch buffers of this thread across graphs
+        MSTWorkspace workspace = MSTWorkspace.forCurrentThread();
+        primAlgorithm.setWorkspace(workspace);
+        eagerPrimAlgorithm.setWorkspace(workspace);
+        kruskalAlgorithm.setWorkspace(workspace);
+        boruvkaAlgorithm.setWorkspace(workspace);
+
+        Map<String, Supplier<Result>> algorithms = new LinkedHashMap<>();
+        algorithms.put("prim", () -> primAlgorithm.runPrim(graph));
+        algorithms.put("prim_eager", () -> eagerPrimAlgorithm.runPrim(graph));
+        algorithms.put("kruskal", () -> kruskalAlgorithm.runKruskal(graph));
+        algorithms.put("boruvka", () -> boruvkaAlgorithm.runBoruvka(graph));
+
+        // In measurement mode, run warm-up and measured rounds in shuffled order and keep the last results
+        Measurement measurement = new Measurement(algorithms);
+        if (options.isMeasurementMode()) {
+            measurement.run(options.getWarmup(), options.getRepetitions(), graph.getId());
+        } else {
+            measurement.run(0, 1, graph.getId());
+        }
+        Result primResult = measurement.result("prim");
+        Result eagerPrimResult = measurement.result("prim_eager");
+        Result kruskalResult = measurement.result("kruskal");
+        Result boruvkaResult = measurement.result("boruvka");
+
+        // Create output object and record input statistics
+        OutputGraph result = new OutputGraph(graph.getId(), new HashMap<>(), primResult, kruskalResult);
+        result.setPrim_eager(eagerPrimResult);
+        result.setBoruvka(boruvkaResult);
+        result.getInput_stats().put("vertices", graph.vertexCount());
+        result.getInput_stats().put("edges", graph.edgeCount());
+        result.getInput_stats().put("components", kruskalResult.components);
+        result.setComponents(SpanningForest.vertexSets(kruskalResult, graph));
+        if (options.isMeasurementMode()) {
+            result.setTimings(measurement.timings());
+        }
+        if (options.isSensitivity()) {
+            result.setSensitivity(SensitivityAnalysis.analyze(graph, kruskalResult));
+        }
+
+        // Compare the total costs of the MSTs and set a summary message
+        if (primResult.totalCost == kruskalResult.totalCost && eagerPrimResult.totalCost == kruskalResult.totalCost
+                && boruvkaResult.totalCost == kruskalResult.totalCost) {
+            result.setComparison_summary("MST total cost is identical (" + primResult.totalCost + "). Structures may differ."
+                    + (dense ? " Prim used the dense O(V²) variant." : "")
+                    + (kruskalResult.components > 1 ? " The graph has " + kruskalResult.components
+                    + " components, so every result is a minimum spanning forest." : ""));
+        } else {
+            result.setComparison_summary("MST costs differ: Prim = " + primResult.totalCost
+                    + ", eager Prim = " + eagerPrimResult.totalCost + ", Kruskal = " + kruskalResult.totalCost
+                    + ", Borůvka = " + boruvkaResult.totalCost);
+        }
+
+        return result;
     }
 
 }
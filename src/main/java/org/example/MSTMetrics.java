@@ -0,0 +1,93 @@
+package org.example;
+
+import java.util.Map;
+
+/**
+ * Receives fine-grained measurements from the MST algorithms: the time spent in
+ * each phase, counters of the hot-path operations and the largest heap size.
+ * Every method has an empty default, so the {@link #NOOP} instance used when no
+ * metrics are requested costs nothing once inlined by the JIT. Implementations are
+ * called from a single thread per run and need not be thread-safe.
+ */
+public interface MSTMetrics {
+
+    /**
+     * The phases an algorithm run or a comparison is divided into.
+     */
+    enum Phase {
+        /** Validating the input graph. */
+        VALIDATE,
+        /** Building the graph representation the algorithm works on. */
+        BUILD,
+        /** Sorting edges by weight. */
+        SORT,
+        /** The main loop that selects the tree edges. */
+        SEARCH,
+        /** Deriving the connected components from the forest. */
+        COMPONENTS
+    }
+
+    /**
+     * The hot-path operations that are counted.
+     */
+    enum Counter {
+        /** Entries added to a priority queue. */
+        HEAP_PUSH,
+        /** Entries removed from a priority queue. */
+        HEAP_POLL,
+        /** Keys lowered in place in an indexed heap. */
+        DECREASE_KEY,
+        /** Edges examined by the main loop. */
+        EDGE_SCAN,
+        /** Union-Find find calls. */
+        FIND,
+        /** Parent links followed by all find calls together. */
+        FIND_PATH_LENGTH,
+        /** Union-Find union calls. */
+        UNION,
+        /** Borůvka contraction rounds. */
+        ROUND
+    }
+
+    /** Metrics that record nothing. */
+    MSTMetrics NOOP = new MSTMetrics() {
+    };
+
+    /**
+     * Called when a run starts, before any other method.
+     */
+    default void start() {
+    }
+
+    default void phaseStart(Phase phase) {
+    }
+
+    default void phaseEnd(Phase phase) {
+    }
+
+    /**
+     * Adds to a counter.
+     *
+     * @param counter the counter
+     * @param amount  the amount to add
+     */
+    default void count(Counter counter, long amount) {
+    }
+
+    /**
+     * Reports the largest number of entries a priority queue held.
+     *
+     * @param size the high-water mark of the heap
+     */
+    default void heapHighWater(long size) {
+    }
+
+    /**
+     * Called when a run ends and returns the recorded values.
+     *
+     * @return the values by name, or null if nothing was recorded
+     */
+    default Map<String, Long> finish() {
+        return null;
+    }
+}
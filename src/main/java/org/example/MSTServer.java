@@ -0,0 +1,491 @@
+package org.example;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Long-running local HTTP server that answers MST comparison queries from a warm
+ * JVM. {@code POST /mst} accepts a graph in the {@link GraphData} JSON shape, a JSON
+ * array of graphs or an object with a {@code graphs} array, and responds with the
+ * {@link OutputGraph} of a single graph or an array of them in request order.
+ * {@code GET /health} answers {@code ok}, and {@code GET /stats} reports the request,
+ * batch and cache counters.
+ *
+ * <p>Every HTTP exchange is handled on its own virtual thread, which parses the
+ * request, waits for the results and writes the response. The comparisons themselves
+ * run on a fixed pool of platform workers so that their thread-confined
+ * {@link MSTWorkspace}s stay warm. A dispatcher hands the pending graphs to the
+ * workers in batches: it only takes graphs from the queue when a worker is free, so
+ * a graph arriving at an idle server starts at once, while under load everything
+ * that queued up meanwhile is split over the workers that are free at that moment.
+ *
+ * <p>The server also keeps incremental MST sessions backed by {@link DynamicMST},
+ * for clients that change a graph step by step and need the new forest at once:
+ * <ul>
+ *     <li>{@code POST /dynamic} with a graph with edges opens a session and returns its id;</li>
+ *     <li>{@code POST /dynamic/{id}} applies a JSON array of operations (or an object with an
+ *     {@code operations} array) in order: {@code {"op": "add", "from": "A", "to": "B", "weight": 5}},
+ *     {@code {"op": "update", "edge": 3, "weight": 9}} or {@code {"op": "remove", "edge": 3}}.
+ *     Edges of the initial graph are numbered by their position in its edge list, and added
+ *     edges get the following numbers, which are returned, so sessions keep parallel edges even
+ *     when the comparison options deduplicate graphs. An invalid operation fails the request,
+ *     but the operations before it stay applied;</li>
+ *     <li>{@code GET /dynamic/{id}} returns the current forest as a {@link Result};</li>
+ *     <li>{@code DELETE /dynamic/{id}} closes the session.</li>
+ * </ul>
+ * Session requests are answered on their virtual thread without going through the
+ * workers, since a change takes microseconds; requests to one session are serialized.
+ */
+public final class MSTServer implements Closeable {
+
+    /** Port the server listens on unless another one is given. */
+    public static final int DEFAULT_PORT = 8080;
+
+    /** Largest number of graphs handed to a worker at once. */
+    public static final int DEFAULT_MAX_BATCH = 64;
+
+    /** Largest number of incremental sessions open at the same time. */
+    public static final int MAX_SESSIONS = 1024;
+
+    private final HttpServer server;
+    private final ComparisonOptions options;
+    private final int maxBatch;
+    private final Gson gson = new Gson();
+
+    private final ExecutorService requestExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ExecutorService workers;
+    private final Semaphore freeWorkers;
+    private final BlockingQueue<Pending> pending = new LinkedBlockingQueue<>();
+    private final Thread dispatcher;
+    private final Map<Long, DynamicMST> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong nextSession = new AtomicLong();
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong graphs = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    /**
+     * A graph waiting for its comparison, and the future its request waits on.
+     */
+    private static final class Pending {
+        final GraphData graph;
+        final CompletableFuture<OutputGraph> result = new CompletableFuture<>();
+
+        Pending(GraphData graph) {
+            this.graph = graph;
+        }
+    }
+
+    /**
+     * One change sent to {@code POST /dynamic/{id}}; which fields are needed depends on {@code op}.
+     */
+    private static final class Operation {
+        String op;
+        String from;
+        String to;
+        Integer edge;
+        Integer weight;
+    }
+
+    /**
+     * Creates and starts a server bound to the loopback address.
+     *
+     * @param port     the port to listen on, or 0 for any free port
+     * @param workers  the number of worker threads running comparisons
+     * @param maxBatch the largest number of graphs handed to a worker at once
+     * @param options  the comparison options applied to every graph
+     * @throws IOException if the port cannot be bound
+     */
+    public MSTServer(int port, int workers, int maxBatch, ComparisonOptions options) throws IOException {
+        if (workers < 1 || maxBatch < 1) {
+            throw new IllegalArgumentException("Workers and batch size must be positive.");
+        }
+        this.options = options;
+        this.maxBatch = maxBatch;
+        this.workers = Executors.newFixedThreadPool(workers);
+        this.freeWorkers = new Semaphore(workers);
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/mst", this::handleCompare);
+        server.createContext("/dynamic", this::handleDynamic);
+        server.createContext("/health", exchange -> respond(exchange, 200, "ok", "text/plain"));
+        server.createContext("/stats", exchange -> respond(exchange, 200, statsJson(), "application/json"));
+        server.setExecutor(requestExecutor);
+
+        dispatcher = Thread.ofPlatform().name("mst-dispatcher").daemon().start(this::dispatch);
+        server.start();
+    }
+
+    /**
+     * Returns the port the server listens on, which is useful when it was created with port 0.
+     *
+     * @return the bound port
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Compares a graph on the worker pool, batched with other pending graphs.
+     *
+     * @param graph the graph to compare
+     * @return a future completed with the comparison or the exception it failed with
+     */
+    public CompletableFuture<OutputGraph> submit(GraphData graph) {
+        Pending p = new Pending(graph);
+        pending.add(p);
+        return p.result;
+    }
+
+    /**
+     * Hands the queued graphs to free workers until the server is closed. The backlog
+     * that queued up meanwhile is split evenly over all workers that are free at that
+     * moment, up to {@code maxBatch} graphs each, so a burst never waits on a single
+     * worker while others are idle.
+     */
+    private void dispatch() {
+        try {
+            while (true) {
+                freeWorkers.acquire();
+                List<Pending> backlog = new ArrayList<>();
+                backlog.add(pending.take());
+                int permits = 1 + freeWorkers.drainPermits();
+                pending.drainTo(backlog, permits * maxBatch - 1);
+
+                // Give back the permits of workers that get no graphs this round
+                int chunks = Math.min(permits, backlog.size());
+                freeWorkers.release(permits - chunks);
+                for (int c = 0; c < chunks; c++) {
+                    List<Pending> batch = backlog.subList(c * backlog.size() / chunks, (c + 1) * backlog.size() / chunks);
+                    batches.incrementAndGet();
+                    workers.execute(() -> {
+                        try {
+                            for (Pending p : batch) {
+                                compare(p);
+                            }
+                        } finally {
+                            freeWorkers.release();
+                        }
+                    });
+                }
+            }
+        } catch (InterruptedException e) {
+            // Closed: fail whatever is still queued
+            List<Pending> left = new ArrayList<>();
+            pending.drainTo(left);
+            for (Pending p : left) {
+                p.result.completeExceptionally(new IllegalStateException("Server is shutting down."));
+            }
+        }
+    }
+
+    /**
+     * Runs one comparison. Errors such as running out of memory on a huge graph fail
+     * only that graph's future, so the request waiting on it is always answered.
+     */
+    private void compare(Pending p) {
+        try {
+            p.result.complete(MSTComparison.compareMSTs(p.graph, options));
+        } catch (Throwable e) {
+            p.result.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Handles {@code POST /mst} on a virtual thread.
+     */
+    private void handleCompare(HttpExchange exchange) throws IOException {
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            respond(exchange, 405, error("Use POST with a graph in the request body."), "application/json");
+            return;
+        }
+        requests.incrementAndGet();
+
+        // Parse one graph, an array of graphs or an object holding a graphs array
+        List<GraphData> input = new ArrayList<>();
+        boolean single;
+        try {
+            JsonElement body = JsonParser.parseString(new String(exchange.getRequestBody().readAllBytes(),
+                    StandardCharsets.UTF_8));
+            if (body.isJsonObject() && body.getAsJsonObject().has("graphs")) {
+                body = body.getAsJsonObject().get("graphs");
+            }
+            single = !body.isJsonArray();
+            if (single) {
+                input.add(gson.fromJson(body, GraphData.class));
+            } else {
+                for (JsonElement element : body.getAsJsonArray()) {
+                    input.add(gson.fromJson(element, GraphData.class));
+                }
+            }
+            for (GraphData graph : input) {
+                if (graph == null || graph.getNodes() == null || (graph.getEdges() == null && !graph.isEuclidean())) {
+                    throw new JsonParseException("Every graph needs nodes and edges or coordinates.");
+                }
+            }
+        } catch (JsonParseException | IllegalStateException e) {
+            failures.incrementAndGet();
+            respond(exchange, 400, error("Malformed request: " + e.getMessage()), "application/json");
+            return;
+        }
+        graphs.addAndGet(input.size());
+
+        List<CompletableFuture<OutputGraph>> futures = new ArrayList<>(input.size());
+        for (GraphData graph : input) {
+            futures.add(submit(graph));
+        }
+        List<OutputGraph> results = new ArrayList<>(input.size());
+        try {
+            for (CompletableFuture<OutputGraph> future : futures) {
+                results.add(future.get());
+            }
+        } catch (ExecutionException e) {
+            failures.incrementAndGet();
+            int status = e.getCause() instanceof IllegalArgumentException ? 400 : 500;
+            String message = e.getCause().getMessage() != null ? e.getCause().getMessage() : e.getCause().toString();
+            respond(exchange, status, error(message), "application/json");
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            respond(exchange, 503, error("Interrupted."), "application/json");
+            return;
+        }
+        respond(exchange, 200, single ? gson.toJson(results.get(0)) : gson.toJson(results), "application/json");
+    }
+
+    /**
+     * Handles the incremental session requests under {@code /dynamic} on a virtual thread.
+     */
+    private void handleDynamic(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        String path = exchange.getRequestURI().getPath();
+        String method = exchange.getRequestMethod();
+        if (path.equals("/dynamic") || path.equals("/dynamic/")) {
+            if (!"POST".equals(method)) {
+                respond(exchange, 405, error("Use POST with a graph to open a session."), "application/json");
+                return;
+            }
+            openSession(exchange);
+            return;
+        }
+
+        long id;
+        try {
+            id = Long.parseLong(path.substring("/dynamic/".length()));
+        } catch (NumberFormatException e) {
+            respond(exchange, 404, error("Unknown path " + path), "application/json");
+            return;
+        }
+        DynamicMST mst = sessions.get(id);
+        if (mst == null) {
+            respond(exchange, 404, error("No open session " + id), "application/json");
+            return;
+        }
+        switch (method) {
+            case "GET": {
+                String forest;
+                synchronized (mst) {
+                    forest = gson.toJson(mst.toResult());
+                }
+                respond(exchange, 200, forest, "application/json");
+                break;
+            }
+            case "POST":
+                applyOperations(exchange, id, mst);
+                break;
+            case "DELETE": {
+                sessions.remove(id);
+                String summary;
+                synchronized (mst) {
+                    summary = sessionJson(id, mst, null);
+                }
+                respond(exchange, 200, summary, "application/json");
+                break;
+            }
+            default:
+                respond(exchange, 405, error("Use GET, POST or DELETE on a session."), "application/json");
+        }
+    }
+
+    /**
+     * Builds a session from the graph in the request body.
+     */
+    private void openSession(HttpExchange exchange) throws IOException {
+        if (sessions.size() >= MAX_SESSIONS) {
+            failures.incrementAndGet();
+            respond(exchange, 503, error("Too many open sessions; close one with DELETE /dynamic/{id}."),
+                    "application/json");
+            return;
+        }
+        DynamicMST mst;
+        try {
+            GraphData graph = gson.fromJson(new String(exchange.getRequestBody().readAllBytes(),
+                    StandardCharsets.UTF_8), GraphData.class);
+            if (graph == null || graph.getNodes() == null || graph.getEdges() == null) {
+                throw new JsonParseException("A session needs a graph with nodes and edges.");
+            }
+            mst = new DynamicMST(IndexedGraph.fromGraphData(graph));
+        } catch (JsonParseException | IllegalStateException e) {
+            failures.incrementAndGet();
+            respond(exchange, 400, error("Malformed request: " + e.getMessage()), "application/json");
+            return;
+        } catch (IllegalArgumentException e) {
+            failures.incrementAndGet();
+            respond(exchange, 400, error(e.getMessage()), "application/json");
+            return;
+        }
+        long id = nextSession.incrementAndGet();
+        sessions.put(id, mst);
+        respond(exchange, 200, sessionJson(id, mst, null), "application/json");
+    }
+
+    /**
+     * Applies the operations in the request body to a session, in order.
+     */
+    private void applyOperations(HttpExchange exchange, long id, DynamicMST mst) throws IOException {
+        Operation[] operations;
+        try {
+            JsonElement body = JsonParser.parseString(new String(exchange.getRequestBody().readAllBytes(),
+                    StandardCharsets.UTF_8));
+            if (body.isJsonObject() && body.getAsJsonObject().has("operations")) {
+                body = body.getAsJsonObject().get("operations");
+            }
+            operations = gson.fromJson(body, Operation[].class);
+            if (operations == null) {
+                throw new JsonParseException("Expected an array of operations.");
+            }
+        } catch (JsonParseException | IllegalStateException e) {
+            failures.incrementAndGet();
+            respond(exchange, 400, error("Malformed request: " + e.getMessage()), "application/json");
+            return;
+        }
+
+        List<Integer> added = new ArrayList<>();
+        String summary;
+        synchronized (mst) {
+            for (int i = 0; i < operations.length; i++) {
+                try {
+                    Integer edge = apply(mst, operations[i]);
+                    if (edge != null) {
+                        added.add(edge);
+                    }
+                } catch (IllegalArgumentException e) {
+                    failures.incrementAndGet();
+                    respond(exchange, 400, error("Operation " + i + ": " + e.getMessage()), "application/json");
+                    return;
+                }
+            }
+            summary = sessionJson(id, mst, added);
+        }
+        respond(exchange, 200, summary, "application/json");
+    }
+
+    /**
+     * Applies one operation and returns the id of the edge it added, if any.
+     */
+    private static Integer apply(DynamicMST mst, Operation operation) {
+        if (operation == null || operation.op == null) {
+            throw new IllegalArgumentException("missing op");
+        }
+        switch (operation.op) {
+            case "add":
+                if (operation.from == null || operation.to == null || operation.weight == null) {
+                    throw new IllegalArgumentException("add needs from, to and weight");
+                }
+                return mst.addEdge(operation.from, operation.to, operation.weight);
+            case "update":
+                if (operation.edge == null || operation.weight == null) {
+                    throw new IllegalArgumentException("update needs edge and weight");
+                }
+                mst.updateWeight(operation.edge, operation.weight);
+                return null;
+            case "remove":
+                if (operation.edge == null) {
+                    throw new IllegalArgumentException("remove needs edge");
+                }
+                mst.removeEdge(operation.edge);
+                return null;
+            default:
+                throw new IllegalArgumentException("unknown op " + operation.op + ", expected add, update or remove");
+        }
+    }
+
+    private String sessionJson(long id, DynamicMST mst, List<Integer> added) {
+        JsonObject json = new JsonObject();
+        json.addProperty("session", id);
+        json.addProperty("total_cost", mst.getTotalCost());
+        json.addProperty("tree_edges", mst.getTreeEdgeCount());
+        json.addProperty("components", mst.getComponentCount());
+        if (added != null) {
+            json.add("added_edges", gson.toJsonTree(added));
+        }
+        return gson.toJson(json);
+    }
+
+    private String error(String message) {
+        JsonObject error = new JsonObject();
+        error.addProperty("error", message);
+        return gson.toJson(error);
+    }
+
+    private String statsJson() {
+        JsonObject stats = new JsonObject();
+        stats.addProperty("requests", requests.get());
+        stats.addProperty("graphs", graphs.get());
+        stats.addProperty("batches", batches.get());
+        stats.addProperty("failures", failures.get());
+        stats.addProperty("queued", pending.size());
+        stats.addProperty("sessions", sessions.size());
+        if (options.getCache() != null) {
+            stats.addProperty("cache", options.getCache().stats());
+        }
+        return gson.toJson(stats);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body, String contentType) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType + "; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Stops accepting requests, fails the graphs still queued, drops the open sessions
+     * and shuts down the threads.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        sessions.clear();
+        dispatcher.interrupt();
+        workers.shutdown();
+        requestExecutor.shutdown();
+    }
+}
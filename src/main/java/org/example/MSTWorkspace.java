@@ -0,0 +1,223 @@
+package org.example;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Scratch memory shared by consecutive MST runs on the same thread. Every buffer
+ * grows to the largest graph seen so far and is then reused, so that processing a
+ * stream of graphs allocates little more than the results themselves once the
+ * buffers have reached their working size.
+ *
+ * <p>A workspace is not thread-safe and its buffers are only valid until the next
+ * request for the same buffer; an algorithm must not hand them out beyond its run.
+ * {@link #forCurrentThread()} returns the workspace of the calling thread, and
+ * {@link #borrow()} a further one for work that may interleave with other runs on
+ * the same thread.
+ */
+public final class MSTWorkspace {
+
+    /**
+     * The int buffers of a workspace. Buffers with different names never share memory,
+     * so an algorithm may hold several of them at the same time.
+     */
+    enum Buffer {
+        /** Edge ids in processing order. */
+        EDGE_ORDER,
+        /** Second edge-sized buffer, e.g. for the radix sort's scatter pass. */
+        EDGE_SCRATCH,
+        /** Edge id of the cheapest known connection of each vertex. */
+        BEST_EDGE,
+        /** Key of each vertex. */
+        VERTEX_KEY,
+        /** Second vertex-sized buffer. */
+        VERTEX_SCRATCH,
+        /** Edge ids of the forest edges, in the order they were added to the result. */
+        TREE_EDGES
+    }
+
+    /**
+     * Largest dense Prim matrix, in entries, that is kept for reuse (16 MB). Bigger
+     * matrices are allocated per run so that one large graph does not pin hundreds
+     * of megabytes per thread for the rest of a batch.
+     */
+    static final int MAX_RETAINED_MATRIX = 1 << 22;
+
+    private static final ThreadLocal<MSTWorkspace> CURRENT = ThreadLocal.withInitial(MSTWorkspace::new);
+    private static final ThreadLocal<ArrayDeque<MSTWorkspace>> SPARE = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private final int[][] buffers = new int[Buffer.values().length][];
+    private long[] longs = new long[0];
+    private long[] bits = new long[0];
+    private int[] matrix = new int[0];
+    private final int[] radixCount = new int[256];
+    private UnionFind unionFind = new UnionFind(0);
+    private ConcurrentUnionFind concurrentUnionFind = new ConcurrentUnionFind(0);
+    private AtomicLongArray atomicLongs = new AtomicLongArray(0);
+    private Prim.LongMinHeap lazyHeap;
+    private IndexedDaryHeap indexedHeap;
+    private int indexedHeapCapacity;
+    private int indexedHeapArity;
+
+    /**
+     * Returns the workspace of the calling thread, creating it on first use.
+     *
+     * @return the workspace confined to the current thread
+     */
+    public static MSTWorkspace forCurrentThread() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Borrows a workspace kept by the calling thread besides its own, for a run that
+     * the thread may interrupt to run other work, e.g. a fork-join worker joining a
+     * task. Each nested run gets a workspace of its own, and once a thread has reached
+     * its deepest nesting, borrowing allocates nothing.
+     *
+     * @return a workspace to be returned with {@link #giveBack(MSTWorkspace)} by the same thread
+     */
+    static MSTWorkspace borrow() {
+        MSTWorkspace spare = SPARE.get().poll();
+        return spare != null ? spare : new MSTWorkspace();
+    }
+
+    /**
+     * Returns a workspace obtained from {@link #borrow()} for later runs on this thread.
+     */
+    static void giveBack(MSTWorkspace workspace) {
+        SPARE.get().push(workspace);
+    }
+
+    /**
+     * Returns an int buffer with room for at least {@code length} values. The contents
+     * are left over from earlier use.
+     */
+    int[] ints(Buffer buffer, int length) {
+        int[] array = buffers[buffer.ordinal()];
+        if (array == null || array.length < length) {
+            array = new int[length];
+            buffers[buffer.ordinal()] = array;
+        }
+        return array;
+    }
+
+    /**
+     * Returns a long buffer with room for at least {@code length} values. The contents
+     * are left over from earlier use.
+     */
+    long[] longs(int length) {
+        if (longs.length < length) {
+            longs = new long[length];
+        }
+        return longs;
+    }
+
+    /**
+     * Returns an int buffer for a dense Prim matrix with at least {@code length}
+     * entries, reused if it is at most {@link #MAX_RETAINED_MATRIX} entries long. The
+     * contents are left over from earlier use.
+     */
+    int[] matrix(int length) {
+        if (length > MAX_RETAINED_MATRIX) {
+            return new int[length];
+        }
+        if (matrix.length < length) {
+            matrix = new int[length];
+        }
+        return matrix;
+    }
+
+    /**
+     * Returns a bitset with at least {@code n} bits, all cleared.
+     */
+    long[] clearedBits(int n) {
+        int words = (n + 63) >>> 6;
+        if (bits.length < words) {
+            bits = new long[words];
+        } else {
+            Arrays.fill(bits, 0, words, 0L);
+        }
+        return bits;
+    }
+
+    /**
+     * Returns the 256-entry histogram of the radix sort.
+     */
+    int[] radixCount() {
+        return radixCount;
+    }
+
+    /**
+     * Returns the workspace's union-find, reset to {@code n} singleton sets.
+     */
+    UnionFind unionFind(int n) {
+        unionFind.reset(n);
+        return unionFind;
+    }
+
+    /**
+     * Returns the workspace's concurrent union-find, reset to {@code n} singleton sets.
+     * Only the structure itself may be shared with other threads, and only until the
+     * run that requested it ends.
+     */
+    ConcurrentUnionFind concurrentUnionFind(int n) {
+        concurrentUnionFind.reset(n);
+        return concurrentUnionFind;
+    }
+
+    /**
+     * Returns an atomic long array with room for at least {@code length} values. The
+     * contents are left over from earlier use.
+     */
+    AtomicLongArray atomicLongs(int length) {
+        if (atomicLongs.length() < length) {
+            atomicLongs = new AtomicLongArray(length);
+        }
+        return atomicLongs;
+    }
+
+    /**
+     * Returns an empty heap of packed longs for lazy Prim.
+     */
+    Prim.LongMinHeap lazyHeap(int capacity) {
+        if (lazyHeap == null) {
+            lazyHeap = new Prim.LongMinHeap(capacity);
+        } else {
+            lazyHeap.clear();
+        }
+        return lazyHeap;
+    }
+
+    /**
+     * Returns an empty indexed heap for items {@code 0..capacity-1}, replacing the
+     * current one only if it is too small or has a different arity.
+     */
+    IndexedDaryHeap indexedHeap(int capacity, int arity) {
+        if (indexedHeap == null || indexedHeapCapacity < capacity || indexedHeapArity != arity) {
+            indexedHeap = new IndexedDaryHeap(capacity, arity);
+            indexedHeapCapacity = capacity;
+            indexedHeapArity = arity;
+        } else {
+            indexedHeap.clear();
+        }
+        return indexedHeap;
+    }
+
+    /**
+     * Drops every buffer, e.g. after an unusually large graph whose buffers should
+     * not stay reachable for the rest of the batch.
+     */
+    public void release() {
+        Arrays.fill(buffers, null);
+        longs = new long[0];
+        bits = new long[0];
+        matrix = new int[0];
+        unionFind = new UnionFind(0);
+        concurrentUnionFind = new ConcurrentUnionFind(0);
+        atomicLongs = new AtomicLongArray(0);
+        lazyHeap = null;
+        indexedHeap = null;
+        indexedHeapCapacity = 0;
+    }
+}
@@ -1,15 +1,261 @@
 package org.example;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Scanner;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Stream;
 
-import static org.example.Json.readGraphsFromJson;
-import static org.example.Json.writeResultsToJson;
-import static org.example.MSTComparison.compareMSTs;
+import static org.example.Json.streamGraphsFromJson;
 
 public class Main {
+
+    private static final int DEFAULT_CACHE_ENTRIES = 1_000;
+    private static final long DEFAULT_CACHE_EDGES = 10_000_000L;
+
+    /**
+     * Entry point. Without arguments the input file is chosen interactively.
+     * Supported options:
+     * <ul>
+     *     <li>{@code --input=<file>} reads graphs from the given file without prompting;
+     *     files ending in {@code .bin} are read as binary graph files;</li>
+     *     <li>{@code --output=<file>} writes results to the given file (default output.json);</li>
+     *     <li>{@code --compact} writes the results as compact JSON with a hand-written serializer;</li>
+     *     <li>{@code --edges=<full|omit|binary>} writes the MST edge lists inline (default), leaves them
+     *     out, or stores them in a binary side file named after the output plus {@code .edges};
+     *     implies {@code --compact};</li>
+     *     <li>{@code --workers=<n>} compares up to n graphs concurrently (default: number of cores);</li>
+     *     <li>{@code --queue=<n>} bounds the graphs read but not yet written (default: 4 per worker);</li>
+     *     <li>{@code --convert=<file>} converts the JSON input to a binary graph file and exits;</li>
+     *     <li>{@code --external=<file>} computes the minimum spanning forest of an edge file larger than
+     *     the heap with {@link ExternalKruskal} and writes its edges to the output as an edge file
+     *     (default mst_edges.bin);</li>
+     *     <li>{@code --run-edges=<n>} sorts n edges in memory per run of {@code --external}
+     *     (default 4194304);</li>
+     *     <li>{@code --dedupe} replaces parallel edges of JSON graphs, read from the input or posted to the
+     *     server, by the lightest one and lists repeated node names once before comparing; it is
+     *     rejected for binary input and {@code --convert};</li>
+     *     <li>{@code --cache=<n>} reuses results for graphs with identical content, keeping up to n graphs;</li>
+     *     <li>{@code --server} or {@code --server=<port>} runs a local HTTP server answering
+     *     {@code POST /mst} queries and incremental {@code /dynamic} sessions instead of processing
+     *     a file (default port 8080); the comparison options and {@code --workers} apply to every query;</li>
+     *     <li>{@code --cache-file=<file>} loads the result cache from the file and saves it back afterwards
+     *     (enables the cache);</li>
+     *     <li>{@code --metrics} adds phase timings and operation counters to every result;</li>
+     *     <li>{@code --sensitivity} adds, for every edge, its replacement and tolerance (tree edges)
+     *     or the tree-path weight it must beat (non-tree edges);</li>
+     *     <li>{@code --warmup=<n>} runs every algorithm n times unmeasured before measuring (default 0);</li>
+     *     <li>{@code --repetitions=<n>} measures n runs of every algorithm in shuffled order and reports
+     *     min/median/p99/stddev and GC activity (default 1); use {@code --workers=1} for precise numbers.</li>
+     * </ul>
+     */
     public static void main(String[] args) {
+        String inputFile = null;
+        String outputFile = null;
+        int workers = Runtime.getRuntime().availableProcessors();
+        int queueCapacity = -1;
+        String binaryFile = null;
+        int cacheEntries = 0;
+        String cacheFile = null;
+        int serverPort = -1;
+        CompactResultWriter.EdgeOutput edgeOutput = null;
+        String edgeFile = null;
+        int runEdges = ExternalKruskal.DEFAULT_RUN_EDGES;
+        ComparisonOptions options = new ComparisonOptions();
+
+        for (String arg : args) {
+            if (arg.startsWith("--input=")) {
+                inputFile = arg.substring("--input=".length());
+            } else if (arg.startsWith("--output=")) {
+                outputFile = arg.substring("--output=".length());
+            } else if (arg.equals("--compact")) {
+                if (edgeOutput == null) edgeOutput = CompactResultWriter.EdgeOutput.FULL;
+            } else if (arg.startsWith("--edges=")) {
+                try {
+                    edgeOutput = CompactResultWriter.EdgeOutput.valueOf(arg.substring("--edges=".length()).toUpperCase());
+                } catch (IllegalArgumentException e) {
+                    System.out.println("Unknown option: " + arg);
+                    return;
+                }
+            } else if (arg.startsWith("--workers=")) {
+                workers = Integer.parseInt(arg.substring("--workers=".length()));
+            } else if (arg.startsWith("--queue=")) {
+                queueCapacity = Integer.parseInt(arg.substring("--queue=".length()));
+            } else if (arg.startsWith("--convert=")) {
+                binaryFile = arg.substring("--convert=".length());
+            } else if (arg.startsWith("--external=")) {
+                edgeFile = arg.substring("--external=".length());
+            } else if (arg.startsWith("--run-edges=")) {
+                runEdges = Integer.parseInt(arg.substring("--run-edges=".length()));
+            } else if (arg.equals("--metrics")) {
+                options.setMetrics(true);
+            } else if (arg.startsWith("--warmup=")) {
+                options.setWarmup(Integer.parseInt(arg.substring("--warmup=".length())));
+            } else if (arg.startsWith("--repetitions=")) {
+                options.setRepetitions(Integer.parseInt(arg.substring("--repetitions=".length())));
+            } else if (arg.equals("--sensitivity")) {
+                options.setSensitivity(true);
+            } else if (arg.equals("--server")) {
+                serverPort = MSTServer.DEFAULT_PORT;
+            } else if (arg.startsWith("--server=")) {
+                serverPort = Integer.parseInt(arg.substring("--server=".length()));
+            } else if (arg.equals("--dedupe")) {
+                options.setDeduplicate(true);
+            } else if (arg.startsWith("--cache=")) {
+                cacheEntries = Integer.parseInt(arg.substring("--cache=".length()));
+            } else if (arg.startsWith("--cache-file=")) {
+                cacheFile = arg.substring("--cache-file=".length());
+            } else {
+                System.out.println("Unknown option: " + arg);
+                return;
+            }
+        }
+        if (edgeFile != null) {
+            runExternal(edgeFile, outputFile != null ? outputFile : "mst_edges.bin", runEdges);
+            return;
+        }
+        if (outputFile == null) {
+            outputFile = "output.json";
+        }
+        if (inputFile == null && serverPort < 0) {
+            inputFile = chooseInputFile();
+        }
+        if (queueCapacity < 0) {
+            queueCapacity = 4 * workers;
+        }
+
+        // Binary graphs are stored and compared as indexed, so they cannot be deduplicated
+        if (options.isDeduplicate() && (binaryFile != null || inputFile.endsWith(".bin"))) {
+            System.out.println("--dedupe applies to JSON graphs only and cannot be combined with "
+                    + (binaryFile != null ? "--convert." : "binary input."));
+            return;
+        }
+
+        if (binaryFile != null) {
+            try {
+                int count = BinaryGraphFile.convertJson(inputFile, Path.of(binaryFile));
+                System.out.println("Converted " + count + " graphs to " + binaryFile);
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+            return;
+        }
+
+        // Results of repeated graphs are served from the cache when enabled
+        MSTCache cache = null;
+        if (cacheEntries > 0 || cacheFile != null) {
+            cache = new MSTCache(cacheEntries > 0 ? cacheEntries : DEFAULT_CACHE_ENTRIES, DEFAULT_CACHE_EDGES);
+            if (cacheFile != null) {
+                try {
+                    cache.load(Path.of(cacheFile));
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+        options.setCache(cache);
+
+        if (serverPort >= 0) {
+            runServer(serverPort, workers, options, cacheFile);
+            return;
+        }
+
+        if (inputFile.endsWith(".bin")) {
+            // Binary graphs are mapped one at a time as the pipeline asks for them and need no validation pass
+            try (BinaryGraphFile.Reader graphs = BinaryGraphFile.open(Path.of(inputFile));
+                 ResultWriter writer = openResultWriter(outputFile, edgeOutput)) {
+                BatchPipeline.forIndexedGraphs(workers, queueCapacity, options).run(graphs, writer::write);
+            } catch (Exception e) {
+                e.printStackTrace();
+                return;
+            }
+        } else {
+            // Parse, compare and write concurrently; only a bounded number of graphs is in memory
+            try (Stream<GraphData> graphs = streamGraphsFromJson(inputFile);
+                 ResultWriter writer = openResultWriter(outputFile, edgeOutput)) {
+                BatchPipeline.forGraphData(workers, queueCapacity, options).run(graphs.iterator(), writer::write);
+            } catch (Exception e) {
+                e.printStackTrace();
+                return;
+            }
+        }
+        System.out.println("Comparison completed. Results saved to " + outputFile);
+
+        if (cache != null) {
+            System.out.println(cache.stats());
+            if (cacheFile != null) {
+                try {
+                    cache.save(Path.of(cacheFile));
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+    /**
+     * Opens the pretty-printing Gson writer, or the compact writer if an edge output was chosen.
+     */
+    private static ResultWriter openResultWriter(String outputFile, CompactResultWriter.EdgeOutput edgeOutput)
+            throws IOException {
+        return edgeOutput == null ? Json.openResultWriter(outputFile) : Json.openCompactResultWriter(outputFile, edgeOutput);
+    }
+
+    /**
+     * Computes the minimum spanning forest of an edge file out of core and streams its
+     * edges to another edge file.
+     */
+    private static void runExternal(String edgeFile, String outputFile, int runEdges) {
+        try (ExternalKruskal.EdgeFileWriter writer = new ExternalKruskal.EdgeFileWriter(Path.of(outputFile))) {
+            ExternalKruskal kruskal = new ExternalKruskal(runEdges, Path.of(outputFile).toAbsolutePath().getParent());
+            ExternalKruskal.Summary summary = kruskal.run(Path.of(edgeFile), -1, writer);
+            System.out.println("External Kruskal: " + summary.edges + " edges in " + summary.runs + " runs, "
+                    + summary.treeEdges + " forest edges, total cost " + summary.totalCost + ", "
+                    + summary.components + " components, " + summary.executionTimeMs + " ms");
+            System.out.println("Forest edges saved to " + outputFile);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Runs the query server until the process is terminated, then saves the cache
+     * if a cache file was given.
+     */
+    private static void runServer(int port, int workers, ComparisonOptions options, String cacheFile) {
+        MSTServer server;
+        try {
+            server = new MSTServer(port, workers, MSTServer.DEFAULT_MAX_BATCH, options);
+        } catch (Exception e) {
+            e.printStackTrace();
+            return;
+        }
+        CountDownLatch stopped = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            if (options.getCache() != null && cacheFile != null) {
+                try {
+                    options.getCache().save(Path.of(cacheFile));
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+            }
+            stopped.countDown();
+        }));
+        System.out.println("MST server listening on http://localhost:" + server.getPort() + "/mst");
+        try {
+            stopped.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Asks the user for a difficulty level and returns the matching input file.
+     *
+     * @return the path of the input file to read
+     */
+    private static String chooseInputFile() {
         Scanner scanner = new Scanner(System.in);
         System.out.println("Select graph difficulty level:");
         System.out.println("1 - Easy");
@@ -34,15 +280,6 @@ public class Main {
                 System.out.println("Invalid choice. Using default input.json file.");
                 inputFile = "input.json";
         }
-
-        List<GraphData> graphs = readGraphsFromJson(inputFile);
-        List<OutputGraph> results = new ArrayList<>();
-
-        for (GraphData graph : graphs) {
-            results.add(compareMSTs(graph));
-        }
-
-        writeResultsToJson(results, "output.json");
-        System.out.println("Comparison completed. Results saved to output.json");
+        return inputFile;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,104 @@
+package org.example;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Runs a set of algorithms repeatedly on the same graph: first the configured
+ * number of warm-up rounds, then the measured rounds. Every round runs each
+ * algorithm once; when there is more than one round, the order is shuffled anew
+ * for each round, so that no algorithm
+ * consistently benefits from running first or after another one. Garbage
+ * collections are attributed to the algorithm during whose run they completed;
+ * collections triggered by other threads, such as other batch workers, are
+ * attributed as well, so precise numbers need a single worker.
+ */
+final class Measurement {
+
+    private final Map<String, Supplier<Result>> algorithms;
+    private final Map<String, Result> results = new LinkedHashMap<>();
+    private final Map<String, TimingStats> timings = new LinkedHashMap<>();
+
+    /**
+     * @param algorithms the algorithms to run by output name, in reporting order
+     */
+    Measurement(Map<String, Supplier<Result>> algorithms) {
+        this.algorithms = algorithms;
+    }
+
+    /**
+     * Performs the warm-up and measured rounds.
+     *
+     * @param warmup      the number of unmeasured rounds
+     * @param repetitions the number of measured rounds, at least one
+     * @param seed        the seed of the order shuffling
+     */
+    void run(int warmup, int repetitions, long seed) {
+        List<String> order = new ArrayList<>(algorithms.keySet());
+        Random random = new Random(seed);
+        Map<String, double[]> samples = new LinkedHashMap<>();
+        Map<String, long[]> gc = new LinkedHashMap<>();  // collection count and time per algorithm
+        for (String name : order) {
+            samples.put(name, new double[repetitions]);
+            gc.put(name, new long[2]);
+        }
+
+        for (int round = 0; round < warmup + repetitions; round++) {
+            if (warmup + repetitions > 1) {
+                Collections.shuffle(order, random);
+            }
+            for (String name : order) {
+                long gcCountBefore = gcCount();
+                long gcTimeBefore = gcTimeMs();
+                Result result = algorithms.get(name).get();
+                if (round >= warmup) {
+                    samples.get(name)[round - warmup] = result.executionTimeMs;
+                    gc.get(name)[0] += gcCount() - gcCountBefore;
+                    gc.get(name)[1] += gcTimeMs() - gcTimeBefore;
+                }
+                results.put(name, result);
+            }
+        }
+
+        for (String name : algorithms.keySet()) {
+            timings.put(name, TimingStats.of(samples.get(name), warmup, gc.get(name)[0], gc.get(name)[1]));
+        }
+    }
+
+    /**
+     * Returns the result of the last measured run of an algorithm.
+     */
+    Result result(String name) {
+        return results.get(name);
+    }
+
+    /**
+     * Returns the timing statistics of every algorithm, in reporting order.
+     */
+    Map<String, TimingStats> timings() {
+        return timings;
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, bean.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static long gcTimeMs() {
+        long time = 0;
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            time += Math.max(0, bean.getCollectionTime());
+        }
+        return time;
+    }
+}
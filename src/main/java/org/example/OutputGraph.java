@@ -1,19 +1,29 @@
 package org.example;
 
+import java.util.List;
 import java.util.Map;
 
 /**
  * Represents the output result for a single graph, including MST results
- * obtained from both Prim's and Kruskal's algorithms, as well as basic
- * graph statistics and a summary comparing the two algorithms.
+ * obtained from Prim's, Kruskal's and Borůvka's algorithms, as well as basic
+ * graph statistics, the vertex sets of the connected components, an optional
+ * per-edge sensitivity analysis, the results of every weight scenario and a
+ * summary comparing the algorithms.
  */
 public class OutputGraph {
 
     private int graph_id;
     private Map<String, Integer> input_stats;
+    private List<List<String>> components;
     private Result prim;
+    private Result prim_eager;
     private Result kruskal;
+    private Result boruvka;
     private String comparison_summary;
+    private Map<String, TimingStats> timings;
+    private Map<String, Long> metrics;
+    private List<EdgeSensitivity> sensitivity;
+    private Map<String, OutputGraph> scenarios;
 
     /**
      * Constructs an OutputGraph object to store the results of Prim's and Kruskal's algorithms
@@ -55,6 +65,14 @@ public class OutputGraph {
         this.input_stats = input_stats;
     }
 
+    public List<List<String>> getComponents() {
+        return components;
+    }
+
+    public void setComponents(List<List<String>> components) {
+        this.components = components;
+    }
+
     public Result getKruskal() {
         return kruskal;
     }
@@ -63,6 +81,14 @@ public class OutputGraph {
         this.kruskal = kruskal;
     }
 
+    public Result getBoruvka() {
+        return boruvka;
+    }
+
+    public void setBoruvka(Result boruvka) {
+        this.boruvka = boruvka;
+    }
+
     public Result getPrim() {
         return prim;
     }
@@ -70,4 +96,44 @@ public class OutputGraph {
     public void setPrim(Result prim) {
         this.prim = prim;
     }
+
+    public Map<String, TimingStats> getTimings() {
+        return timings;
+    }
+
+    public void setTimings(Map<String, TimingStats> timings) {
+        this.timings = timings;
+    }
+
+    public Map<String, Long> getMetrics() {
+        return metrics;
+    }
+
+    public void setMetrics(Map<String, Long> metrics) {
+        this.metrics = metrics;
+    }
+
+    public List<EdgeSensitivity> getSensitivity() {
+        return sensitivity;
+    }
+
+    public void setSensitivity(List<EdgeSensitivity> sensitivity) {
+        this.sensitivity = sensitivity;
+    }
+
+    public Map<String, OutputGraph> getScenarios() {
+        return scenarios;
+    }
+
+    public void setScenarios(Map<String, OutputGraph> scenarios) {
+        this.scenarios = scenarios;
+    }
+
+    public Result getPrim_eager() {
+        return prim_eager;
+    }
+
+    public void setPrim_eager(Result prim_eager) {
+        this.prim_eager = prim_eager;
+    }
 }
\ No newline at end of file
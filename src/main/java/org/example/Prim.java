@@ -6,10 +6,105 @@ import java.util.*;
  * Implements Prim’s algorithm for finding the Minimum Spanning Tree (MST)
  * in a weighted undirected graph. It starts from an arbitrary node and
  * grows the MST by repeatedly adding the smallest edge connecting the tree
- * to a vertex not yet included.
+ * to a vertex not yet included. When the tree cannot grow further, it restarts
+ * from the first vertex not yet included, so that a disconnected graph yields a
+ * minimum spanning forest.
  */
 public class Prim {
 
+    /**
+     * Selects how the indexed variant of Prim’s algorithm keeps its frontier.
+     */
+    public enum Strategy {
+        /** Pushes every candidate edge into a heap and skips stale entries when polled. */
+        LAZY,
+        /** Keeps at most one heap entry per vertex and lowers its key in place. */
+        EAGER,
+        /**
+         * Keeps the graph in an adjacency matrix and finds the next vertex by scanning
+         * an array of keys instead of using a heap: O(V²), which is optimal for
+         * complete and near-complete graphs. Graphs with more than
+         * {@link #DENSE_VERTEX_LIMIT} vertices are rejected.
+         */
+        DENSE
+    }
+
+    /** Default number of children per node of the eager Prim heap. */
+    public static final int DEFAULT_HEAP_ARITY = 4;
+
+    /** Edge density (fraction of all vertex pairs) from which the dense strategy is preferred. */
+    public static final double DENSE_THRESHOLD = 0.25;
+
+    /** Largest graph the dense strategy ever builds a matrix for (4096² edge ids take 64 MB). */
+    public static final int DENSE_MAX_VERTICES = 4096;
+
+    /**
+     * Largest graph the dense strategy runs on in this JVM: at most
+     * {@link #DENSE_MAX_VERTICES}, and less on small heaps, so that one matrix per core
+     * (the default number of comparison workers) fits in a quarter of the maximum heap.
+     */
+    public static final int DENSE_VERTEX_LIMIT =
+            denseVertexLimit(Runtime.getRuntime().maxMemory(), Runtime.getRuntime().availableProcessors());
+
+    private final Strategy strategy;
+    private final int heapArity;
+    private MSTMetrics metrics = MSTMetrics.NOOP;
+    // Heaps and arrays reused across runs; this makes a Prim instance unsuitable for concurrent use
+    private MSTWorkspace workspace = new MSTWorkspace();
+
+    /**
+     * Creates a lazy Prim instance.
+     */
+    public Prim() {
+        this(Strategy.LAZY);
+    }
+
+    /**
+     * Creates a Prim instance using the given strategy and the default heap arity.
+     *
+     * @param strategy the frontier strategy used by {@link #runPrim(IndexedGraph)}
+     */
+    public Prim(Strategy strategy) {
+        this(strategy, DEFAULT_HEAP_ARITY);
+    }
+
+    /**
+     * Creates a Prim instance using the given strategy and heap arity.
+     *
+     * @param strategy  the frontier strategy used by {@link #runPrim(IndexedGraph)}
+     * @param heapArity the number of children per node of the eager heap
+     */
+    public Prim(Strategy strategy, int heapArity) {
+        if (heapArity < 2) {
+            throw new IllegalArgumentException("Heap arity must be at least 2, got " + heapArity);
+        }
+        this.strategy = strategy;
+        this.heapArity = heapArity;
+    }
+
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Sets the metrics that receive phase timings and counters of subsequent runs.
+     *
+     * @param metrics the metrics, or {@link MSTMetrics#NOOP} to record nothing
+     */
+    public void setMetrics(MSTMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Sets the workspace whose heaps and arrays subsequent runs on indexed graphs use,
+     * e.g. the one of the current thread so that it is shared with other algorithms.
+     *
+     * @param workspace a workspace not used concurrently by another thread
+     */
+    public void setWorkspace(MSTWorkspace workspace) {
+        this.workspace = workspace;
+    }
+
     /**
      * Runs Prim's algorithm on the given graph defined by nodes and edges.
      * It constructs the MST and records the total cost, operations performed,
@@ -22,42 +117,388 @@ public class Prim {
     public Result runPrim(List<String> nodes, List<Edge> edges) {
         Result result = new Result();
         long startTime = System.nanoTime();
+        metrics.start();
 
         // Build adjacency list from nodes and edges for quick access to neighbors
+        metrics.phaseStart(MSTMetrics.Phase.BUILD);
         Map<String, List<Edge>> adjList = buildAdjacencyList(nodes, edges);
+        metrics.phaseEnd(MSTMetrics.Phase.BUILD);
 
         Set<String> visited = new HashSet<>();
         List<Edge> mstEdges = new ArrayList<>();
         int totalCost = 0;
         int operations = 0;
 
+        // A repeated name is one vertex, so count and number the distinct names
+        Map<String, Integer> index = nodeIndex(nodes);
+
         // Priority queue to select edge with minimum weight at each step
         PriorityQueue<Edge> pq = new PriorityQueue<>(Comparator.comparingInt(Edge::getWeight));
-        // Select an arbitrary start node to begin the MST
-        String startNode = selectStartNode(nodes);
-        visited.add(startNode);
-        // Add all edges from the start node to the priority queue
-        pq.addAll(adjList.get(startNode));
-
-        // Continue until all nodes are visited or no edges remain
-        while (!pq.isEmpty() && visited.size() < nodes.size()) {
-            Edge current = pq.poll();
-            operations++;
 
-            // Skip edges leading to already visited nodes to avoid cycles
-            if (visited.contains(current.getTo())) continue;
+        // Grow a tree from every node not reached yet, so that each component is spanned
+        metrics.phaseStart(MSTMetrics.Phase.SEARCH);
+        for (String startNode : nodes) {
+            if (visited.contains(startNode)) continue;
+            visited.add(startNode);
+            // Add all edges from the start node to the priority queue
+            pq.addAll(adjList.get(startNode));
+
+            // Continue until all nodes are visited or no edges remain
+            while (!pq.isEmpty() && visited.size() < index.size()) {
+                Edge current = pq.poll();
+                operations++;
+
+                // Skip edges leading to already visited nodes to avoid cycles
+                if (visited.contains(current.getTo())) continue;
 
-            // Process the selected edge and update MST and related data
-            totalCost = processEdge(pq, visited, current, mstEdges, adjList, totalCost);
+                // Process the selected edge and update MST and related data
+                totalCost = processEdge(pq, visited, current, mstEdges, adjList, totalCost);
+            }
+            pq.clear();
         }
+        metrics.phaseEnd(MSTMetrics.Phase.SEARCH);
+        metrics.count(MSTMetrics.Counter.HEAP_POLL, operations);
+
+        // Record the results including MST edges, total cost, operations, components, and execution time
+        result.mstEdges = mstEdges;
+        metrics.phaseStart(MSTMetrics.Phase.COMPONENTS);
+        SpanningForest.record(result, index.size(), index::get, workspace);
+        metrics.phaseEnd(MSTMetrics.Phase.COMPONENTS);
+        result.metrics = metrics.finish();
+        long endTime = System.nanoTime();
+        recordResults(result, mstEdges, totalCost, operations, startTime, endTime);
 
+        return result;
+    }
+
+    /**
+     * Runs Prim's algorithm on an integer-indexed graph using the configured strategy.
+     *
+     * @param graph the indexed graph
+     * @return a Result object containing the MST edges, total cost, operations count, and execution time
+     * @throws IllegalArgumentException if the strategy is {@link Strategy#DENSE} and the
+     *                                  graph has more than {@link #DENSE_VERTEX_LIMIT} vertices
+     */
+    public Result runPrim(IndexedGraph graph) {
+        switch (strategy) {
+            case EAGER:
+                return runEager(graph);
+            case DENSE:
+                if (graph.vertexCount() > DENSE_VERTEX_LIMIT) {
+                    throw new IllegalArgumentException("Dense Prim supports at most " + DENSE_VERTEX_LIMIT
+                            + " vertices in this JVM, graph " + graph.getId() + " has " + graph.vertexCount()
+                            + "; use the eager strategy instead");
+                }
+                return runDense(graph);
+            default:
+                return runLazy(graph);
+        }
+    }
+
+    /**
+     * Returns whether a graph is dense enough for the {@link Strategy#DENSE} strategy
+     * to beat the heap-based ones, and small enough for its matrix.
+     *
+     * @param graph the indexed graph
+     * @return true if the edge density is at least {@link #DENSE_THRESHOLD}
+     */
+    public static boolean isDense(IndexedGraph graph) {
+        long n = graph.vertexCount();
+        long pairs = n * (n - 1) / 2;
+        return n > 1 && n <= DENSE_VERTEX_LIMIT && graph.edgeCount() >= DENSE_THRESHOLD * pairs;
+    }
+
+    /**
+     * Computes the dense vertex limit for a heap of {@code maxMemory} bytes shared by
+     * {@code workers} threads that may each hold a matrix of int edge ids.
+     */
+    static int denseVertexLimit(long maxMemory, int workers) {
+        long matrixBytes = maxMemory / 4 / Math.max(1, workers);
+        long vertices = (long) Math.sqrt((double) matrixBytes / Integer.BYTES);
+        return (int) Math.min(DENSE_MAX_VERTICES, vertices);
+    }
+
+    /**
+     * Lazy Prim on an integer-indexed graph. Works the same way as
+     * {@link #runPrim(List, List)} but keeps candidate edges in a primitive heap of
+     * packed {@code (weight, adjacency slot)} keys and tracks visited vertices in a
+     * bitset, both taken from the workspace, so no strings are hashed and nothing is
+     * allocated except for the edges of the resulting MST.
+     */
+    private Result runLazy(IndexedGraph graph) {
+        Result result = new Result();
+        long startTime = System.nanoTime();
+        metrics.start();
+        metrics.phaseStart(MSTMetrics.Phase.SEARCH);
+
+        int n = graph.vertexCount();
+        int[] offsets = graph.offsets();
+        int[] targets = graph.targets();
+        int[] weights = graph.weights();
+        int[] edgeIds = graph.edgeIds();
+
+        long[] visited = workspace.clearedBits(n);
+        int[] treeEdges = workspace.ints(MSTWorkspace.Buffer.TREE_EDGES, n);
+        List<Edge> mstEdges = new ArrayList<>();
+        int totalCost = 0;
+        int operations = 0;
+
+        LongMinHeap pq = workspace.lazyHeap(Math.max(16, targets.length));
+        int visitedCount = 0;
+        long pushes = 0;
+        int highWater = 0;
+        // Grow a tree from every vertex not reached yet, so that each component is spanned
+        for (int start = 0; start < n; start++) {
+            if (isSet(visited, start)) continue;
+            // Add all edges of the start vertex to the heap
+            set(visited, start);
+            visitedCount++;
+            pushes += pushEdges(pq, start, visited, offsets, targets, weights);
+
+            // Continue until all vertices are visited or no edges remain
+            while (!pq.isEmpty() && visitedCount < n) {
+                int slot = (int) pq.poll();
+                operations++;
+
+                // Skip edges leading to already visited vertices to avoid cycles
+                int to = targets[slot];
+                if (isSet(visited, to)) continue;
+
+                int e = edgeIds[slot];
+                treeEdges[mstEdges.size()] = e;
+                mstEdges.add(graph.toEdge(e, graph.opposite(e, to)));
+                totalCost += weights[slot];
+                set(visited, to);
+                visitedCount++;
+                pushes += pushEdges(pq, to, visited, offsets, targets, weights);
+                highWater = Math.max(highWater, pq.size());
+            }
+            pq.clear();
+        }
+        metrics.phaseEnd(MSTMetrics.Phase.SEARCH);
+        metrics.count(MSTMetrics.Counter.HEAP_PUSH, pushes);
+        metrics.count(MSTMetrics.Counter.HEAP_POLL, operations);
+        metrics.count(MSTMetrics.Counter.EDGE_SCAN, offsets[n]);
+        metrics.heapHighWater(highWater);
+
+        result.mstEdges = mstEdges;
+        metrics.phaseStart(MSTMetrics.Phase.COMPONENTS);
+        SpanningForest.record(result, graph, treeEdges, workspace);
+        metrics.phaseEnd(MSTMetrics.Phase.COMPONENTS);
+        result.metrics = metrics.finish();
         long endTime = System.nanoTime();
-        // Record the results including MST edges, total cost, operations, and execution time
         recordResults(result, mstEdges, totalCost, operations, startTime, endTime);
 
         return result;
     }
 
+    /**
+     * Eager Prim on an integer-indexed graph. Every vertex outside the tree has at
+     * most one entry in an indexed d-ary heap, keyed by the cheapest edge seen so far
+     * that connects it to the tree; finding a cheaper edge lowers the key in place.
+     * The heap therefore never holds more than V entries and every poll adds a vertex.
+     */
+    private Result runEager(IndexedGraph graph) {
+        Result result = new Result();
+        long startTime = System.nanoTime();
+        metrics.start();
+        metrics.phaseStart(MSTMetrics.Phase.SEARCH);
+
+        int n = graph.vertexCount();
+        int[] offsets = graph.offsets();
+        int[] targets = graph.targets();
+        int[] weights = graph.weights();
+        int[] edgeIds = graph.edgeIds();
+
+        long[] visited = workspace.clearedBits(n);
+        // Edge id of the cheapest known connection to the tree
+        int[] bestEdge = workspace.ints(MSTWorkspace.Buffer.BEST_EDGE, n);
+        int[] treeEdges = workspace.ints(MSTWorkspace.Buffer.TREE_EDGES, n);
+        List<Edge> mstEdges = new ArrayList<>();
+        int totalCost = 0;
+        int operations = 0;
+
+        IndexedDaryHeap pq = workspace.indexedHeap(Math.max(1, n), heapArity);
+        Arrays.fill(bestEdge, 0, n, -1);
+        long pushes = 0;
+        long decreases = 0;
+        int highWater = 0;
+        // Grow a tree from every vertex not reached yet, so that each component is spanned
+        for (int start = 0; start < n; start++) {
+            if (isSet(visited, start)) continue;
+            pq.insert(start, 0);
+            pushes++;
+
+            while (!pq.isEmpty()) {
+                int v = pq.poll();
+                operations++;
+                set(visited, v);
+
+                // A start vertex has no connecting edge; every other vertex adds one
+                if (bestEdge[v] >= 0) {
+                    int e = bestEdge[v];
+                    treeEdges[mstEdges.size()] = e;
+                    mstEdges.add(graph.toEdge(e, graph.opposite(e, v)));
+                    totalCost += graph.edgeWeight(e);
+                }
+
+                // Offer every edge to an unvisited neighbor, lowering its key if cheaper
+                for (int slot = offsets[v]; slot < offsets[v + 1]; slot++) {
+                    int w = targets[slot];
+                    if (isSet(visited, w)) continue;
+                    if (!pq.contains(w)) {
+                        bestEdge[w] = edgeIds[slot];
+                        pq.insert(w, weights[slot]);
+                        pushes++;
+                    } else if (weights[slot] < pq.key(w)) {
+                        bestEdge[w] = edgeIds[slot];
+                        pq.decreaseKey(w, weights[slot]);
+                        decreases++;
+                    }
+                }
+                highWater = Math.max(highWater, pq.size());
+            }
+        }
+        metrics.phaseEnd(MSTMetrics.Phase.SEARCH);
+        metrics.count(MSTMetrics.Counter.HEAP_PUSH, pushes);
+        metrics.count(MSTMetrics.Counter.HEAP_POLL, operations);
+        metrics.count(MSTMetrics.Counter.DECREASE_KEY, decreases);
+        metrics.count(MSTMetrics.Counter.EDGE_SCAN, offsets[n]);
+        metrics.heapHighWater(highWater);
+
+        result.mstEdges = mstEdges;
+        metrics.phaseStart(MSTMetrics.Phase.COMPONENTS);
+        SpanningForest.record(result, graph, treeEdges, workspace);
+        metrics.phaseEnd(MSTMetrics.Phase.COMPONENTS);
+        result.metrics = metrics.finish();
+        long endTime = System.nanoTime();
+        recordResults(result, mstEdges, totalCost, operations, startTime, endTime);
+
+        return result;
+    }
+
+    /**
+     * Dense Prim on an integer-indexed graph. The lightest edge between every pair of
+     * vertices is stored in a V×V matrix of edge ids. Each step relaxes the matrix row
+     * of the vertex just added and, in the same pass over a plain array of keys, finds
+     * the cheapest vertex outside the tree. The loop runs over contiguous arrays
+     * without a heap, so the run takes O(V²) regardless of the number of edges.
+     */
+    private Result runDense(IndexedGraph graph) {
+        Result result = new Result();
+        long startTime = System.nanoTime();
+        metrics.start();
+
+        int n = graph.vertexCount();
+        int[] edgeWeight = graph.edgeWeightArray();
+
+        // Adjacency matrix holding the lightest edge of each pair, -1 where there is none.
+        // Filling it row by row from the CSR arrays keeps the writes within one row at a time
+        metrics.phaseStart(MSTMetrics.Phase.BUILD);
+        int[] offsets = graph.offsets();
+        int[] targets = graph.targets();
+        int[] edgeIds = graph.edgeIds();
+        int[] matrix = workspace.matrix(n * n);
+        Arrays.fill(matrix, 0, n * n, -1);
+        for (int v = 0; v < n; v++) {
+            int row = v * n;
+            for (int slot = offsets[v]; slot < offsets[v + 1]; slot++) {
+                int w = targets[slot];
+                int e = edgeIds[slot];
+                int current = matrix[row + w];
+                if (w != v && (current < 0 || edgeWeight[e] < edgeWeight[current])) {
+                    matrix[row + w] = e;
+                }
+            }
+        }
+        metrics.phaseEnd(MSTMetrics.Phase.BUILD);
+
+        metrics.phaseStart(MSTMetrics.Phase.SEARCH);
+        long[] inTree = workspace.clearedBits(n);
+        // Edge id of the cheapest known connection to the tree, and its weight when set
+        int[] bestEdge = workspace.ints(MSTWorkspace.Buffer.BEST_EDGE, n);
+        int[] minKey = workspace.ints(MSTWorkspace.Buffer.VERTEX_KEY, n);
+        int[] treeEdges = workspace.ints(MSTWorkspace.Buffer.TREE_EDGES, n);
+        Arrays.fill(bestEdge, 0, n, -1);
+        List<Edge> mstEdges = new ArrayList<>();
+        int totalCost = 0;
+        int operations = 0;
+        long relaxations = 0;
+
+        int nextStart = 0;
+        int v = -1;
+        for (int added = 0; added < n; added++) {
+            if (v < 0) {
+                // No vertex is connected to the tree: start the tree of the next component
+                while (isSet(inTree, nextStart)) nextStart++;
+                v = nextStart;
+            } else {
+                int e = bestEdge[v];
+                treeEdges[mstEdges.size()] = e;
+                mstEdges.add(graph.toEdge(e, graph.opposite(e, v)));
+                totalCost += edgeWeight[e];
+            }
+            set(inTree, v);
+            operations++;
+
+            // Relax the row of the new tree vertex and pick the cheapest vertex outside the tree in the same pass
+            int row = v * n;
+            int next = -1;
+            for (int w = 0; w < n; w++) {
+                if (isSet(inTree, w)) continue;
+                int e = matrix[row + w];
+                if (e >= 0 && (bestEdge[w] < 0 || edgeWeight[e] < minKey[w])) {
+                    bestEdge[w] = e;
+                    minKey[w] = edgeWeight[e];
+                    operations++;
+                }
+                if (bestEdge[w] >= 0 && (next < 0 || minKey[w] < minKey[next])) {
+                    next = w;
+                }
+            }
+            relaxations += n;
+            v = next;
+        }
+        metrics.phaseEnd(MSTMetrics.Phase.SEARCH);
+        metrics.count(MSTMetrics.Counter.EDGE_SCAN, relaxations);
+
+        result.mstEdges = mstEdges;
+        metrics.phaseStart(MSTMetrics.Phase.COMPONENTS);
+        SpanningForest.record(result, graph, treeEdges, workspace);
+        metrics.phaseEnd(MSTMetrics.Phase.COMPONENTS);
+        result.metrics = metrics.finish();
+        long endTime = System.nanoTime();
+        recordResults(result, mstEdges, totalCost, operations, startTime, endTime);
+
+        return result;
+    }
+
+    /**
+     * Pushes every edge from vertex {@code v} to an unvisited vertex into the heap,
+     * keyed by weight in the high 32 bits and adjacency slot in the low 32 bits.
+     *
+     * @return the number of edges pushed
+     */
+    private int pushEdges(LongMinHeap pq, int v, long[] visited,
+                          int[] offsets, int[] targets, int[] weights) {
+        int pushed = 0;
+        for (int slot = offsets[v]; slot < offsets[v + 1]; slot++) {
+            if (!isSet(visited, targets[slot])) {
+                pq.add(((long) weights[slot] << 32) | slot);
+                pushed++;
+            }
+        }
+        return pushed;
+    }
+
+    private static boolean isSet(long[] bits, int v) {
+        return (bits[v >>> 6] & (1L << v)) != 0;
+    }
+
+    private static void set(long[] bits, int v) {
+        bits[v >>> 6] |= 1L << v;
+    }
+
     /**
      * Builds an adjacency list representation of the graph from the given nodes and edges.
      * Each node maps to a list of edges originating from it.
@@ -83,14 +524,18 @@ public class Prim {
     }
 
     /**
-     * Selects the starting node for Prim's algorithm.
-     * Chooses the first node in the list or returns null if the list is empty.
+     * Numbers the distinct node identifiers in the order of their first occurrence,
+     * as {@link IndexedGraph} does.
      *
-     * @param nodes list of node identifiers
-     * @return the selected start node or null if nodes list is empty
+     * @param nodes list of node identifiers, possibly with repetitions
+     * @return a map from node identifier to a dense index
      */
-    private String selectStartNode(List<String> nodes) {
-        return nodes.isEmpty() ? null : nodes.get(0);
+    private Map<String, Integer> nodeIndex(List<String> nodes) {
+        Map<String, Integer> index = new HashMap<>();
+        for (String node : nodes) {
+            index.putIfAbsent(node, index.size());
+        }
+        return index;
     }
 
     /**
@@ -149,4 +594,61 @@ public class Prim {
         // Calculate execution time in milliseconds
         result.executionTimeMs = (endTime - startTime) / 1_000_000.0;
     }
+
+    /**
+     * Minimal binary min-heap over primitive longs, used as the priority queue of
+     * the indexed Prim so that candidate edges are never boxed.
+     */
+    static final class LongMinHeap {
+        private long[] heap;
+        private int size;
+
+        LongMinHeap(int capacity) {
+            heap = new long[Math.max(1, capacity)];
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        int size() {
+            return size;
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        void add(long key) {
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, heap.length * 2);
+            }
+            // Sift the new key up until its parent is not larger
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (heap[parent] <= key) break;
+                heap[i] = heap[parent];
+                i = parent;
+            }
+            heap[i] = key;
+        }
+
+        long poll() {
+            long top = heap[0];
+            long last = heap[--size];
+            // Sift the last key down from the root
+            int i = 0;
+            int half = size >>> 1;
+            while (i < half) {
+                int child = 2 * i + 1;
+                if (child + 1 < size && heap[child + 1] < heap[child]) child++;
+                if (last <= heap[child]) break;
+                heap[i] = heap[child];
+                i = child;
+            }
+            heap[i] = last;
+            return top;
+        }
+    }
 }
\ No newline at end of file
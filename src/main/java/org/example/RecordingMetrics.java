@@ -0,0 +1,93 @@
+package org.example;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * {@link MSTMetrics} implementation that records phase timings in nanoseconds,
+ * counters, the heap high-water mark and the bytes allocated by the calling thread
+ * during the run. Allocation is measured through the HotSpot extension of
+ * {@link ThreadMXBean} and omitted on JVMs that do not support it; allocations
+ * made by other threads, such as the workers of the parallel Borůvka, are not
+ * included. An instance can be reused for consecutive runs.
+ */
+public class RecordingMetrics implements MSTMetrics {
+
+    private static final com.sun.management.ThreadMXBean THREADS = allocationBean();
+
+    private final long[] phaseNanos = new long[Phase.values().length];
+    private final long[] phaseStarted = new long[Phase.values().length];
+    private final long[] counters = new long[Counter.values().length];
+    private long heapHighWater;
+    private long allocatedAtStart;
+
+    @Override
+    public void start() {
+        Arrays.fill(phaseNanos, 0);
+        Arrays.fill(counters, 0);
+        heapHighWater = 0;
+        allocatedAtStart = THREADS != null ? THREADS.getCurrentThreadAllocatedBytes() : 0;
+    }
+
+    @Override
+    public void phaseStart(Phase phase) {
+        phaseStarted[phase.ordinal()] = System.nanoTime();
+    }
+
+    @Override
+    public void phaseEnd(Phase phase) {
+        phaseNanos[phase.ordinal()] += System.nanoTime() - phaseStarted[phase.ordinal()];
+    }
+
+    @Override
+    public void count(Counter counter, long amount) {
+        counters[counter.ordinal()] += amount;
+    }
+
+    @Override
+    public void heapHighWater(long size) {
+        heapHighWater = Math.max(heapHighWater, size);
+    }
+
+    /**
+     * Returns the phases that took time as {@code <phase>_ns}, the non-zero
+     * counters, {@code heap_high_water} and {@code allocated_bytes}.
+     */
+    @Override
+    public Map<String, Long> finish() {
+        Map<String, Long> values = new LinkedHashMap<>();
+        for (Phase phase : Phase.values()) {
+            if (phaseNanos[phase.ordinal()] > 0) {
+                values.put(phase.name().toLowerCase(Locale.ROOT) + "_ns", phaseNanos[phase.ordinal()]);
+            }
+        }
+        for (Counter counter : Counter.values()) {
+            if (counters[counter.ordinal()] > 0) {
+                values.put(counter.name().toLowerCase(Locale.ROOT), counters[counter.ordinal()]);
+            }
+        }
+        if (heapHighWater > 0) {
+            values.put("heap_high_water", heapHighWater);
+        }
+        if (THREADS != null) {
+            values.put("allocated_bytes", THREADS.getCurrentThreadAllocatedBytes() - allocatedAtStart);
+        }
+        return values;
+    }
+
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+            if (threads.isThreadAllocatedMemorySupported()) {
+                threads.setThreadAllocatedMemoryEnabled(true);
+                return threads;
+            }
+        }
+        return null;
+    }
+}
@@ -5,7 +5,9 @@ import java.util.*;
 /**
  * Represents the result of executing an MST algorithm (Prim or Kruskal).
  * Stores the minimum spanning tree edges, total cost, number of operations,
- * and execution time in milliseconds.
+ * and execution time in milliseconds. On a disconnected graph the edges form a
+ * minimum spanning forest, and the number of components and the cost of each
+ * component's tree are recorded as well.
  */
 public class Result {
 
@@ -13,4 +15,8 @@ public class Result {
     public int totalCost = 0;    // Total cost of the minimum spanning tree.
     public int operations = 0;    // Number of operations performed during the algorithm execution.
     public double executionTimeMs = 0;    // Execution time of the algorithm in milliseconds.
+    public int components = 0;    // Number of connected components spanned by the forest.
+    public List<Integer> componentCosts = new ArrayList<>();    // Cost of the tree of each component, ordered by first vertex.
+    public Map<String, Long> metrics = null;    // Phase timings and counters; only set when metrics are enabled.
+    transient int[] componentOf;    // Component number of every vertex; not written to the output.
 }
\ No newline at end of file
@@ -0,0 +1,86 @@
+package org.example;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * Writes MST comparison results to a JSON document as they are produced. The output
+ * has the same {@code {"results": [...]}} shape as {@link Json#writeResultsToJson(java.util.List, String)},
+ * but each {@link OutputGraph} is serialized and released as soon as it is written.
+ * Writing is synchronized, so several producer threads may share one writer.
+ */
+public class ResultStreamWriter implements ResultWriter {
+
+    private final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+    private final JsonWriter writer;
+    private int written = 0;
+
+    /**
+     * Creates the given file and writes the opening of the results array.
+     *
+     * @param filePath the path to the output JSON file
+     * @throws IOException if the file cannot be created
+     */
+    public ResultStreamWriter(String filePath) throws IOException {
+        this(new BufferedWriter(new FileWriter(filePath)));
+    }
+
+    /**
+     * Wraps the given character stream and writes the opening of the results array.
+     *
+     * @param out the character stream to write to
+     * @throws IOException if the stream cannot be written
+     */
+    public ResultStreamWriter(Writer out) throws IOException {
+        writer = gson.newJsonWriter(out);
+        writer.beginObject();
+        writer.name("results");
+        writer.beginArray();
+    }
+
+    /**
+     * Appends one result to the results array.
+     *
+     * @param result the result to write
+     */
+    @Override
+    public synchronized void write(OutputGraph result) {
+        try {
+            gson.toJson(result, OutputGraph.class, writer);
+            written++;
+        } catch (RuntimeException e) {
+            if (e.getCause() instanceof IOException) {
+                throw new UncheckedIOException((IOException) e.getCause());
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public synchronized int getWritten() {
+        return written;
+    }
+
+    /**
+     * Closes the results array and the document, then the underlying stream.
+     *
+     * @throws IOException if the stream cannot be written or closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            writer.endArray();
+            writer.endObject();
+            writer.flush();
+        } finally {
+            writer.close();
+        }
+    }
+}
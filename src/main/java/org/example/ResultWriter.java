@@ -0,0 +1,24 @@
+package org.example;
+
+import java.io.Closeable;
+
+/**
+ * Destination of MST comparison results that are written one at a time as they are
+ * produced. Implementations are synchronized, so several producer threads may share one.
+ */
+public interface ResultWriter extends Closeable {
+
+    /**
+     * Appends one result to the output.
+     *
+     * @param result the result to write
+     */
+    void write(OutputGraph result);
+
+    /**
+     * Returns the number of results written so far.
+     *
+     * @return the number of results written
+     */
+    int getWritten();
+}
@@ -0,0 +1,158 @@
+package org.example;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Scale-test harness: generates synthetic graphs of growing size for each random
+ * graph model and runs every selected MST algorithm on them, reporting execution
+ * time, operation count, MST cost and peak heap usage. Runs that exhaust the heap
+ * are reported and the sweep continues, which shows where each algorithm stops
+ * scaling.
+ *
+ * <p>Options (all optional):
+ * <ul>
+ *     <li>{@code --models=ERDOS_RENYI,GRID,...} graph models (default: all);</li>
+ *     <li>{@code --sizes=1000,10000,...} vertex counts (default: 1000,10000,100000,1000000);</li>
+ *     <li>{@code --degree=<d>} target average degree (default 8);</li>
+ *     <li>{@code --algorithms=PRIM_LAZY,...} algorithm variants (default: all);</li>
+ *     <li>{@code --seed=<n>} generator seed (default 42);</li>
+ *     <li>{@code --max-weight=<w>} largest edge weight (default 1000);</li>
+ *     <li>{@code --csv=<file>} also writes the report as CSV;</li>
+ *     <li>{@code --json=<file>} also writes every generated graph in the input JSON format.</li>
+ * </ul>
+ * Complete graphs are only generated up to 10,000 vertices.
+ */
+public class ScaleHarness {
+
+    private static final int MAX_COMPLETE_VERTICES = 10_000;
+
+    public static void main(String[] args) throws IOException {
+        List<GraphGenerator.Model> models = new ArrayList<>(List.of(GraphGenerator.Model.values()));
+        List<Integer> sizes = new ArrayList<>(List.of(1_000, 10_000, 100_000, 1_000_000));
+        List<MSTAlgorithm> algorithms = new ArrayList<>(List.of(MSTAlgorithm.values()));
+        double degree = 8;
+        long seed = 42;
+        // Keeps MST costs of million-vertex graphs within the int range of Result.totalCost
+        int maxWeight = 1_000;
+        String csvFile = null;
+        String jsonFile = null;
+
+        for (String arg : args) {
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (arg.startsWith("--models=")) {
+                models.clear();
+                for (String name : value.split(",")) models.add(GraphGenerator.Model.valueOf(name.trim()));
+            } else if (arg.startsWith("--sizes=")) {
+                sizes.clear();
+                for (String size : value.split(",")) sizes.add(Integer.parseInt(size.trim()));
+            } else if (arg.startsWith("--algorithms=")) {
+                algorithms.clear();
+                for (String name : value.split(",")) algorithms.add(MSTAlgorithm.valueOf(name.trim()));
+            } else if (arg.startsWith("--degree=")) {
+                degree = Double.parseDouble(value);
+            } else if (arg.startsWith("--seed=")) {
+                seed = Long.parseLong(value);
+            } else if (arg.startsWith("--max-weight=")) {
+                maxWeight = Integer.parseInt(value);
+            } else if (arg.startsWith("--csv=")) {
+                csvFile = value;
+            } else if (arg.startsWith("--json=")) {
+                jsonFile = value;
+            } else {
+                System.out.println("Unknown option: " + arg);
+                return;
+            }
+        }
+
+        GraphGenerator generator = new GraphGenerator(seed);
+        List<String> rows = new ArrayList<>();
+        List<IndexedGraph> generated = new ArrayList<>();
+        rows.add("model,vertices,edges,algorithm,time_ms,operations,total_cost,mst_edges,peak_heap_mb");
+        System.out.printf("%-12s %10s %12s %-15s %12s %14s %16s %12s%n",
+                "model", "vertices", "edges", "algorithm", "time (ms)", "operations", "total cost", "peak heap MB");
+
+        for (GraphGenerator.Model model : models) {
+            for (int size : sizes) {
+                if (model == GraphGenerator.Model.COMPLETE && size > MAX_COMPLETE_VERTICES) continue;
+
+                IndexedGraph graph;
+                try {
+                    graph = generator.generate(model, size, degree, GraphGenerator.WeightDistribution.UNIFORM, maxWeight);
+                } catch (OutOfMemoryError | IllegalArgumentException e) {
+                    System.out.printf("%-12s %10d  could not generate graph: %s%n", model, size, e);
+                    continue;
+                }
+                if (jsonFile != null) {
+                    generated.add(graph);
+                }
+
+                for (MSTAlgorithm algorithm : algorithms) {
+                    rows.add(measure(model, graph, algorithm));
+                }
+            }
+        }
+
+        if (csvFile != null) {
+            try (PrintWriter out = new PrintWriter(new FileWriter(csvFile))) {
+                rows.forEach(out::println);
+            }
+            System.out.println("Report saved to " + csvFile);
+        }
+        if (jsonFile != null) {
+            Json.writeGraphsToJson(generated, jsonFile);
+            System.out.println("Generated graphs saved to " + jsonFile);
+        }
+    }
+
+    /**
+     * Runs one algorithm on one graph, prints a report line and returns it as CSV.
+     */
+    private static String measure(GraphGenerator.Model model, IndexedGraph graph, MSTAlgorithm algorithm) {
+        Function<IndexedGraph, Result> runner = algorithm.newRunner();
+        List<MemoryPoolMXBean> heapPools = heapPools();
+
+        // Start from a collected heap so the peak reflects this run only
+        System.gc();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+
+        Result result;
+        try {
+            result = runner.apply(graph);
+        } catch (OutOfMemoryError e) {
+            result = null;
+        }
+        double peakMb = heapPools.stream().mapToLong(p -> p.getPeakUsage().getUsed()).sum() / (1024.0 * 1024.0);
+
+        if (result == null) {
+            System.out.printf("%-12s %10d %12d %-15s  out of memory (peak heap %.1f MB)%n",
+                    model, graph.vertexCount(), graph.edgeCount(), algorithm, peakMb);
+            return String.format(Locale.ROOT, "%s,%d,%d,%s,,,,,%.1f",
+                    model, graph.vertexCount(), graph.edgeCount(), algorithm, peakMb);
+        }
+        System.out.printf("%-12s %10d %12d %-15s %12.3f %14d %16d %12.1f%n",
+                model, graph.vertexCount(), graph.edgeCount(), algorithm,
+                result.executionTimeMs, result.operations, result.totalCost, peakMb);
+        return String.format(Locale.ROOT, "%s,%d,%d,%s,%.3f,%d,%d,%d,%.1f",
+                model, graph.vertexCount(), graph.edgeCount(), algorithm,
+                result.executionTimeMs, result.operations, result.totalCost, result.mstEdges.size(), peakMb);
+    }
+
+    private static List<MemoryPoolMXBean> heapPools() {
+        List<MemoryPoolMXBean> pools = new ArrayList<>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pools.add(pool);
+            }
+        }
+        return pools;
+    }
+}
@@ -0,0 +1,296 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Answers what-if questions about a minimum spanning forest for every edge at
+ * once, instead of recomputing the forest per edge:
+ * <ul>
+ *     <li>for a non-tree edge, the heaviest forest edge on the path between its
+ *     endpoints, which its weight has to beat to enter the forest. Paths are
+ *     queried in O(log V) with binary lifting over the rooted forest;</li>
+ *     <li>for a tree edge, the cheapest non-tree edge whose forest path covers it,
+ *     which is the edge that replaces it when it is closed or becomes too
+ *     expensive. Non-tree edges are processed in ascending weight order and every
+ *     forest edge is assigned the first one that covers it; jump pointers,
+ *     compressed like those of a Union-Find, skip edges already assigned.</li>
+ * </ul>
+ * The whole analysis takes O(E log V) time after sorting the edges.
+ */
+public final class SensitivityAnalysis {
+
+    // Largest array length all JVMs allow
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    private final IndexedGraph graph;
+    private final int n;
+    private final boolean[] inTree;
+
+    // Forest rooted at the first vertex of every component. Vertices are numbered by their
+    // position in breadth-first order, so that the ancestors shared by many paths sit
+    // close together at the start of the arrays; all arrays below use these positions
+    private final int[] position;
+    private final int[] parent;
+    private final int[] parentEdge;
+    private final int[] depth;
+
+    // Binary lifting table, one record per vertex so that a query touches few cache lines:
+    // lift[2 * (p * levels + k)] is the 2^k-th ancestor of p, the next entry the heaviest
+    // edge weight on the way there
+    private int levels;
+    private int[] lift;
+
+    // Lowest common ancestor found by the last pathMax query
+    private int lastLca;
+
+    private SensitivityAnalysis(IndexedGraph graph, boolean[] inTree) {
+        this.graph = graph;
+        this.n = graph.vertexCount();
+        this.inTree = inTree;
+        this.position = new int[n];
+        this.parent = new int[n];
+        this.parentEdge = new int[n];
+        this.depth = new int[n];
+    }
+
+    /**
+     * Analyzes every edge of a graph against a minimum spanning forest of it.
+     *
+     * @param graph  the graph
+     * @param forest a result of one of the MST algorithms on the graph
+     * @return the sensitivity of every edge, in edge id order
+     * @throws IllegalArgumentException if an edge of the forest is not an edge of the graph, or the
+     *         lifting table of the forest would exceed the largest array size
+     */
+    public static List<EdgeSensitivity> analyze(IndexedGraph graph, Result forest) {
+        SensitivityAnalysis analysis = new SensitivityAnalysis(graph, treeEdges(graph, forest));
+        analysis.rootForest();
+        analysis.buildLifting();
+        return analysis.report();
+    }
+
+    /**
+     * Marks the edge ids of the forest edges. A forest has at most one edge per vertex
+     * pair, so an edge is found by scanning the adjacency of the endpoint with the
+     * smaller degree for the other endpoint and the weight. That degree is at most
+     * the degree of the endpoint farther from the root, so the scans take O(E) in total.
+     */
+    private static boolean[] treeEdges(IndexedGraph graph, Result forest) {
+        int[] offsets = graph.offsets();
+        int[] targets = graph.targets();
+        int[] weights = graph.weights();
+        int[] edgeIds = graph.edgeIds();
+        boolean[] inTree = new boolean[graph.edgeCount()];
+
+        for (Edge edge : forest.mstEdges) {
+            int u = graph.indexOf(edge.getFrom());
+            int v = graph.indexOf(edge.getTo());
+            if (u < 0 || v < 0) {
+                throw new IllegalArgumentException("Forest edge " + edge + " is not an edge of graph " + graph.getId());
+            }
+            if (offsets[u + 1] - offsets[u] > offsets[v + 1] - offsets[v]) {
+                int tmp = u;
+                u = v;
+                v = tmp;
+            }
+            int found = -1;
+            for (int slot = offsets[u]; slot < offsets[u + 1] && found < 0; slot++) {
+                if (targets[slot] == v && weights[slot] == edge.getWeight() && !inTree[edgeIds[slot]]) {
+                    found = edgeIds[slot];
+                }
+            }
+            if (found < 0) {
+                throw new IllegalArgumentException("Forest edge " + edge + " is not an edge of graph " + graph.getId());
+            }
+            inTree[found] = true;
+        }
+        return inTree;
+    }
+
+    /**
+     * Numbers the vertices in breadth-first order over the forest edges from the first
+     * vertex of each component, and records parent, parent edge and depth of each.
+     */
+    private void rootForest() {
+        int[] offsets = graph.offsets();
+        int[] targets = graph.targets();
+        int[] edgeIds = graph.edgeIds();
+        int[] queue = new int[n];
+        Arrays.fill(position, -1);
+
+        int tail = 0;
+        for (int root = 0; root < n; root++) {
+            if (position[root] >= 0) continue;
+            int head = tail;
+            position[root] = tail;
+            parent[tail] = tail;
+            parentEdge[tail] = -1;
+            queue[tail++] = root;
+            while (head < tail) {
+                int p = head++;
+                int v = queue[p];
+                for (int slot = offsets[v]; slot < offsets[v + 1]; slot++) {
+                    int w = targets[slot];
+                    if (!inTree[edgeIds[slot]] || position[w] >= 0) continue;
+                    position[w] = tail;
+                    parent[tail] = p;
+                    parentEdge[tail] = edgeIds[slot];
+                    depth[tail] = depth[p] + 1;
+                    queue[tail++] = w;
+                }
+            }
+        }
+    }
+
+    /**
+     * Fills the binary lifting table; roots are their own ancestors. Only as many levels
+     * as the deepest tree needs are built, which keeps the table and the queries short
+     * on the shallow trees of typical graphs.
+     */
+    private void buildLifting() {
+        int maxDepth = 0;
+        for (int p = 0; p < n; p++) {
+            maxDepth = Math.max(maxDepth, depth[p]);
+        }
+        levels = 1;
+        while ((1 << levels) <= maxDepth) {
+            levels++;
+        }
+        long size = 2L * n * levels;
+        if (size > MAX_ARRAY_LENGTH) {
+            throw new IllegalArgumentException("Graph " + graph.getId() + " is too large for sensitivity analysis: "
+                    + n + " vertices at tree depth " + maxDepth + " need a lifting table of " + size + " entries.");
+        }
+        lift = new int[(int) size];
+        for (int p = 0; p < n; p++) {
+            int at = 2 * p * levels;
+            lift[at] = parent[p];
+            lift[at + 1] = parentEdge[p] >= 0 ? graph.edgeWeight(parentEdge[p]) : Integer.MIN_VALUE;
+        }
+        // Level k of every vertex only needs level k - 1 of all vertices
+        for (int k = 1; k < levels; k++) {
+            for (int p = 0; p < n; p++) {
+                int half = 2 * (p * levels + k - 1);
+                int mid = lift[half];
+                int midHalf = 2 * (mid * levels + k - 1);
+                lift[half + 2] = lift[midHalf];
+                lift[half + 3] = Math.max(lift[half + 1], lift[midHalf + 1]);
+            }
+        }
+    }
+
+    /**
+     * Returns the heaviest edge weight on the forest path between two vertex positions
+     * in the same tree, and stores their lowest common ancestor in {@link #lastLca}.
+     */
+    private int pathMax(int u, int v) {
+        if (depth[u] < depth[v]) {
+            int tmp = u;
+            u = v;
+            v = tmp;
+        }
+        int max = Integer.MIN_VALUE;
+
+        // Lift the deeper vertex to the depth of the other one
+        int steps = depth[u] - depth[v];
+        for (int k = 0; steps > 0; k++, steps >>>= 1) {
+            if ((steps & 1) != 0) {
+                int at = 2 * (u * levels + k);
+                max = Math.max(max, lift[at + 1]);
+                u = lift[at];
+            }
+        }
+        if (u == v) {
+            lastLca = u;
+            return max;
+        }
+
+        // Lift both while their ancestors differ; they then hang below the common ancestor
+        for (int k = levels - 1; k >= 0; k--) {
+            int atU = 2 * (u * levels + k);
+            int atV = 2 * (v * levels + k);
+            if (lift[atU] != lift[atV]) {
+                max = Math.max(max, Math.max(lift[atU + 1], lift[atV + 1]));
+                u = lift[atU];
+                v = lift[atV];
+            }
+        }
+        int atU = 2 * u * levels;
+        int atV = 2 * v * levels;
+        lastLca = lift[atU];
+        return Math.max(max, Math.max(lift[atU + 1], lift[atV + 1]));
+    }
+
+    private List<EdgeSensitivity> report() {
+        int m = graph.edgeCount();
+        long totalCost = 0;
+        for (int e = 0; e < m; e++) {
+            if (inTree[e]) totalCost += graph.edgeWeight(e);
+        }
+
+        // Path maximum of every non-tree edge, and the cheapest non-tree edge covering every tree edge
+        int[] pathWeight = new int[m];
+        int[] replacement = new int[m];
+        Arrays.fill(replacement, -1);
+        int[] jump = new int[n];  // nearest ancestor (or self) whose parent edge has no replacement yet
+        for (int p = 0; p < n; p++) {
+            jump[p] = p;
+        }
+        for (int e : EdgeSort.sortByWeight(graph.edgeWeightArray(), EdgeSort.Method.AUTO)) {
+            int u = position[graph.edgeFrom(e)];
+            int v = position[graph.edgeTo(e)];
+            if (inTree[e] || u == v) continue;
+            pathWeight[e] = pathMax(u, v);
+            cover(u, lastLca, e, jump, replacement);
+            cover(v, lastLca, e, jump, replacement);
+        }
+
+        List<EdgeSensitivity> report = new ArrayList<>(m);
+        for (int e = 0; e < m; e++) {
+            EdgeSensitivity s = new EdgeSensitivity();
+            int u = graph.edgeFrom(e);
+            int v = graph.edgeTo(e);
+            s.from = graph.name(u);
+            s.to = graph.name(v);
+            s.weight = graph.edgeWeight(e);
+            s.inTree = inTree[e];
+            if (inTree[e]) {
+                int r = replacement[e];
+                if (r >= 0) {
+                    s.replacement = graph.toEdge(r);
+                    s.maxIncrease = (long) graph.edgeWeight(r) - s.weight;
+                    s.costWithout = totalCost + s.maxIncrease;
+                } else {
+                    s.costWithout = totalCost - s.weight;
+                }
+            } else if (u != v) {
+                s.maxPathWeight = pathWeight[e];
+            }
+            report.add(s);
+        }
+        return report;
+    }
+
+    /**
+     * Assigns non-tree edge e as the replacement of every unassigned tree edge on the
+     * path from position v up to its ancestor a, skipping assigned edges by path-halving jumps.
+     */
+    private void cover(int v, int a, int e, int[] jump, int[] replacement) {
+        v = find(jump, v);
+        while (depth[v] > depth[a]) {
+            replacement[parentEdge[v]] = e;
+            jump[v] = parent[v];
+            v = find(jump, v);
+        }
+    }
+
+    private static int find(int[] jump, int v) {
+        while (jump[v] != v) {
+            jump[v] = jump[jump[v]];
+            v = jump[v];
+        }
+        return v;
+    }
+}
@@ -0,0 +1,122 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Derives the connected components of a graph from the minimum spanning forest
+ * computed by one of the MST algorithms. Two vertices are in the same component
+ * exactly when the forest connects them, so only the forest edges need to be
+ * scanned. Components are numbered in the order of their first vertex in the node
+ * list, which makes the per-component results of all algorithms comparable.
+ */
+final class SpanningForest {
+
+    private SpanningForest() {
+    }
+
+    /**
+     * Records the component count, the cost of every component's tree and the
+     * component of every vertex in a result whose forest edges are already set,
+     * taking the Union-Find and scratch arrays from a workspace. Only the per-vertex
+     * component array stored in the result is allocated.
+     *
+     * @param result      the result holding the forest edges
+     * @param vertexCount the number of vertices of the graph
+     * @param idOf        maps a vertex name to its index in the node list
+     * @param workspace   the workspace of the algorithm that computed the forest
+     */
+    static void record(Result result, int vertexCount, ToIntFunction<String> idOf, MSTWorkspace workspace) {
+        // Join the endpoints of every forest edge
+        List<Edge> edges = result.mstEdges;
+        UnionFind uf = workspace.unionFind(vertexCount);
+        int[] edgeVertex = workspace.ints(MSTWorkspace.Buffer.VERTEX_SCRATCH, edges.size());
+        for (int i = 0; i < edges.size(); i++) {
+            Edge edge = edges.get(i);
+            edgeVertex[i] = idOf.applyAsInt(edge.getFrom());
+            uf.union(edgeVertex[i], idOf.applyAsInt(edge.getTo()));
+        }
+        number(result, vertexCount, uf, edgeVertex, workspace);
+    }
+
+    /**
+     * Records the components of a result computed on an indexed graph. The forest
+     * edges are given by their edge ids, so their endpoints are read from the edge
+     * arrays instead of looking up vertex names.
+     *
+     * @param result    the result holding the forest edges
+     * @param graph     the graph the forest spans
+     * @param treeEdges the edge id of every forest edge, in the order of {@code result.mstEdges}
+     * @param workspace the workspace of the algorithm that computed the forest
+     */
+    static void record(Result result, IndexedGraph graph, int[] treeEdges, MSTWorkspace workspace) {
+        int n = graph.vertexCount();
+        int[] edgeFrom = graph.edgeFromArray();
+        int[] edgeTo = graph.edgeToArray();
+        int count = result.mstEdges.size();
+        UnionFind uf = workspace.unionFind(n);
+        int[] edgeVertex = workspace.ints(MSTWorkspace.Buffer.VERTEX_SCRATCH, count);
+        for (int i = 0; i < count; i++) {
+            int e = treeEdges[i];
+            edgeVertex[i] = edgeFrom[e];
+            uf.union(edgeFrom[e], edgeTo[e]);
+        }
+        number(result, n, uf, edgeVertex, workspace);
+    }
+
+    /**
+     * Numbers the components of the joined forest by their first vertex and sums the
+     * weight of every forest edge, whose first endpoint is given in {@code edgeVertex},
+     * into the cost of its component.
+     */
+    private static void number(Result result, int vertexCount, UnionFind uf, int[] edgeVertex, MSTWorkspace workspace) {
+        List<Edge> edges = result.mstEdges;
+        int[] numberOfRoot = workspace.ints(MSTWorkspace.Buffer.VERTEX_KEY, vertexCount);
+        int[] componentOf = new int[vertexCount];
+        int count = 0;
+        for (int v = 0; v < vertexCount; v++) {
+            int root = uf.find(v);
+            if (root == v) {
+                numberOfRoot[v] = -1;
+            }
+        }
+        for (int v = 0; v < vertexCount; v++) {
+            int root = uf.find(v);
+            if (numberOfRoot[root] < 0) {
+                numberOfRoot[root] = count++;
+            }
+            componentOf[v] = numberOfRoot[root];
+        }
+
+        int[] costs = new int[count];
+        for (int i = 0; i < edges.size(); i++) {
+            costs[componentOf[edgeVertex[i]]] += edges.get(i).getWeight();
+        }
+
+        result.components = count;
+        result.componentCosts = new ArrayList<>(count);
+        for (int cost : costs) {
+            result.componentCosts.add(cost);
+        }
+        result.componentOf = componentOf;
+    }
+
+    /**
+     * Lists the vertex names of every component recorded in a result.
+     *
+     * @param result a result passed to one of the {@code record} methods
+     * @param graph  the graph the forest spans
+     * @return the vertex names of each component, in component order
+     */
+    static List<List<String>> vertexSets(Result result, IndexedGraph graph) {
+        List<List<String>> sets = new ArrayList<>(result.components);
+        for (int c = 0; c < result.components; c++) {
+            sets.add(new ArrayList<>());
+        }
+        for (int v = 0; v < graph.vertexCount(); v++) {
+            sets.get(result.componentOf[v]).add(graph.name(v));
+        }
+        return sets;
+    }
+}
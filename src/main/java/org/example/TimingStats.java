@@ -0,0 +1,56 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * Summary of repeated timings of one algorithm on one graph, recorded in the
+ * measurement mode of {@link MSTComparison}. All times are in milliseconds.
+ */
+public class TimingStats {
+
+    public int warmup = 0;    // Number of unmeasured warm-up runs.
+    public int repetitions = 0;    // Number of measured runs.
+    public double minMs = 0;    // Fastest measured run.
+    public double medianMs = 0;    // Median of the measured runs.
+    public double p99Ms = 0;    // 99th percentile (nearest rank) of the measured runs.
+    public double meanMs = 0;    // Mean of the measured runs.
+    public double stddevMs = 0;    // Sample standard deviation of the measured runs.
+    public long gcCount = 0;    // Garbage collections that completed during the measured runs.
+    public double gcTimeMs = 0;    // Accumulated collection time reported for those collections.
+
+    /**
+     * Computes the statistics of a set of measured run times.
+     *
+     * @param samplesMs the run times in milliseconds, at least one
+     * @param warmup    the number of warm-up runs that preceded them
+     * @param gcCount   the number of collections during the measured runs
+     * @param gcTimeMs  the collection time during the measured runs in milliseconds
+     * @return the statistics
+     */
+    static TimingStats of(double[] samplesMs, int warmup, long gcCount, double gcTimeMs) {
+        double[] sorted = samplesMs.clone();
+        Arrays.sort(sorted);
+        int n = sorted.length;
+
+        TimingStats stats = new TimingStats();
+        stats.warmup = warmup;
+        stats.repetitions = n;
+        stats.minMs = sorted[0];
+        stats.medianMs = n % 2 == 1 ? sorted[n / 2] : (sorted[n / 2 - 1] + sorted[n / 2]) / 2;
+        stats.p99Ms = sorted[Math.max(0, (int) Math.ceil(0.99 * n) - 1)];
+
+        double sum = 0;
+        for (double sample : sorted) {
+            sum += sample;
+        }
+        stats.meanMs = sum / n;
+        double squares = 0;
+        for (double sample : sorted) {
+            squares += (sample - stats.meanMs) * (sample - stats.meanMs);
+        }
+        stats.stddevMs = n > 1 ? Math.sqrt(squares / (n - 1)) : 0;
+        stats.gcCount = gcCount;
+        stats.gcTimeMs = gcTimeMs;
+        return stats;
+    }
+}
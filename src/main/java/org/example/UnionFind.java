@@ -0,0 +1,153 @@
+package org.example;
+
+/**
+ * Union-Find (Disjoint Set Union) over dense integer ids {@code 0..n-1}, backed by
+ * primitive arrays. Uses iterative path halving in {@link #find(int)} and union by
+ * size, and keeps the number of components so that it can be queried in O(1).
+ * The structure performs no allocation after construction and can be reused for
+ * another graph with {@link #reset(int)}; the arrays only grow when a larger graph
+ * than any seen before is reset. Finds, unions and the total find path length are
+ * counted separately for {@link MSTMetrics}.
+ */
+public final class UnionFind {
+    private int[] parent;
+    private int[] size;
+    private int count;        // number of ids currently in use
+    private int components;   // number of disjoint sets among them
+    private int operations = 0;
+    private long finds;       // calls to find, including those made by union
+    private long unions;
+    private long pathLength;  // parent links followed by all finds
+
+    /**
+     * Initializes the Union-Find structure with each of {@code n} ids in its own set.
+     *
+     * @param n the number of ids
+     */
+    public UnionFind(int n) {
+        parent = new int[n];
+        size = new int[n];
+        reset(n);
+    }
+
+    /**
+     * Reinitializes the structure for {@code n} ids, each in its own set, and clears
+     * the operation counter. Reuses the existing arrays when they are large enough.
+     *
+     * @param n the number of ids
+     */
+    public void reset(int n) {
+        if (n > parent.length) {
+            parent = new int[n];
+            size = new int[n];
+        }
+        for (int v = 0; v < n; v++) {
+            parent[v] = v;
+            size[v] = 1;
+        }
+        count = n;
+        components = n;
+        operations = 0;
+        finds = 0;
+        unions = 0;
+        pathLength = 0;
+    }
+
+    /**
+     * Finds the representative (root) of the set that contains {@code v}.
+     * Applies path halving: every visited node is pointed at its grandparent.
+     *
+     * @param v the id to find the root of
+     * @return the root of the set containing v
+     */
+    public int find(int v) {
+        operations++;
+        finds++;
+        while (parent[v] != v) {
+            parent[v] = parent[parent[v]];
+            v = parent[v];
+            pathLength++;
+        }
+        return v;
+    }
+
+    /**
+     * Unions the sets containing {@code u} and {@code v} by attaching the smaller
+     * set under the root of the larger one.
+     *
+     * @param u one id
+     * @param v another id
+     * @return true if the sets were merged, false if u and v were already connected
+     */
+    public boolean union(int u, int v) {
+        operations++;
+        unions++;
+        int rootU = find(u);
+        int rootV = find(v);
+        if (rootU == rootV) {
+            return false;
+        }
+        if (size[rootU] < size[rootV]) {
+            int tmp = rootU;
+            rootU = rootV;
+            rootV = tmp;
+        }
+        parent[rootV] = rootU;
+        size[rootU] += size[rootV];
+        components--;
+        return true;
+    }
+
+    public boolean connected(int u, int v) {
+        return find(u) == find(v);
+    }
+
+    /**
+     * Returns the number of ids in the set containing {@code v}.
+     *
+     * @param v the id
+     * @return the size of its component
+     */
+    public int componentSize(int v) {
+        return size[find(v)];
+    }
+
+    public int components() {
+        return components;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public int capacity() {
+        return parent.length;
+    }
+
+    public int getOperations() {
+        return operations;
+    }
+
+    public long getFinds() {
+        return finds;
+    }
+
+    public long getUnions() {
+        return unions;
+    }
+
+    public long getPathLength() {
+        return pathLength;
+    }
+
+    /**
+     * Adds the find, union and path length counts since the last reset to the metrics.
+     *
+     * @param metrics the metrics to report to
+     */
+    public void reportTo(MSTMetrics metrics) {
+        metrics.count(MSTMetrics.Counter.FIND, finds);
+        metrics.count(MSTMetrics.Counter.FIND_PATH_LENGTH, pathLength);
+        metrics.count(MSTMetrics.Counter.UNION, unions);
+    }
+}
@@ -0,0 +1,92 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Result of validating a graph with {@link GraphValidator}. Every problematic
+ * edge is listed under each category it falls into, in input order.
+ */
+public class ValidationReport {
+
+    private final int graphId;
+    final List<Edge> invalidEdges = new ArrayList<>();    // Edges with an endpoint missing from the node list.
+    final List<Edge> selfLoops = new ArrayList<>();    // Edges whose endpoints are the same vertex.
+    final List<Edge> duplicateEdges = new ArrayList<>();    // Edges repeating an earlier edge with the same weight.
+    final List<Edge> parallelEdges = new ArrayList<>();    // Edges repeating an earlier edge's endpoints with another weight.
+    final List<Edge> negativeWeights = new ArrayList<>();    // Edges with a negative weight.
+    final List<String> duplicateNodes = new ArrayList<>();    // Vertex names listed more than once; each is still one vertex.
+
+    ValidationReport(int graphId) {
+        this.graphId = graphId;
+    }
+
+    public int getGraphId() {
+        return graphId;
+    }
+
+    public List<Edge> getInvalidEdges() {
+        return invalidEdges;
+    }
+
+    public List<Edge> getSelfLoops() {
+        return selfLoops;
+    }
+
+    public List<Edge> getDuplicateEdges() {
+        return duplicateEdges;
+    }
+
+    public List<Edge> getParallelEdges() {
+        return parallelEdges;
+    }
+
+    public List<Edge> getNegativeWeights() {
+        return negativeWeights;
+    }
+
+    public List<String> getDuplicateNodes() {
+        return duplicateNodes;
+    }
+
+    /**
+     * Returns whether the MST algorithms can run on the graph, i.e. every edge
+     * connects existing vertices. The other findings are only warnings.
+     *
+     * @return true if no edge refers to a non-existent vertex
+     */
+    public boolean isValid() {
+        return invalidEdges.isEmpty();
+    }
+
+    /**
+     * Returns whether any edge repeats the endpoints of an earlier edge.
+     *
+     * @return true if there are duplicate or parallel edges
+     */
+    public boolean hasRepeatedEdges() {
+        return !duplicateEdges.isEmpty() || !parallelEdges.isEmpty();
+    }
+
+    /**
+     * Returns whether the report contains no findings at all.
+     *
+     * @return true if the graph has no errors and no warnings
+     */
+    public boolean isClean() {
+        return isValid() && !hasRepeatedEdges() && selfLoops.isEmpty() && negativeWeights.isEmpty()
+                && duplicateNodes.isEmpty();
+    }
+
+    /**
+     * Returns a one-line summary with the number of findings in each category.
+     *
+     * @return the summary
+     */
+    public String summary() {
+        return "Graph " + graphId + ": " + invalidEdges.size() + " invalid edges, "
+                + selfLoops.size() + " self-loops, " + duplicateEdges.size() + " duplicate edges, "
+                + parallelEdges.size() + " parallel edges, " + negativeWeights.size() + " negative weights, "
+                + duplicateNodes.size() + " duplicate nodes";
+    }
+}
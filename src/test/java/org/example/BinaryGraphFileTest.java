@@ -0,0 +1,159 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Converts JSON input to binary graph files and checks that reading them back, whole
+ * or one graph at a time, gives the graphs the JSON input is indexed into.
+ */
+class BinaryGraphFileTest {
+
+    @TempDir
+    Path dir;
+
+    // Names of 1 to 4 UTF-8 bytes per character, so the name bytes need every padding length
+    private static final String INPUT = """
+            {"graphs": [
+              {"id": 7, "nodes": ["A", "Bb", "Ccc", "Dddd", "é", "日本", "😀", "A"],
+               "edges": [{"from": "A", "to": "Bb", "weight": 3}, {"from": "Bb", "to": "Ccc", "weight": -2147483648},
+                         {"from": "Ccc", "to": "A", "weight": 2147483647}, {"from": "é", "to": "日本", "weight": 0},
+                         {"from": "日本", "to": "😀", "weight": -1}, {"from": "A", "to": "Bb", "weight": 3}]},
+              {"id": 8, "nodes": ["lonely"], "edges": []},
+              {"id": -1, "nodes": [], "edges": []},
+              {"id": 9, "nodes": ["x", "y", "z"],
+               "edges": [{"from": "x", "to": "y", "weight": 1}, {"from": "y", "to": "z", "weight": 2}]}
+            ]}
+            """;
+
+    private Path convert(String json) throws IOException {
+        Path jsonFile = dir.resolve("graphs.json");
+        Files.writeString(jsonFile, json);
+        Path binary = dir.resolve("graphs.bin");
+        BinaryGraphFile.convertJson(jsonFile.toString(), binary);
+        return binary;
+    }
+
+    private static void assertSameGraph(IndexedGraph expected, IndexedGraph actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.vertexCount(), actual.vertexCount(), "graph " + expected.getId());
+        for (int v = 0; v < expected.vertexCount(); v++) {
+            assertEquals(expected.name(v), actual.name(v), "graph " + expected.getId() + " vertex " + v);
+        }
+        assertArrayEquals(Arrays.copyOf(expected.edgeFromArray(), expected.edgeCount()),
+                Arrays.copyOf(actual.edgeFromArray(), actual.edgeCount()));
+        assertArrayEquals(Arrays.copyOf(expected.edgeToArray(), expected.edgeCount()),
+                Arrays.copyOf(actual.edgeToArray(), actual.edgeCount()));
+        assertArrayEquals(Arrays.copyOf(expected.edgeWeightArray(), expected.edgeCount()),
+                Arrays.copyOf(actual.edgeWeightArray(), actual.edgeCount()));
+    }
+
+    @Test
+    void roundTripGivesTheIndexedJsonGraphs() throws IOException {
+        Path binary = convert(INPUT);
+        Path jsonFile = dir.resolve("graphs.json");
+        List<IndexedGraph> expected = Json.readGraphsFromJson(jsonFile.toString()).stream()
+                .map(IndexedGraph::fromGraphData)
+                .toList();
+
+        List<IndexedGraph> read = BinaryGraphFile.read(binary);
+        assertEquals(expected.size(), read.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertSameGraph(expected.get(i), read.get(i));
+        }
+        // The repeated name is stored once
+        assertEquals(7, read.get(0).vertexCount());
+
+        try (BinaryGraphFile.Reader reader = BinaryGraphFile.open(binary)) {
+            assertEquals(expected.size(), reader.graphCount());
+            for (IndexedGraph graph : expected) {
+                assertTrue(reader.hasNext());
+                assertSameGraph(graph, reader.next());
+            }
+            assertFalse(reader.hasNext());
+            assertThrows(NoSuchElementException.class, reader::next);
+        }
+
+        // The graphs compare the same as the JSON ones
+        assertEquals(MSTComparison.compareMSTs(expected.get(0)).getComparison_summary(),
+                MSTComparison.compareMSTs(read.get(0)).getComparison_summary());
+    }
+
+    @Test
+    void writeAndReadKeepLargeGraphs() throws IOException {
+        // More than one write buffer of edges and names
+        int n = 30_000;
+        String[] names = new String[n];
+        int[] from = new int[n - 1];
+        int[] to = new int[n - 1];
+        int[] weight = new int[n - 1];
+        for (int v = 0; v < n; v++) {
+            names[v] = "v" + v;
+            if (v > 0) {
+                from[v - 1] = v - 1;
+                to[v - 1] = v;
+                weight[v - 1] = (v * 7919) % 1000 - 500;
+            }
+        }
+        IndexedGraph graph = new IndexedGraph(3, names, from, to, weight);
+        Path binary = dir.resolve("large.bin");
+        BinaryGraphFile.write(List.of(graph, graph), binary);
+        List<IndexedGraph> read = BinaryGraphFile.read(binary);
+        assertEquals(2, read.size());
+        assertSameGraph(graph, read.get(0));
+        assertSameGraph(graph, read.get(1));
+    }
+
+    @Test
+    void rejectsOtherAndDamagedFiles() throws IOException {
+        Path other = dir.resolve("other.bin");
+        Files.writeString(other, "not a graph file");
+        assertThrows(IOException.class, () -> BinaryGraphFile.read(other));
+        assertThrows(IOException.class, () -> BinaryGraphFile.open(other));
+
+        Path binary = convert(INPUT);
+        byte[] bytes = Files.readAllBytes(binary);
+        Path newer = dir.resolve("newer.bin");
+        byte[] version = bytes.clone();
+        ByteBuffer.wrap(version).order(ByteOrder.LITTLE_ENDIAN).putInt(4, 2);
+        Files.write(newer, version);
+        assertThrows(IOException.class, () -> BinaryGraphFile.read(newer));
+
+        // A truncated file still yields the graphs before the cut
+        Path truncated = dir.resolve("truncated.bin");
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 4));
+        assertThrows(IOException.class, () -> BinaryGraphFile.read(truncated));
+        try (BinaryGraphFile.Reader reader = BinaryGraphFile.open(truncated)) {
+            assertEquals(7, reader.next().getId());
+            assertEquals(8, reader.next().getId());
+            assertEquals(-1, reader.next().getId());
+            assertThrows(UncheckedIOException.class, reader::next);
+        }
+    }
+
+    @Test
+    void convertRejectsGraphsWithoutEdges() throws IOException {
+        Path jsonFile = dir.resolve("points.json");
+        Files.writeString(jsonFile, """
+                {"graphs": [{"id": 1, "nodes": ["p", "q"], "coordinates": {"p": [0, 0], "q": [1, 1]}}]}
+                """);
+        assertThrows(IllegalArgumentException.class,
+                () -> BinaryGraphFile.convertJson(jsonFile.toString(), dir.resolve("points.bin")));
+    }
+}
@@ -0,0 +1,121 @@
+package org.example;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Cross-checks the parallel Borůvka engine against Kruskal on generated graphs of
+ * every model and weight distribution, including disconnected ones.
+ */
+class BoruvkaTest {
+
+    private static ForkJoinPool pool;
+
+    @BeforeAll
+    static void startPool() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    static void stopPool() {
+        pool.shutdown();
+    }
+
+    @Test
+    void matchesKruskalOnGeneratedGraphs() {
+        GraphGenerator generator = new GraphGenerator(6);
+        Boruvka boruvka = new Boruvka(pool);
+        for (GraphGenerator.Model model : GraphGenerator.Model.values()) {
+            for (GraphGenerator.WeightDistribution weights : GraphGenerator.WeightDistribution.values()) {
+                for (int vertices : new int[]{2, 50, 700}) {
+                    // A low degree leaves geometric graphs disconnected
+                    double degree = model == GraphGenerator.Model.GEOMETRIC ? 1.5 : 6;
+                    int size = model == GraphGenerator.Model.COMPLETE ? Math.min(vertices, 120) : vertices;
+                    IndexedGraph graph = generator.generate(model, size, degree, weights, 1000);
+                    assertSameForest(new Kruskal().runKruskal(graph), boruvka.runBoruvka(graph),
+                            model + "/" + weights + "/" + size);
+                }
+            }
+        }
+    }
+
+    @Test
+    void sharedWorkspaceKeepsResultsIndependent() {
+        // Alternate large and small graphs so that reused buffers hold stale entries
+        GraphGenerator generator = new GraphGenerator(7);
+        List<IndexedGraph> graphs = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            int vertices = i % 2 == 0 ? 2000 : 30 + i;
+            graphs.add(generator.generate(GraphGenerator.Model.GEOMETRIC, vertices, 2.5,
+                    GraphGenerator.WeightDistribution.FEW_DISTINCT, 100));
+        }
+
+        Boruvka boruvka = new Boruvka(pool);
+        MSTWorkspace workspace = new MSTWorkspace();
+        boruvka.setWorkspace(workspace);
+        Kruskal kruskal = new Kruskal();
+        kruskal.setWorkspace(workspace);
+        for (IndexedGraph graph : graphs) {
+            Result expected = kruskal.runKruskal(graph);
+            assertSameForest(expected, boruvka.runBoruvka(graph), "graph " + graph.getId());
+        }
+    }
+
+    @Test
+    void runsFromInsideItsOwnPool() {
+        // A pool worker waiting for the rounds may run other tasks, so it must not share its buffers
+        IndexedGraph graph = new GraphGenerator(8).generate(GraphGenerator.Model.ERDOS_RENYI, 3000, 8,
+                GraphGenerator.WeightDistribution.UNIFORM, 1_000_000);
+        Result expected = new Kruskal().runKruskal(graph);
+        Boruvka boruvka = new Boruvka(pool);
+        List<Result> results = pool.submit(() -> {
+            List<Result> inner = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                inner.add(boruvka.runBoruvka(graph));
+            }
+            return inner;
+        }).join();
+        for (Result result : results) {
+            assertSameForest(expected, result, "nested run");
+        }
+    }
+
+    @Test
+    void workersReuseBorrowedWorkspaces() {
+        boolean[] checks = pool.submit(() -> {
+            MSTWorkspace first = MSTWorkspace.borrow();
+            MSTWorkspace nested = MSTWorkspace.borrow();
+            MSTWorkspace.giveBack(nested);
+            MSTWorkspace.giveBack(first);
+            MSTWorkspace again = MSTWorkspace.borrow();
+            MSTWorkspace.giveBack(again);
+            return new boolean[]{first != nested, again == first || again == nested};
+        }).join();
+        assertTrue(checks[0], "nested runs get separate workspaces");
+        assertTrue(checks[1], "a returned workspace is borrowed again");
+    }
+
+    @Test
+    void handlesGraphsWithoutEdges() {
+        IndexedGraph empty = new IndexedGraph(1, new String[0], new int[0], new int[0], new int[0]);
+        IndexedGraph isolated = new IndexedGraph(2, new String[]{"a", "b", "c"}, new int[0], new int[0], new int[0]);
+        Boruvka boruvka = new Boruvka(pool);
+        assertSameForest(new Kruskal().runKruskal(empty), boruvka.runBoruvka(empty), "empty");
+        assertSameForest(new Kruskal().runKruskal(isolated), boruvka.runBoruvka(isolated), "isolated");
+    }
+
+    private static void assertSameForest(Result expected, Result actual, String where) {
+        assertEquals(expected.totalCost, actual.totalCost, where + ": total cost");
+        assertEquals(expected.mstEdges.size(), actual.mstEdges.size(), where + ": forest edges");
+        assertEquals(expected.components, actual.components, where + ": components");
+        assertEquals(expected.componentCosts, actual.componentCosts, where + ": component costs");
+    }
+}
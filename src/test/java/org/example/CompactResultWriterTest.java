@@ -0,0 +1,179 @@
+package org.example;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Reads back the output of {@link CompactResultWriter} for every {@link CompactResultWriter.EdgeOutput}
+ * and compares it with the document Gson writes for the same results.
+ */
+class CompactResultWriterTest {
+
+    @TempDir
+    Path dir;
+
+    private static List<OutputGraph> results;
+
+    private static GraphData graph(int id, List<String> nodes, List<Edge> edges) {
+        GraphData graph = new GraphData();
+        graph.setId(id);
+        graph.setNodes(nodes);
+        graph.setEdges(edges);
+        return graph;
+    }
+
+    /**
+     * Results that use every field of the output: names that need escaping or several
+     * UTF-8 bytes, metrics, sensitivity, timings, scenarios, several components, and a
+     * graph large enough to fill the write buffers many times over.
+     */
+    @BeforeAll
+    static void compare() {
+        results = new ArrayList<>();
+        List<String> names = List.of("quote\"d", "back\\slash", "new\nline", "tab\tand\u0001control", "\u00e9",
+                "\u65e5\u672c", "\ud83d\ude00", "line\u2028separator", "<&>='", "plain");
+        List<Edge> edges = new ArrayList<>();
+        for (int i = 1; i < names.size(); i++) {
+            edges.add(new Edge(names.get(i - 1), names.get(i), i % 3 == 0 ? -i : i * 1000));
+            edges.add(new Edge(names.get(i), names.get((i * 7) % names.size()), i));
+        }
+        ComparisonOptions detailed = new ComparisonOptions();
+        detailed.setMetrics(true);
+        detailed.setSensitivity(true);
+        results.add(MSTComparison.compareMSTs(graph(1, names, edges), detailed));
+
+        GraphData scenarios = graph(2, List.of("a", "b", "c", "d", "lonely"),
+                List.of(new Edge("a", "b", 4), new Edge("b", "c", 1), new Edge("a", "c", 2), new Edge("c", "d", 5)));
+        Map<String, int[]> weights = new LinkedHashMap<>();
+        weights.put("peak", new int[]{1, 9, 9, 2});
+        weights.put("night", new int[]{-5, 0, Integer.MAX_VALUE, 3});
+        scenarios.setScenarios(weights);
+        ComparisonOptions measured = new ComparisonOptions();
+        measured.setWarmup(1);
+        measured.setRepetitions(3);
+        results.add(MSTComparison.compareMSTs(scenarios, measured));
+
+        List<String> path = new ArrayList<>();
+        List<Edge> pathEdges = new ArrayList<>();
+        for (int v = 0; v < 5000; v++) {
+            path.add("vertex-with-a-rather-long-name-" + v);
+            if (v > 0) pathEdges.add(new Edge(path.get(v - 1), path.get(v), v % 17 - 8));
+        }
+        results.add(MSTComparison.compareMSTs(graph(3, path, pathEdges)));
+    }
+
+    private JsonElement gson() throws IOException {
+        Path file = dir.resolve("gson.json");
+        try (ResultWriter writer = Json.openResultWriter(file.toString())) {
+            results.forEach(writer::write);
+        }
+        return JsonParser.parseString(Files.readString(file));
+    }
+
+    private JsonElement compact(CompactResultWriter.EdgeOutput edgeOutput) throws IOException {
+        Path file = dir.resolve(edgeOutput + ".json");
+        try (ResultWriter writer = Json.openCompactResultWriter(file.toString(), edgeOutput)) {
+            results.forEach(writer::write);
+            assertEquals(results.size(), writer.getWritten());
+        }
+        String text = Files.readString(file);
+        assertFalse(text.strip().contains("\n"), "compact output has no indentation");
+        return JsonParser.parseString(text);
+    }
+
+    @Test
+    void fullOutputMatchesGson() throws IOException {
+        assertEquals(gson(), compact(CompactResultWriter.EdgeOutput.FULL));
+    }
+
+    @Test
+    void omittedEdgesLeaveEverythingElse() throws IOException {
+        JsonElement expected = gson();
+        removeEdgeLists(expected);
+        assertEquals(expected, compact(CompactResultWriter.EdgeOutput.OMIT));
+    }
+
+    @Test
+    void binaryEdgesMatchTheInlineLists() throws IOException {
+        JsonElement actual = compact(CompactResultWriter.EdgeOutput.BINARY);
+        ByteBuffer edges = ByteBuffer.wrap(Files.readAllBytes(dir.resolve("BINARY.json.edges")))
+                .order(ByteOrder.LITTLE_ENDIAN);
+        inlineEdgeLists(actual, edges);
+        assertEquals(gson(), actual);
+    }
+
+    @Test
+    void loneSurrogatesSurviveAsEscapes() throws IOException {
+        OutputGraph result = MSTComparison.compareMSTs(graph(4, List.of("\ud800x", "y\udc00"),
+                List.of(new Edge("\ud800x", "y\udc00", 1))));
+        Path file = dir.resolve("surrogates.json");
+        try (ResultWriter writer = Json.openCompactResultWriter(file.toString(), CompactResultWriter.EdgeOutput.FULL)) {
+            writer.write(result);
+        }
+        JsonObject edge = JsonParser.parseString(Files.readString(file)).getAsJsonObject()
+                .getAsJsonArray("results").get(0).getAsJsonObject()
+                .getAsJsonObject("kruskal").getAsJsonArray("mstEdges").get(0).getAsJsonObject();
+        assertEquals("\ud800x", edge.get("from").getAsString());
+        assertEquals("y\udc00", edge.get("to").getAsString());
+    }
+
+    private static void removeEdgeLists(JsonElement element) {
+        if (element.isJsonArray()) {
+            element.getAsJsonArray().forEach(CompactResultWriterTest::removeEdgeLists);
+        } else if (element.isJsonObject()) {
+            JsonObject object = element.getAsJsonObject();
+            object.remove("mstEdges");
+            object.entrySet().forEach(entry -> removeEdgeLists(entry.getValue()));
+        }
+    }
+
+    /**
+     * Replaces every offset and count pair with the edges it refers to in the side file.
+     */
+    private static void inlineEdgeLists(JsonElement element, ByteBuffer edges) {
+        if (element.isJsonArray()) {
+            element.getAsJsonArray().forEach(child -> inlineEdgeLists(child, edges));
+        } else if (element.isJsonObject()) {
+            JsonObject object = element.getAsJsonObject();
+            if (object.has("mstEdgesOffset")) {
+                edges.position(Math.toIntExact(object.remove("mstEdgesOffset").getAsLong()));
+                int count = object.remove("mstEdgesCount").getAsInt();
+                JsonArray list = new JsonArray();
+                for (int i = 0; i < count; i++) {
+                    JsonObject edge = new JsonObject();
+                    edge.addProperty("from", string(edges));
+                    edge.addProperty("to", string(edges));
+                    edge.addProperty("weight", edges.getInt());
+                    list.add(edge);
+                }
+                object.add("mstEdges", list);
+            }
+            object.entrySet().forEach(entry -> inlineEdgeLists(entry.getValue(), edges));
+        }
+    }
+
+    private static String string(ByteBuffer edges) {
+        byte[] bytes = new byte[edges.getInt()];
+        edges.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
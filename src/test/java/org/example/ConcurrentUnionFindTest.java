@@ -0,0 +1,66 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks {@link ConcurrentUnionFind} under concurrent unions against the sequential
+ * {@link UnionFind} fed the same pairs.
+ */
+class ConcurrentUnionFindTest {
+
+    @Test
+    void concurrentUnionsMatchSequentialUnionFind() {
+        Random random = new Random(16);
+        for (int round = 0; round < 20; round++) {
+            int n = 1 + random.nextInt(5000);
+            int pairs = random.nextInt(2 * n);
+            int[] a = new int[pairs];
+            int[] b = new int[pairs];
+            UnionFind expected = new UnionFind(n);
+            for (int i = 0; i < pairs; i++) {
+                a[i] = random.nextInt(n);
+                b[i] = random.nextInt(n);
+                expected.union(a[i], b[i]);
+            }
+
+            ConcurrentUnionFind uf = new ConcurrentUnionFind(n);
+            AtomicInteger merges = new AtomicInteger();
+            IntStream.range(0, pairs).parallel().forEach(i -> {
+                if (uf.union(a[i], b[i])) merges.incrementAndGet();
+            });
+
+            assertEquals(expected.components(), uf.components(), "round " + round);
+            assertEquals(n - expected.components(), merges.get(), "every merge is reported once");
+            for (int i = 0; i < 200; i++) {
+                int u = random.nextInt(n);
+                int v = random.nextInt(n);
+                assertEquals(expected.find(u) == expected.find(v), uf.connected(u, v));
+            }
+        }
+    }
+
+    @Test
+    void resetReusesTheStructure() {
+        ConcurrentUnionFind uf = new ConcurrentUnionFind(8);
+        uf.union(0, 1);
+        uf.union(2, 3);
+        uf.reset(4);
+        assertEquals(4, uf.components());
+        assertFalse(uf.connected(0, 1));
+
+        // Growing beyond the initial size
+        uf.reset(100);
+        assertEquals(100, uf.components());
+        assertTrue(uf.union(98, 99));
+        assertTrue(uf.connected(99, 98));
+        assertEquals(99, uf.components());
+    }
+}
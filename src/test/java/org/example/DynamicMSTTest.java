@@ -0,0 +1,159 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks {@link DynamicMST} against Kruskal re-run from scratch on the current edges
+ * after every change of random insert, delete and weight change sequences.
+ */
+class DynamicMSTTest {
+
+    /**
+     * The edges of the graph as the test sees them, kept in step with the structure.
+     */
+    private static final class Mirror {
+        final String[] names;
+        final List<int[]> edges = new ArrayList<>();  // from, to, weight
+        final List<Boolean> alive = new ArrayList<>();
+
+        Mirror(IndexedGraph graph) {
+            names = new String[graph.vertexCount()];
+            for (int v = 0; v < names.length; v++) {
+                names[v] = graph.name(v);
+            }
+            for (int e = 0; e < graph.edgeCount(); e++) {
+                edges.add(new int[]{graph.edgeFrom(e), graph.edgeTo(e), graph.edgeWeight(e)});
+                alive.add(true);
+            }
+        }
+
+        Result kruskal() {
+            List<Integer> from = new ArrayList<>();
+            List<Integer> to = new ArrayList<>();
+            List<Integer> weight = new ArrayList<>();
+            for (int e = 0; e < edges.size(); e++) {
+                if (alive.get(e)) {
+                    from.add(edges.get(e)[0]);
+                    to.add(edges.get(e)[1]);
+                    weight.add(edges.get(e)[2]);
+                }
+            }
+            IndexedGraph graph = new IndexedGraph(0, names.clone(), toArray(from), toArray(to), toArray(weight));
+            return new Kruskal().runKruskal(graph);
+        }
+
+        private static int[] toArray(List<Integer> values) {
+            return values.stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    @Test
+    void randomChangesMatchKruskalRerun() {
+        Random random = new Random(42);
+        for (int round = 0; round < 60; round++) {
+            int n = 2 + random.nextInt(40);
+            long m = n - 1 + random.nextInt(2 * n);
+            GraphGenerator.WeightDistribution weights = round % 2 == 0
+                    ? GraphGenerator.WeightDistribution.UNIFORM : GraphGenerator.WeightDistribution.FEW_DISTINCT;
+            IndexedGraph graph = new GraphGenerator(round).randomGraph(n, m, weights, 50);
+            DynamicMST mst = new DynamicMST(graph);
+            Mirror mirror = new Mirror(graph);
+            assertMatches(mirror, mst, "round " + round + " initial");
+
+            for (int step = 0; step < 150; step++) {
+                int e = random.nextInt(mirror.edges.size());
+                int change = random.nextInt(4);
+                if (change == 0 || !mirror.alive.get(e)) {
+                    // Self-loops and parallel edges are allowed
+                    int from = random.nextInt(n);
+                    int to = random.nextInt(n);
+                    int weight = random.nextInt(50);
+                    assertEquals(mirror.edges.size(), mst.addEdge(from, to, weight));
+                    mirror.edges.add(new int[]{from, to, weight});
+                    mirror.alive.add(true);
+                } else if (change == 1) {
+                    mst.removeEdge(e);
+                    mirror.alive.set(e, false);
+                } else {
+                    // Raising and lowering weights, of tree and non-tree edges alike
+                    int weight = random.nextInt(50);
+                    mst.updateWeight(e, weight);
+                    mirror.edges.get(e)[2] = weight;
+                }
+                assertMatches(mirror, mst, "round " + round + " step " + step);
+            }
+        }
+    }
+
+    @Test
+    void deletingBridgesSplitsTheForest() {
+        // Path a - b - c - d: every edge is a bridge
+        IndexedGraph path = IndexedGraph.of(1, List.of("a", "b", "c", "d"),
+                List.of(new Edge("a", "b", 3), new Edge("b", "c", 1), new Edge("c", "d", 2)));
+        DynamicMST mst = new DynamicMST(path);
+        assertEquals(0, mst.maxEdgeOnPath(0, 3));
+
+        mst.removeEdge(1);
+        assertEquals(2, mst.getComponentCount());
+        assertFalse(mst.connected(0, 3));
+        assertEquals(-1, mst.maxEdgeOnPath(0, 3));
+
+        // A lighter edge closing a cycle replaces the heaviest edge on it
+        int shortcut = mst.addEdge("a", "d", 10);
+        assertTrue(mst.isTreeEdge(shortcut));
+        int cheaper = mst.addEdge("b", "d", 1);
+        assertTrue(mst.isTreeEdge(cheaper));
+        assertFalse(mst.isTreeEdge(shortcut));
+        assertEquals(6, mst.getTotalCost());
+    }
+
+    @Test
+    void toResultReportsComponents() {
+        IndexedGraph graph = IndexedGraph.of(1, List.of("a", "b", "c", "d", "e"),
+                List.of(new Edge("a", "b", 3), new Edge("c", "d", 4), new Edge("d", "e", 1), new Edge("c", "e", 9)));
+        Result result = new DynamicMST(graph).toResult();
+        Result expected = new Kruskal().runKruskal(graph);
+        assertEquals(expected.totalCost, result.totalCost);
+        assertEquals(expected.components, result.components);
+        assertEquals(expected.componentCosts, result.componentCosts);
+    }
+
+    @Test
+    void toResultRejectsCostsBeyondTheIntRange() {
+        IndexedGraph graph = IndexedGraph.of(1, List.of("a", "b", "c"),
+                List.of(new Edge("a", "b", Integer.MAX_VALUE), new Edge("b", "c", 1)));
+        DynamicMST mst = new DynamicMST(graph);
+        assertEquals(Integer.MAX_VALUE + 1L, mst.getTotalCost());
+        assertThrows(IllegalStateException.class, mst::toResult);
+
+        mst.updateWeight(1, 0);
+        assertEquals(Integer.MAX_VALUE, mst.toResult().totalCost);
+    }
+
+    @Test
+    void rejectsMissingEdgesAndVertices() {
+        IndexedGraph graph = IndexedGraph.of(1, List.of("a", "b"), List.of(new Edge("a", "b", 1)));
+        DynamicMST mst = new DynamicMST(graph);
+        mst.removeEdge(0);
+        assertThrows(IllegalArgumentException.class, () -> mst.removeEdge(0));
+        assertThrows(IllegalArgumentException.class, () -> mst.updateWeight(1, 5));
+        assertThrows(IllegalArgumentException.class, () -> mst.addEdge("a", "z", 1));
+        assertThrows(IllegalArgumentException.class, () -> mst.addEdge(0, 2, 1));
+    }
+
+    private static void assertMatches(Mirror mirror, DynamicMST mst, String where) {
+        Result expected = mirror.kruskal();
+        assertEquals(expected.totalCost, mst.getTotalCost(), where + ": total cost");
+        assertEquals(expected.mstEdges.size(), mst.getTreeEdgeCount(), where + ": tree edges");
+        assertEquals(expected.components, mst.getComponentCount(), where + ": components");
+    }
+}
@@ -0,0 +1,96 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+/**
+ * Checks every {@link EdgeSort.Method} against a stable comparator sort of the edge ids,
+ * on weights with negatives, ties and the extremes of the int range.
+ */
+class EdgeSortTest {
+
+    // Crosses the AUTO radix threshold and the size at which parallelSort splits the work
+    private static final int[] SIZES = {0, 1, 2, 7, 100, 4095, 4096, 5000, 20_000};
+
+    /**
+     * The reference order: ids sorted by weight with a stable sort, so ties keep id order.
+     */
+    private static int[] expected(int[] weights) {
+        return IntStream.range(0, weights.length).boxed()
+                .sorted(Comparator.comparingInt(e -> weights[e]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    private static int[][] weightSets(int m, Random random) {
+        int[] full = new int[m];
+        int[] ties = new int[m];
+        int[] negative = new int[m];
+        int[] extremes = new int[m];
+        int[] equal = new int[m];
+        int[] descending = new int[m];
+        int[] bytes = {Integer.MIN_VALUE, Integer.MIN_VALUE + 1, -256, -255, -1, 0, 1, 255, 256, 65_536,
+                Integer.MAX_VALUE - 1, Integer.MAX_VALUE};
+        for (int e = 0; e < m; e++) {
+            full[e] = random.nextInt();
+            ties[e] = random.nextInt(7) - 3;
+            negative[e] = -1 - random.nextInt(Integer.MAX_VALUE);
+            extremes[e] = bytes[random.nextInt(bytes.length)];
+            equal[e] = Integer.MAX_VALUE;
+            descending[e] = m - 2 * e;
+        }
+        return new int[][]{full, ties, negative, extremes, equal, descending};
+    }
+
+    @Test
+    void everyMethodMatchesAStableComparatorSort() {
+        Random random = new Random(4);
+        MSTWorkspace workspace = new MSTWorkspace();
+        for (int m : SIZES) {
+            int[][] sets = weightSets(m, random);
+            for (int s = 0; s < sets.length; s++) {
+                int[] weights = sets[s];
+                int[] copy = weights.clone();
+                int[] expected = expected(weights);
+                for (EdgeSort.Method method : EdgeSort.Method.values()) {
+                    String where = method + " on set " + s + " of " + m + " edges";
+                    assertArrayEquals(expected, EdgeSort.sortByWeight(weights, method), where);
+                    // The workspace buffers are reused across sizes and may be longer than m
+                    int[] order = EdgeSort.sortByWeight(weights, method, workspace);
+                    assertArrayEquals(expected, Arrays.copyOf(order, m), where + " with a workspace");
+                }
+                assertArrayEquals(copy, weights, "the weights are left as they were");
+            }
+        }
+    }
+
+    @Test
+    void sortRangeOrdersOnlyTheRange() {
+        Random random = new Random(5);
+        for (int[] weights : weightSets(300, random)) {
+            int[] ids = IntStream.range(0, weights.length).toArray();
+            // Reverse the ids so that ties have to be put back in id order
+            for (int i = 0; i < ids.length / 2; i++) {
+                int tmp = ids[i];
+                ids[i] = ids[ids.length - 1 - i];
+                ids[ids.length - 1 - i] = tmp;
+            }
+            int[] before = ids.clone();
+            EdgeSort.sortRange(ids, 50, 250, weights);
+
+            int[] range = IntStream.range(50, 250).map(i -> before[i]).boxed()
+                    .sorted(Comparator.<Integer>comparingInt(e -> weights[e]).thenComparingInt(e -> e))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            assertArrayEquals(range, Arrays.copyOfRange(ids, 50, 250));
+            assertArrayEquals(Arrays.copyOfRange(before, 0, 50), Arrays.copyOfRange(ids, 0, 50));
+            assertArrayEquals(Arrays.copyOfRange(before, 250, 300), Arrays.copyOfRange(ids, 250, 300));
+        }
+    }
+}
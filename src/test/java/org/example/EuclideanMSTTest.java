@@ -0,0 +1,125 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the Euclidean candidate graph has a minimum spanning tree as cheap as
+ * the complete graph of rounded distances, built by brute force.
+ */
+class EuclideanMSTTest {
+
+    @Test
+    void candidateGraphMatchesBruteForce() {
+        Random random = new Random(19);
+        for (int round = 0; round < 300; round++) {
+            int n = 1 + random.nextInt(round < 200 ? 60 : 400);
+            double[] xs = new double[n];
+            double[] ys = new double[n];
+            int layout = round % 4;
+            for (int i = 0; i < n; i++) {
+                if (layout == 0) {
+                    xs[i] = random.nextDouble();
+                    ys[i] = random.nextDouble();
+                } else if (layout == 1) {
+                    // Grid points with many equal distances and repeated points
+                    xs[i] = random.nextInt(8);
+                    ys[i] = random.nextInt(8);
+                } else if (layout == 2) {
+                    // Clusters far apart
+                    int cluster = random.nextInt(4);
+                    xs[i] = 1000 * cluster + random.nextGaussian();
+                    ys[i] = -500 * cluster + random.nextGaussian();
+                } else {
+                    // Points on a line
+                    xs[i] = random.nextInt(1000) / 7.0;
+                    ys[i] = 2 * xs[i];
+                }
+            }
+            double scale = layout == 0 ? 1000 : 10;
+            IndexedGraph candidates = EuclideanMST.candidateGraph(round, names(n), xs, ys, scale);
+            IndexedGraph complete = completeGraph(xs, ys, scale);
+            Result expected = new Kruskal().runKruskal(complete);
+            Result actual = new Kruskal().runKruskal(candidates);
+            String where = "round " + round + " with " + n + " points";
+            assertEquals(expected.totalCost, actual.totalCost, where);
+            assertEquals(1, actual.components, where);
+            assertTrue(candidates.edgeCount() <= Math.max(0, n * (n - 1) / 2), where);
+        }
+    }
+
+    @Test
+    void candidateGraphStaysSparse() {
+        Random random = new Random(20);
+        int n = 20_000;
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = random.nextDouble();
+            ys[i] = random.nextDouble();
+        }
+        IndexedGraph candidates = EuclideanMST.candidateGraph(1, names(n), xs, ys, 1_000_000);
+        assertTrue(candidates.edgeCount() < 25L * n, candidates.edgeCount() + " candidates");
+        assertEquals(1, new Kruskal().runKruskal(candidates).components);
+    }
+
+    @Test
+    void fromGraphDataTreatsRepeatedNamesAsOnePoint() {
+        GraphData graph = new GraphData();
+        graph.setId(3);
+        graph.setNodes(List.of("a", "b", "a", "c"));
+        graph.setCoordinates(Map.of("a", new double[]{0, 0}, "b", new double[]{3, 4}, "c", new double[]{3, 0}));
+        graph.setScale(1.0);
+        IndexedGraph candidates = EuclideanMST.fromGraphData(graph);
+        assertEquals(3, candidates.vertexCount());
+        assertEquals(7, new Kruskal().runKruskal(candidates).totalCost);
+
+        graph.setCoordinates(Map.of("a", new double[]{0, 0}, "b", new double[]{3, 4}));
+        assertThrows(IllegalArgumentException.class, () -> EuclideanMST.fromGraphData(graph));
+    }
+
+    @Test
+    void rejectsWeightsBeyondTheIntRange() {
+        assertThrows(IllegalArgumentException.class, () -> EuclideanMST.candidateGraph(4, names(2),
+                new double[]{0, 3e9}, new double[]{0, 0}, 1));
+    }
+
+    private static String[] names(int n) {
+        String[] names = new String[n];
+        for (int i = 0; i < n; i++) {
+            names[i] = "p" + i;
+        }
+        return names;
+    }
+
+    /**
+     * The complete graph of all pairwise distances, rounded the same way.
+     */
+    private static IndexedGraph completeGraph(double[] xs, double[] ys, double scale) {
+        int n = xs.length;
+        List<int[]> edges = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                double dist = Math.sqrt((xs[i] - xs[j]) * (xs[i] - xs[j]) + (ys[i] - ys[j]) * (ys[i] - ys[j]));
+                edges.add(new int[]{i, j, (int) Math.rint(dist * scale)});
+            }
+        }
+        int[] from = new int[edges.size()];
+        int[] to = new int[edges.size()];
+        int[] weight = new int[edges.size()];
+        for (int e = 0; e < edges.size(); e++) {
+            from[e] = edges.get(e)[0];
+            to[e] = edges.get(e)[1];
+            weight[e] = edges.get(e)[2];
+        }
+        return new IndexedGraph(0, names(n), from, to, weight);
+    }
+}
@@ -0,0 +1,121 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks {@link ExternalKruskal} against in-memory Kruskal, with runs and merge
+ * fan-in small enough that the input is split into many runs and merged in several
+ * extra passes.
+ */
+class ExternalKruskalTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void multiPassMergeMatchesKruskal() throws IOException {
+        GraphGenerator generator = new GraphGenerator(24);
+        List<IndexedGraph> graphs = new ArrayList<>();
+        graphs.add(generator.generate(GraphGenerator.Model.ERDOS_RENYI, 300, 8,
+                GraphGenerator.WeightDistribution.FEW_DISTINCT, 1000));
+        graphs.add(generator.generate(GraphGenerator.Model.GEOMETRIC, 300, 1.5,
+                GraphGenerator.WeightDistribution.UNIFORM, 1000));
+        graphs.add(generator.generate(GraphGenerator.Model.GRID, 400, 0,
+                GraphGenerator.WeightDistribution.UNIFORM, 1000));
+        // Negative and equal weights around zero
+        graphs.add(new IndexedGraph(0, new String[]{"a", "b", "c", "d"},
+                new int[]{0, 1, 2, 3, 0, 1, 2}, new int[]{1, 2, 3, 0, 2, 3, 2}, new int[]{-5, 0, -5, 0, -1, -5, -9}));
+
+        for (IndexedGraph graph : graphs) {
+            Path input = dir.resolve("graph-" + graph.getId() + ".edges");
+            ExternalKruskal.writeEdgeFile(graph, input);
+            int[][] expected = kruskalEdges(graph);
+            for (int fanIn : new int[]{2, 3, 7}) {
+                for (int runEdges : new int[]{1, 5, 64, graph.edgeCount() + 1}) {
+                    String where = "graph " + graph.getId() + ", fan-in " + fanIn + ", runs of " + runEdges;
+                    List<int[]> emitted = new ArrayList<>();
+                    ExternalKruskal.Summary summary = new ExternalKruskal(runEdges, dir, fanIn)
+                            .run(input, graph.vertexCount(), (from, to, weight) -> emitted.add(new int[]{from, to, weight}));
+
+                    // Equal weights are taken in input order, so even the edge order matches
+                    assertArrayEquals(expected, emitted.toArray(new int[0][]), where);
+                    assertEquals(graph.edgeCount(), summary.edges, where);
+                    assertEquals(expectedRuns(graph.edgeCount(), runEdges), summary.runs, where + ": runs");
+                    assertEquals(expectedPasses(summary.runs, fanIn), summary.mergePasses, where + ": merge passes");
+                    assertEquals(new Kruskal().runKruskal(graph).components, summary.components, where + ": components");
+                    assertEquals(List.of(input), filesIn(dir), where + ": run files are deleted");
+                }
+            }
+            Files.delete(input);
+        }
+    }
+
+    @Test
+    void vertexCountDefaultsToLargestId() throws IOException {
+        IndexedGraph graph = new GraphGenerator(25).generate(GraphGenerator.Model.ERDOS_RENYI, 50, 4,
+                GraphGenerator.WeightDistribution.UNIFORM, 100);
+        Path input = dir.resolve("graph.edges");
+        ExternalKruskal.writeEdgeFile(graph, input);
+        ExternalKruskal.Summary summary = new ExternalKruskal(16, dir, 2).run(input, -1, (from, to, weight) -> { });
+        assertEquals(50, summary.vertices);
+        assertEquals(new Kruskal().runKruskal(graph).totalCost, summary.totalCost);
+    }
+
+    @Test
+    void rejectsOutOfRangeVerticesAndCleansUp() throws IOException {
+        IndexedGraph graph = new IndexedGraph(1, new String[]{"a", "b", "c"},
+                new int[]{0, 1, 2, 0}, new int[]{1, 2, 0, 2}, new int[]{1, 2, 3, 4});
+        Path input = dir.resolve("graph.edges");
+        ExternalKruskal.writeEdgeFile(graph, input);
+        // The last chunk holds the offending edge, after earlier runs were written
+        assertThrows(IllegalArgumentException.class,
+                () -> new ExternalKruskal(1, dir, 2).run(input, 2, (from, to, weight) -> { }));
+        assertEquals(List.of(input), filesIn(dir));
+        assertThrows(IllegalArgumentException.class, () -> new ExternalKruskal(8, dir, 1));
+    }
+
+    /**
+     * The forest edges of in-memory Kruskal as {@code from, to, weight} triples in acceptance order.
+     */
+    private static int[][] kruskalEdges(IndexedGraph graph) {
+        List<Edge> edges = new Kruskal().runKruskal(graph).mstEdges;
+        int[][] triples = new int[edges.size()][];
+        for (int i = 0; i < edges.size(); i++) {
+            Edge edge = edges.get(i);
+            triples[i] = new int[]{graph.indexOf(edge.getFrom()), graph.indexOf(edge.getTo()), edge.getWeight()};
+        }
+        return triples;
+    }
+
+    private static int expectedRuns(int edges, int runEdges) {
+        // A single chunk shorter than a run is handled without run files
+        return edges < runEdges ? 0 : (edges + runEdges - 1) / runEdges;
+    }
+
+    private static int expectedPasses(int runs, int fanIn) {
+        int passes = 0;
+        while (runs > fanIn) {
+            runs = (runs + fanIn - 1) / fanIn;
+            passes++;
+        }
+        return passes;
+    }
+
+    private static List<Path> filesIn(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.toList();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the findings of {@link GraphValidator}, the graphs produced by
+ * {@link GraphValidator#deduplicate} and {@link GraphData#hasDuplicateEdges}.
+ */
+class GraphValidatorTest {
+
+    private static GraphData graph(List<String> nodes, Edge... edges) {
+        GraphData graph = new GraphData();
+        graph.setId(1);
+        graph.setNodes(nodes);
+        graph.setEdges(List.of(edges));
+        return graph;
+    }
+
+    private static List<String> describe(List<Edge> edges) {
+        return edges.stream().map(e -> e.getFrom() + "-" + e.getTo() + ":" + e.getWeight()).toList();
+    }
+
+    @Test
+    void reportsEveryCategory() {
+        Edge ab = new Edge("A", "B", 4);
+        Edge baSame = new Edge("B", "A", 4);
+        Edge abLighter = new Edge("A", "B", 2);
+        Edge loop = new Edge("C", "C", 1);
+        Edge negative = new Edge("B", "C", -3);
+        Edge missing = new Edge("A", "Z", 1);
+        ValidationReport report = GraphValidator.validate(
+                graph(List.of("A", "B", "C", "B"), ab, baSame, abLighter, loop, negative, missing));
+
+        assertEquals(List.of(missing), report.getInvalidEdges());
+        assertEquals(List.of(loop), report.getSelfLoops());
+        assertEquals(List.of(baSame), report.getDuplicateEdges());
+        assertEquals(List.of(abLighter), report.getParallelEdges());
+        assertEquals(List.of(negative), report.getNegativeWeights());
+        assertEquals(List.of("B"), report.getDuplicateNodes());
+        assertFalse(report.isValid());
+        assertTrue(report.hasRepeatedEdges());
+        assertFalse(report.isClean());
+    }
+
+    @Test
+    void warningsLeaveTheGraphValid() {
+        ValidationReport report = GraphValidator.validate(
+                graph(List.of("A", "B", "A"), new Edge("A", "A", 1), new Edge("A", "B", -1)));
+        assertTrue(report.isValid());
+        assertFalse(report.isClean());
+
+        ValidationReport clean = GraphValidator.validate(
+                graph(List.of("A", "B", "C"), new Edge("A", "B", 1), new Edge("B", "C", 0)));
+        assertTrue(clean.isClean());
+    }
+
+    @Test
+    void deduplicateKeepsTheLightestEdgeAndEveryNameOnce() {
+        Edge missing = new Edge("A", "Z", 1);
+        GraphData input = graph(List.of("A", "B", "C", "A"),
+                new Edge("A", "B", 5), new Edge("B", "C", 3), new Edge("B", "A", 2), missing,
+                new Edge("A", "B", 7), new Edge("C", "C", 1), new Edge("C", "C", -1));
+        GraphData deduplicated = GraphValidator.deduplicate(input);
+
+        assertEquals(List.of("A", "B", "C"), deduplicated.getNodes());
+        assertEquals(List.of("A-B:2", "B-C:3", "C-C:-1", "A-Z:1"), describe(deduplicated.getEdges()));
+        assertSame(missing, deduplicated.getEdges().get(3));
+        assertTrue(GraphValidator.validate(deduplicated).getDuplicateNodes().isEmpty());
+        assertFalse(GraphValidator.validate(deduplicated).hasRepeatedEdges());
+        // The input is left as it was
+        assertEquals(7, input.getEdges().size());
+    }
+
+    @Test
+    void deduplicateReturnsCleanGraphsThemselves() {
+        GraphData clean = graph(List.of("A", "B", "C"), new Edge("A", "B", 1), new Edge("C", "B", 1));
+        assertSame(clean, GraphValidator.deduplicate(clean));
+    }
+
+    @Test
+    void deduplicateKeepsScenarioEdgesAligned() {
+        GraphData input = graph(List.of("A", "B", "B"), new Edge("A", "B", 1), new Edge("B", "A", 2));
+        input.setScenarios(Map.of("peak", new int[]{3, 4}));
+        GraphData deduplicated = GraphValidator.deduplicate(input);
+        assertEquals(List.of("A", "B"), deduplicated.getNodes());
+        assertSame(input.getEdges(), deduplicated.getEdges());
+        assertSame(input.getScenarios(), deduplicated.getScenarios());
+    }
+
+    @Test
+    void deduplicateKeepsCoordinates() {
+        GraphData input = new GraphData();
+        input.setId(2);
+        input.setNodes(List.of("p", "q", "p"));
+        input.setCoordinates(Map.of("p", new double[]{0, 0}, "q", new double[]{3, 4}));
+        input.setScale(10.0);
+        GraphData deduplicated = GraphValidator.deduplicate(input);
+        assertEquals(List.of("p", "q"), deduplicated.getNodes());
+        assertTrue(deduplicated.isEuclidean());
+        assertEquals(10.0, deduplicated.getScale());
+    }
+
+    @Test
+    void hasDuplicateEdgesIgnoresDirection() {
+        assertTrue(graph(List.of("A", "B"), new Edge("A", "B", 1), new Edge("B", "A", 9)).hasDuplicateEdges());
+        assertTrue(graph(List.of("A", "B", "A"), new Edge("A", "A", 1), new Edge("A", "A", 1)).hasDuplicateEdges());
+        assertFalse(graph(List.of("A", "B", "C", "A"), new Edge("A", "B", 1), new Edge("B", "C", 1),
+                new Edge("C", "A", 1)).hasDuplicateEdges());
+        // Edges with unknown endpoints are left to validateEdges
+        assertFalse(graph(List.of("A"), new Edge("A", "X", 1), new Edge("X", "A", 1)).hasDuplicateEdges());
+    }
+}
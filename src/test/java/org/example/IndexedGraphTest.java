@@ -0,0 +1,44 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks that {@link IndexedGraph} gives every vertex name exactly one id.
+ */
+class IndexedGraphTest {
+
+    @Test
+    void repeatedNamesShareOneVertex() {
+        IndexedGraph graph = IndexedGraph.of(1, List.of("A", "B", "A", "C", "B"),
+                List.of(new Edge("A", "B", 3), new Edge("C", "A", 1)));
+        assertEquals(3, graph.vertexCount());
+        assertEquals(List.of("A", "B", "C"), List.of(graph.name(0), graph.name(1), graph.name(2)));
+        assertEquals(0, graph.indexOf("A"));
+        assertEquals(2, graph.edgeFrom(1));
+        assertEquals(0, graph.edgeTo(1));
+        assertEquals(1, graph.degree(1));
+    }
+
+    @Test
+    void comparisonSeesNoPhantomVertex() {
+        GraphData data = new GraphData();
+        data.setId(2);
+        data.setNodes(List.of("A", "B", "A"));
+        data.setEdges(List.of(new Edge("A", "B", 3)));
+        OutputGraph output = MSTComparison.compareMSTs(data);
+        assertEquals(1, output.getKruskal().components);
+        assertEquals(List.of(List.of("A", "B")), output.getComponents());
+        assertEquals(2, output.getInput_stats().get("vertices"));
+    }
+
+    @Test
+    void constructorRejectsSharedNames() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new IndexedGraph(3, new String[]{"a", "b", "a"}, new int[]{0}, new int[]{1}, new int[]{1}));
+    }
+}
@@ -0,0 +1,199 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Checks the content keys, eviction, persistence and isolation of {@link MSTCache}.
+ */
+class MSTCacheTest {
+
+    @TempDir
+    Path dir;
+
+    private static GraphData graph(int id, List<String> nodes, List<Edge> edges) {
+        GraphData graph = new GraphData();
+        graph.setId(id);
+        graph.setNodes(nodes);
+        graph.setEdges(edges);
+        return graph;
+    }
+
+    private static String key(GraphData graph) {
+        return MSTCache.keyOf(IndexedGraph.fromGraphData(graph));
+    }
+
+    @Test
+    void keyIgnoresOrderDirectionAndId() {
+        Random random = new Random(13);
+        List<String> nodes = new ArrayList<>(List.of("a", "b", "c", "d", "e"));
+        List<Edge> edges = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            edges.add(new Edge(nodes.get(random.nextInt(5)), nodes.get(random.nextInt(5)), random.nextInt(4) - 1));
+        }
+        String key = key(graph(1, nodes, edges));
+
+        for (int round = 0; round < 20; round++) {
+            List<String> shuffledNodes = new ArrayList<>(nodes);
+            Collections.shuffle(shuffledNodes, random);
+            List<Edge> shuffledEdges = new ArrayList<>();
+            for (Edge e : edges) {
+                shuffledEdges.add(random.nextBoolean() ? e : new Edge(e.getTo(), e.getFrom(), e.getWeight()));
+            }
+            Collections.shuffle(shuffledEdges, random);
+            assertEquals(key, key(graph(round, shuffledNodes, shuffledEdges)), "round " + round);
+        }
+    }
+
+    @Test
+    void keyDistinguishesContent() {
+        List<String> nodes = List.of("a", "b", "c");
+        String key = key(graph(1, nodes, List.of(new Edge("a", "b", 1), new Edge("b", "c", 2))));
+        assertNotEquals(key, key(graph(1, nodes, List.of(new Edge("a", "b", 2), new Edge("b", "c", 1)))));
+        assertNotEquals(key, key(graph(1, nodes, List.of(new Edge("a", "c", 1), new Edge("b", "c", 2)))));
+        assertNotEquals(key, key(graph(1, nodes, List.of(new Edge("a", "b", 1), new Edge("b", "c", 2),
+                new Edge("b", "c", 2)))));
+        assertNotEquals(key, key(graph(1, List.of("a", "b", "c", "d"),
+                List.of(new Edge("a", "b", 1), new Edge("b", "c", 2)))));
+        assertNotEquals(key, key(graph(1, List.of("a", "b", "x"),
+                List.of(new Edge("a", "b", 1), new Edge("b", "x", 2)))));
+    }
+
+    /**
+     * A path graph whose forest has {@code edges} edges in each of the four results.
+     */
+    private static OutputGraph output(int id, int edges) {
+        List<String> nodes = new ArrayList<>();
+        List<Edge> path = new ArrayList<>();
+        for (int v = 0; v <= edges; v++) {
+            nodes.add("v" + v);
+            if (v > 0) path.add(new Edge("v" + (v - 1), "v" + v, v + id));
+        }
+        return MSTComparison.compareMSTs(graph(id, nodes, path));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedEntries() {
+        MSTCache cache = new MSTCache(2, 1000);
+        cache.put("a", output(1, 2));
+        cache.put("b", output(2, 2));
+        assertNotNull(cache.get("a", 1, false));
+        cache.put("c", output(3, 2));
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+        assertNull(cache.get("b", 2, false), "the least recently used entry is evicted");
+        assertNotNull(cache.get("a", 1, false));
+        assertNotNull(cache.get("c", 3, false));
+        assertEquals(3, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    void evictsToStayWithinTheEdgeBudget() {
+        // Every output holds four forests of 3 edges
+        MSTCache cache = new MSTCache(10, 30);
+        cache.put("a", output(1, 3));
+        cache.put("b", output(2, 3));
+        cache.put("c", output(3, 3));
+        assertEquals(2, cache.size());
+        assertNull(cache.get("a", 1, false));
+
+        cache.put("huge", output(4, 8));
+        assertNull(cache.get("huge", 4, false), "an entry over the whole budget is not stored");
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get("b", 2, false));
+    }
+
+    @Test
+    void hitsReportNoRunData() {
+        MSTCache cache = new MSTCache(4, 1000);
+        ComparisonOptions options = new ComparisonOptions();
+        options.setMetrics(true);
+        GraphData graph = graph(1, List.of("a", "b", "c"), List.of(new Edge("a", "b", 1), new Edge("b", "c", 2)));
+        OutputGraph computed = MSTComparison.compareMSTs(graph, options);
+        assertNotNull(computed.getKruskal().metrics);
+        cache.put("k", computed);
+
+        OutputGraph hit = cache.get("k", 7, false);
+        assertEquals(7, hit.getGraph_id());
+        for (Result result : new Result[]{hit.getPrim(), hit.getPrim_eager(), hit.getKruskal(), hit.getBoruvka()}) {
+            assertEquals(3, result.totalCost);
+            assertEquals(0, result.executionTimeMs);
+            assertEquals(0, result.operations);
+            assertNull(result.metrics);
+        }
+        assertNull(hit.getMetrics());
+
+        // Changing a copy leaves the entry alone
+        hit.getKruskal().mstEdges.clear();
+        assertEquals(2, cache.get("k", 1, false).getKruskal().mstEdges.size());
+    }
+
+    @Test
+    void sensitivityIsServedOnlyWhenRequestedAndStoredBack() {
+        MSTCache cache = new MSTCache(4, 1000);
+        ComparisonOptions plain = new ComparisonOptions();
+        plain.setCache(cache);
+        ComparisonOptions withSensitivity = new ComparisonOptions();
+        withSensitivity.setCache(cache);
+        withSensitivity.setSensitivity(true);
+        GraphData graph = graph(1, List.of("a", "b", "c"),
+                List.of(new Edge("a", "b", 1), new Edge("b", "c", 2), new Edge("a", "c", 3)));
+        String key = key(graph);
+
+        assertNull(MSTComparison.compareMSTs(graph, plain).getSensitivity());
+        assertNull(cache.get(key, 1, true).getSensitivity(), "stored without the analysis");
+
+        // A hit asking for the analysis computes it once and stores it with the entry
+        assertEquals(3, MSTComparison.compareMSTs(graph, withSensitivity).getSensitivity().size());
+        assertEquals(3, cache.get(key, 1, true).getSensitivity().size());
+
+        // Runs that do not ask for it never see it
+        assertNull(MSTComparison.compareMSTs(graph, plain).getSensitivity());
+        assertNull(cache.get(key, 1, false).getSensitivity());
+    }
+
+    @Test
+    void saveAndLoadKeepEntriesAndTheirOrder() throws IOException {
+        MSTCache cache = new MSTCache(3, 1000);
+        cache.put("a", output(1, 2));
+        cache.put("b", output(2, 3));
+        cache.put("c", output(3, 4));
+        assertNotNull(cache.get("a", 1, false));
+        Path file = dir.resolve("cache.json");
+        cache.save(file);
+
+        MSTCache loaded = new MSTCache(3, 1000);
+        loaded.load(file);
+        assertEquals(3, loaded.size());
+        assertEquals(cache.get("c", 3, false).getKruskal().totalCost, loaded.get("c", 3, false).getKruskal().totalCost);
+        assertEquals(List.of(List.of("v0", "v1", "v2")), loaded.get("a", 1, false).getComponents());
+
+        // Least recently used first: b was used before c and a, so it goes first
+        loaded.put("d", output(4, 1));
+        assertNull(loaded.get("b", 2, false));
+
+        // A smaller cache keeps the most recently used entries of the file
+        MSTCache small = new MSTCache(1, 1000);
+        small.load(file);
+        assertEquals(1, small.size());
+        assertNotNull(small.get("a", 1, false));
+
+        MSTCache missing = new MSTCache(1, 1000);
+        missing.load(dir.resolve("none.json"));
+        assertEquals(0, missing.size());
+    }
+}
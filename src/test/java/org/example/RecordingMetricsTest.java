@@ -0,0 +1,118 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that recording metrics leaves the forests of all engines equal to those of
+ * uninstrumented Kruskal, and that the recorded counters are consistent with the
+ * forests they describe.
+ */
+class RecordingMetricsTest {
+
+    /**
+     * An engine configured to report to the given metrics.
+     */
+    private static final class Engine {
+        final String name;
+        final Function<IndexedGraph, Result> runner;
+
+        Engine(String name, Function<IndexedGraph, Result> runner) {
+            this.name = name;
+            this.runner = runner;
+        }
+    }
+
+    private static List<Engine> engines(MSTMetrics metrics) {
+        List<Engine> engines = new ArrayList<>();
+        for (Prim.Strategy strategy : Prim.Strategy.values()) {
+            Prim prim = new Prim(strategy);
+            prim.setMetrics(metrics);
+            engines.add(new Engine("prim " + strategy, prim::runPrim));
+        }
+        for (Kruskal.Strategy strategy : Kruskal.Strategy.values()) {
+            Kruskal kruskal = new Kruskal(strategy);
+            kruskal.setMetrics(metrics);
+            engines.add(new Engine("kruskal " + strategy, kruskal::runKruskal));
+        }
+        Boruvka boruvka = new Boruvka();
+        boruvka.setMetrics(metrics);
+        engines.add(new Engine("boruvka", boruvka::runBoruvka));
+        return engines;
+    }
+
+    @Test
+    void instrumentedEnginesMatchKruskal() {
+        GraphGenerator generator = new GraphGenerator(16);
+        RecordingMetrics metrics = new RecordingMetrics();
+        List<Engine> engines = engines(metrics);
+        for (GraphGenerator.Model model : GraphGenerator.Model.values()) {
+            for (GraphGenerator.WeightDistribution weights : GraphGenerator.WeightDistribution.values()) {
+                double degree = model == GraphGenerator.Model.GEOMETRIC ? 1.5 : 5;
+                IndexedGraph graph = generator.generate(model, 400, degree, weights, 10_000);
+                Result expected = new Kruskal().runKruskal(graph);
+                assertNull(expected.metrics, "no metrics are recorded by default");
+
+                for (Engine engine : engines) {
+                    String where = engine.name + " on " + model + "/" + weights;
+                    Result result = engine.runner.apply(graph);
+                    assertEquals(expected.totalCost, result.totalCost, where + ": total cost");
+                    assertEquals(expected.components, result.components, where + ": components");
+                    assertEquals(expected.componentCosts, result.componentCosts, where + ": component costs");
+                    assertNotNull(result.metrics, where);
+                    assertTrue(result.metrics.containsKey("search_ns"), where + ": search phase");
+                    assertCountersFit(engine.name, graph, result, where);
+                }
+            }
+        }
+    }
+
+    @Test
+    void reusedMetricsStartAfresh() {
+        IndexedGraph graph = new GraphGenerator(17).generate(GraphGenerator.Model.ERDOS_RENYI, 500, 6,
+                GraphGenerator.WeightDistribution.UNIFORM, 1000);
+        RecordingMetrics metrics = new RecordingMetrics();
+        Kruskal kruskal = new Kruskal();
+        kruskal.setMetrics(metrics);
+        Map<String, Long> first = kruskal.runKruskal(graph).metrics;
+        Map<String, Long> second = kruskal.runKruskal(graph).metrics;
+        for (String counter : new String[]{"edge_scan", "find", "find_path_length", "union"}) {
+            assertEquals(first.get(counter), second.get(counter), counter);
+        }
+    }
+
+    private static void assertCountersFit(String engine, IndexedGraph graph, Result result, String where) {
+        Map<String, Long> metrics = result.metrics;
+        int n = graph.vertexCount();
+        long forest = result.mstEdges.size();
+        long scans = metrics.getOrDefault("edge_scan", 0L);
+        if (engine.startsWith("kruskal")) {
+            // Every scanned edge is offered to the Union-Find once
+            assertTrue(metrics.get("union") >= forest, where + ": unions");
+            assertTrue(metrics.get("union") <= scans, where + ": unions within scans");
+            assertTrue(metrics.get("find") >= metrics.get("union"), where + ": finds");
+        } else if (engine.equals("prim LAZY")) {
+            assertEquals(2L * graph.edgeCount(), scans, where + ": every adjacency slot is scanned");
+            assertTrue(metrics.get("heap_poll") >= forest, where + ": polls");
+            assertTrue(metrics.get("heap_push") >= metrics.get("heap_poll"), where + ": pushes");
+            assertTrue(metrics.get("heap_high_water") <= metrics.get("heap_push"), where + ": high water");
+        } else if (engine.equals("prim EAGER")) {
+            // Every vertex enters the indexed heap once and leaves it once
+            assertEquals(n, metrics.get("heap_push"), where + ": pushes");
+            assertEquals(n, metrics.get("heap_poll"), where + ": polls");
+        } else if (engine.equals("boruvka")) {
+            assertEquals(forest, metrics.get("union"), where + ": every merge adds a forest edge");
+            long rounds = metrics.get("round");
+            assertTrue(rounds >= 1 && rounds <= 2 + 32 - Integer.numberOfLeadingZeros(n), where + ": rounds");
+        }
+    }
+}
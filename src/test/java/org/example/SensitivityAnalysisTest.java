@@ -0,0 +1,152 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks the sensitivity of every edge against Kruskal re-run on the graph with that
+ * edge removed or its weight moved to the ends of its reported interval.
+ */
+class SensitivityAnalysisTest {
+
+    @Test
+    void intervalsMatchKruskalReruns() {
+        GraphGenerator generator = new GraphGenerator(21);
+        for (GraphGenerator.Model model : GraphGenerator.Model.values()) {
+            for (GraphGenerator.WeightDistribution weights : GraphGenerator.WeightDistribution.values()) {
+                for (int vertices : new int[]{2, 9, 40}) {
+                    // A low degree leaves geometric graphs disconnected, with bridges
+                    double degree = model == GraphGenerator.Model.GEOMETRIC ? 1.5 : 4;
+                    IndexedGraph graph = generator.generate(model, vertices, degree, weights, 100);
+                    checkAgainstReruns(graph, new Kruskal().runKruskal(graph));
+                    // Any minimum spanning forest may be analyzed, not only Kruskal's
+                    checkAgainstReruns(graph, new Prim(Prim.Strategy.EAGER).runPrim(graph));
+                }
+            }
+        }
+    }
+
+    @Test
+    void handlesSelfLoopsAndParallelEdges() {
+        IndexedGraph graph = new IndexedGraph(1, new String[]{"a", "b", "c"},
+                new int[]{0, 0, 1, 2, 1, 0},
+                new int[]{1, 1, 2, 2, 2, 2},
+                new int[]{4, 4, 3, 1, 7, 9});
+        Result forest = new Kruskal().runKruskal(graph);
+        checkAgainstReruns(graph, forest);
+        assertNull(SensitivityAnalysis.analyze(graph, forest).get(3).maxPathWeight, "self-loop");
+    }
+
+    @Test
+    void rejectsForestsOfAnotherGraph() {
+        IndexedGraph graph = new IndexedGraph(1, new String[]{"a", "b"}, new int[]{0}, new int[]{1}, new int[]{5});
+        Result forest = new Result();
+        forest.mstEdges.add(new Edge("a", "b", 6));
+        assertThrows(IllegalArgumentException.class, () -> SensitivityAnalysis.analyze(graph, forest));
+    }
+
+    private static void checkAgainstReruns(IndexedGraph graph, Result forest) {
+        List<EdgeSensitivity> sensitivity = SensitivityAnalysis.analyze(graph, forest);
+        assertEquals(graph.edgeCount(), sensitivity.size());
+        long cost = mstCost(graph, -1, 0);
+        assertEquals(cost, forest.totalCost);
+
+        for (int e = 0; e < graph.edgeCount(); e++) {
+            EdgeSensitivity s = sensitivity.get(e);
+            String where = "graph " + graph.getId() + " edge " + e;
+            int w = graph.edgeWeight(e);
+            assertEquals(w, s.weight, where);
+            if (s.inTree) {
+                // Closing the edge costs exactly what the analysis predicts
+                assertEquals(mstCostWithout(graph, e), (long) s.costWithout, where + ": cost without");
+                if (s.replacement == null) {
+                    assertNull(s.maxIncrease, where + ": bridge");
+                } else {
+                    // The forest cost follows the edge weight up to the replacement, then stays put
+                    long top = w + s.maxIncrease;
+                    assertEquals(cost + s.maxIncrease, mstCost(graph, e, top), where + ": at the upper end");
+                    assertEquals(cost + s.maxIncrease, mstCost(graph, e, top + 1), where + ": above the upper end");
+                    assertEquals(s.replacement.getWeight(), top, where + ": replacement weight");
+                }
+            } else if (graph.edgeFrom(e) != graph.edgeTo(e)) {
+                assertNotNull(s.maxPathWeight, where);
+                assertEquals(heaviestOnForestPath(graph, forest, graph.edgeFrom(e), graph.edgeTo(e)),
+                        (int) s.maxPathWeight, where + ": path maximum");
+                // The edge enters the forest just below the path maximum and not at it
+                assertEquals(cost, mstCost(graph, e, s.maxPathWeight), where + ": at the path maximum");
+                assertEquals(cost - 1, mstCost(graph, e, s.maxPathWeight - 1L), where + ": below the path maximum");
+            }
+        }
+    }
+
+    /**
+     * Kruskal's forest cost with the weight of edge e replaced, or unchanged when e is negative.
+     */
+    private static long mstCost(IndexedGraph graph, int e, long weight) {
+        int[] weights = graph.edgeWeightArray().clone();
+        if (e >= 0) {
+            weights[e] = Math.toIntExact(weight);
+        }
+        return new Kruskal().runKruskal(graph.withWeights(weights)).totalCost;
+    }
+
+    private static long mstCostWithout(IndexedGraph graph, int removed) {
+        int m = graph.edgeCount();
+        int[] from = new int[m - 1];
+        int[] to = new int[m - 1];
+        int[] weight = new int[m - 1];
+        for (int e = 0, i = 0; e < m; e++) {
+            if (e == removed) continue;
+            from[i] = graph.edgeFrom(e);
+            to[i] = graph.edgeTo(e);
+            weight[i++] = graph.edgeWeight(e);
+        }
+        String[] names = new String[graph.vertexCount()];
+        for (int v = 0; v < names.length; v++) {
+            names[v] = graph.name(v);
+        }
+        return new Kruskal().runKruskal(new IndexedGraph(0, names, from, to, weight)).totalCost;
+    }
+
+    /**
+     * Heaviest forest edge between two vertices, found by a breadth-first search from u.
+     */
+    private static int heaviestOnForestPath(IndexedGraph graph, Result forest, int u, int v) {
+        int n = graph.vertexCount();
+        List<List<int[]>> adjacent = new ArrayList<>();
+        for (int x = 0; x < n; x++) {
+            adjacent.add(new ArrayList<>());
+        }
+        for (Edge edge : forest.mstEdges) {
+            int a = graph.indexOf(edge.getFrom());
+            int b = graph.indexOf(edge.getTo());
+            adjacent.get(a).add(new int[]{b, edge.getWeight()});
+            adjacent.get(b).add(new int[]{a, edge.getWeight()});
+        }
+        int[] heaviest = new int[n];
+        Arrays.fill(heaviest, Integer.MIN_VALUE);
+        boolean[] seen = new boolean[n];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        queue.add(u);
+        seen[u] = true;
+        while (!queue.isEmpty()) {
+            int x = queue.poll();
+            for (int[] next : adjacent.get(x)) {
+                if (seen[next[0]]) continue;
+                seen[next[0]] = true;
+                heaviest[next[0]] = Math.max(heaviest[x], next[1]);
+                queue.add(next[0]);
+            }
+        }
+        return heaviest[v];
+    }
+}
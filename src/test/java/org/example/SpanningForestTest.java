@@ -0,0 +1,48 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that every engine, on names or on indexed graphs, reports the same
+ * components when the node list repeats names and holds isolated vertices.
+ */
+class SpanningForestTest {
+
+    private static final List<String> NODES = List.of("A", "B", "A", "C", "D", "E", "C", "F");
+    private static final List<Edge> EDGES = List.of(
+            new Edge("A", "B", 3), new Edge("B", "C", 5), new Edge("A", "C", 4),
+            new Edge("D", "E", 2), new Edge("E", "D", 7));
+
+    @Test
+    void allEnginesCountDistinctVertices() {
+        // Components {A, B, C}, {D, E} and the isolated F, numbered by first occurrence
+        List<Integer> costs = List.of(7, 2, 0);
+        IndexedGraph graph = IndexedGraph.of(1, NODES, EDGES);
+        assertEquals(6, graph.vertexCount());
+
+        assertComponents(new Prim().runPrim(NODES, EDGES), costs, "prim on names");
+        assertComponents(new Kruskal().runKruskal(NODES, EDGES), costs, "kruskal on names");
+        for (Prim.Strategy strategy : Prim.Strategy.values()) {
+            assertComponents(new Prim(strategy).runPrim(graph), costs, "prim " + strategy);
+        }
+        for (Kruskal.Strategy strategy : Kruskal.Strategy.values()) {
+            assertComponents(new Kruskal(strategy).runKruskal(graph), costs, "kruskal " + strategy);
+        }
+        assertComponents(new Boruvka().runBoruvka(graph), costs, "boruvka");
+
+        Result forest = new Kruskal().runKruskal(graph);
+        assertEquals(List.of(List.of("A", "B", "C"), List.of("D", "E"), List.of("F")),
+                SpanningForest.vertexSets(forest, graph));
+    }
+
+    private static void assertComponents(Result result, List<Integer> costs, String where) {
+        assertEquals(costs.size(), result.components, where + ": components");
+        assertEquals(costs, result.componentCosts, where + ": component costs");
+        assertEquals(9, result.totalCost, where + ": total cost");
+        assertEquals(3, result.mstEdges.size(), where + ": forest edges");
+    }
+}